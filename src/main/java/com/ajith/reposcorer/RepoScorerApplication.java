@@ -3,11 +3,9 @@ package com.ajith.reposcorer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
 @EnableCaching
-@EnableRetry
 public class RepoScorerApplication
 {
     public static void main(String[] args)
@@ -0,0 +1,12 @@
+package com.ajith.reposcorer.cache;
+
+public interface CacheKeyIndex
+{
+    void add(Object key);
+
+
+    void remove(Object key);
+
+
+    void clear();
+}
@@ -0,0 +1,182 @@
+package com.ajith.reposcorer.cache;
+
+import com.ajith.reposcorer.client.ValidatedPage;
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CacheValueCodec
+{
+    private static final byte SEARCH_RESPONSE = 1;
+    private static final byte VALIDATED_PAGE = 2;
+    private static final int NULL_LENGTH = -1;
+
+
+    public boolean supports(Object value)
+    {
+        return value instanceof GithubSearchResponse || value instanceof ValidatedPage;
+    }
+
+
+    public byte[] encode(Object value)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(estimateSize(value));
+        try (DataOutputStream out = new DataOutputStream(bytes))
+        {
+            switch (value)
+            {
+                case GithubSearchResponse response -> {
+                    out.writeByte(SEARCH_RESPONSE);
+                    writeResponse(out, response);
+                }
+                case ValidatedPage page -> {
+                    out.writeByte(VALIDATED_PAGE);
+                    writeString(out, page.etag());
+                    out.writeLong(page.fetchedAt().toEpochMilli());
+                    writeResponse(out, page.response());
+                }
+                default -> throw new IllegalArgumentException("Unsupported cache value: " + value.getClass().getName());
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+
+    public Object decode(byte[] encoded)
+    {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded)))
+        {
+            byte type = in.readByte();
+            return switch (type)
+            {
+                case SEARCH_RESPONSE -> readResponse(in);
+                case VALIDATED_PAGE -> {
+                    String etag = readString(in);
+                    Instant fetchedAt = Instant.ofEpochMilli(in.readLong());
+                    yield new ValidatedPage(etag, readResponse(in), fetchedAt);
+                }
+                default -> throw new IllegalArgumentException("Unknown cache value type: " + type);
+            };
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    private void writeResponse(DataOutputStream out, GithubSearchResponse response) throws IOException
+    {
+        out.writeInt(response.getTotalCount() != null ? response.getTotalCount() : NULL_LENGTH);
+        out.writeByte(response.getIncompleteResults() == null ? NULL_LENGTH : response.getIncompleteResults() ? 1 : 0);
+
+        List<GithubRepository> items = response.getItems();
+        out.writeInt(items != null ? items.size() : NULL_LENGTH);
+        if (items == null)
+        {
+            return;
+        }
+        for (GithubRepository repository : items)
+        {
+            out.writeLong(repository.getId());
+            writeString(out, repository.getName());
+            writeString(out, repository.getFullName());
+            writeString(out, repository.getDescription());
+            writeString(out, repository.getHtmlUrl());
+            writeString(out, repository.getLanguage());
+            out.writeInt(repository.getStargazersCount());
+            out.writeInt(repository.getForksCount());
+            out.writeInt(repository.getWatchersCount());
+            out.writeInt(repository.getOpenIssuesCount());
+            out.writeLong(repository.getCreatedAtEpochSecond());
+            out.writeLong(repository.getUpdatedAtEpochSecond());
+            out.writeLong(repository.getPushedAtEpochSecond());
+        }
+    }
+
+
+    private GithubSearchResponse readResponse(DataInputStream in) throws IOException
+    {
+        int totalCount = in.readInt();
+        byte incomplete = in.readByte();
+        int itemCount = in.readInt();
+
+        List<GithubRepository> items = null;
+        if (itemCount != NULL_LENGTH)
+        {
+            items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++)
+            {
+                items.add(GithubRepository.builder()
+                    .id(in.readLong())
+                    .name(readString(in))
+                    .fullName(readString(in))
+                    .description(readString(in))
+                    .htmlUrl(readString(in))
+                    .language(readString(in))
+                    .stargazersCount(in.readInt())
+                    .forksCount(in.readInt())
+                    .watchersCount(in.readInt())
+                    .openIssuesCount(in.readInt())
+                    .createdAtEpochSecond(in.readLong())
+                    .updatedAtEpochSecond(in.readLong())
+                    .pushedAtEpochSecond(in.readLong())
+                    .build());
+            }
+        }
+
+        return new GithubSearchResponse(
+            totalCount == NULL_LENGTH ? null : totalCount,
+            incomplete == NULL_LENGTH ? null : incomplete == 1,
+            items);
+    }
+
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        int length = in.readInt();
+        if (length == NULL_LENGTH)
+        {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+
+    private static int estimateSize(Object value)
+    {
+        GithubSearchResponse response = switch (value)
+        {
+            case GithubSearchResponse searchResponse -> searchResponse;
+            case ValidatedPage page -> page.response();
+            default -> null;
+        };
+        return 64 + (response != null && response.getItems() != null ? response.getItems().size() * 192 : 0);
+    }
+}
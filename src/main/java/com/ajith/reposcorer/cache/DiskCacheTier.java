@@ -0,0 +1,72 @@
+package com.ajith.reposcorer.cache;
+
+import java.io.Closeable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RequiredArgsConstructor
+@Slf4j
+public class DiskCacheTier implements Closeable
+{
+    private final String name;
+    private final SegmentStore store;
+    private final CacheValueCodec codec;
+
+
+    public Object restore(Object key)
+    {
+        String diskKey = String.valueOf(key);
+        SegmentStore.Entry entry = store.get(diskKey);
+        if (entry == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            Object value = codec.decode(entry.value());
+            log.debug("Restored {} from the {} disk tier", diskKey, name);
+            return value;
+        }
+        catch (RuntimeException e)
+        {
+            log.warn("Discarding unreadable {} entry for {}", name, diskKey, e);
+            store.remove(diskKey);
+            return null;
+        }
+    }
+
+
+    public void persist(Object key, Object value)
+    {
+        if (value != null && codec.supports(value))
+        {
+            store.put(String.valueOf(key), codec.encode(value), System.currentTimeMillis());
+        }
+    }
+
+
+    public void evict(Object key)
+    {
+        store.remove(String.valueOf(key));
+    }
+
+
+    public void clear()
+    {
+        store.clear();
+    }
+
+
+    public void compact()
+    {
+        store.compact();
+    }
+
+
+    @Override
+    public void close()
+    {
+        store.close();
+    }
+}
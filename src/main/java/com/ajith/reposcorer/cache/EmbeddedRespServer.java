@@ -0,0 +1,209 @@
+package com.ajith.reposcorer.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class EmbeddedRespServer implements Closeable
+{
+    // A local stand-in for Redis covering only the commands the remote cache tier sends
+    private final ServerSocket serverSocket;
+    private final Map<String, StoredValue> values = new ConcurrentHashMap<>();
+    private final Map<String, Set<RespConnection>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+
+    public EmbeddedRespServer(int port) throws IOException
+    {
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = Thread.ofVirtual().name("embedded-resp-server").start(this::accept);
+        log.info("Embedded remote cache listening on port {}", port());
+    }
+
+
+    public int port()
+    {
+        return serverSocket.getLocalPort();
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        // The listening socket is only released once the acceptor leaves accept(), and it may admit one more client first
+        serverSocket.close();
+        try
+        {
+            acceptor.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        for (Socket client : clients)
+        {
+            client.close();
+        }
+    }
+
+
+    private void accept()
+    {
+        while (!serverSocket.isClosed())
+        {
+            try
+            {
+                Socket socket = serverSocket.accept();
+                clients.add(socket);
+                Thread.ofVirtual().name("embedded-resp-client").start(() -> serve(socket));
+            }
+            catch (IOException e)
+            {
+                if (!serverSocket.isClosed())
+                {
+                    log.warn("Embedded remote cache failed to accept a connection", e);
+                }
+            }
+        }
+    }
+
+
+    private void serve(Socket socket)
+    {
+        RespConnection connection = null;
+        try (socket)
+        {
+            connection = new RespConnection(socket);
+            while (true)
+            {
+                if (!(connection.read() instanceof List<?> command) || command.isEmpty())
+                {
+                    connection.replyError("ERR expected a command array");
+                    continue;
+                }
+                List<String> arguments = command.stream().map(RespConnection::string).toList();
+                if (!execute(connection, arguments, command))
+                {
+                    return;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            log.debug("Embedded remote cache client disconnected: {}", e.getMessage());
+        }
+        finally
+        {
+            clients.remove(socket);
+            if (connection != null)
+            {
+                RespConnection closed = connection;
+                subscribers.values().forEach(connections -> connections.remove(closed));
+            }
+        }
+    }
+
+
+    private boolean execute(RespConnection connection, List<String> arguments, List<?> raw) throws IOException
+    {
+        long now = System.currentTimeMillis();
+        switch (arguments.getFirst().toUpperCase(Locale.ROOT))
+        {
+            case "PING" -> connection.replyStatus("PONG");
+            case "GET" -> {
+                StoredValue stored = values.get(arguments.get(1));
+                connection.reply(stored != null && !stored.isExpired(now) ? stored.value() : null);
+            }
+            case "SET" -> {
+                long expiresAt = arguments.size() >= 5 && arguments.get(3).equalsIgnoreCase("PX")
+                    ? now + Long.parseLong(arguments.get(4))
+                    : Long.MAX_VALUE;
+                values.put(arguments.get(1), new StoredValue((byte[]) raw.get(2), expiresAt));
+                connection.replyStatus("OK");
+            }
+            case "DEL" -> {
+                long removed = arguments.subList(1, arguments.size()).stream().filter(key -> values.remove(key) != null).count();
+                connection.reply(removed);
+            }
+            case "SCAN" -> connection.reply(scan(arguments, now));
+            case "PUBLISH" -> connection.reply(publish(arguments.get(1), arguments.get(2)));
+            case "SUBSCRIBE" -> {
+                for (int i = 1; i < arguments.size(); i++)
+                {
+                    subscribers.computeIfAbsent(arguments.get(i), channel -> ConcurrentHashMap.newKeySet()).add(connection);
+                    connection.reply(List.of("subscribe", arguments.get(i), (long) i));
+                }
+            }
+            case "QUIT" -> {
+                connection.replyStatus("OK");
+                return false;
+            }
+            default -> connection.replyError("ERR unknown command '" + arguments.getFirst() + "'");
+        }
+        return true;
+    }
+
+
+    private List<Object> scan(List<String> arguments, long now)
+    {
+        // The whole keyspace is small, so a single pass answers every SCAN and the cursor is always 0
+        String prefix = "";
+        for (int i = 2; i + 1 < arguments.size(); i += 2)
+        {
+            if (arguments.get(i).equalsIgnoreCase("MATCH"))
+            {
+                String pattern = arguments.get(i + 1);
+                prefix = pattern.endsWith("*") ? pattern.substring(0, pattern.length() - 1) : pattern;
+            }
+        }
+
+        List<Object> keys = new ArrayList<>();
+        for (Map.Entry<String, StoredValue> entry : values.entrySet())
+        {
+            if (entry.getKey().startsWith(prefix) && !entry.getValue().isExpired(now))
+            {
+                keys.add(entry.getKey());
+            }
+        }
+        return List.of("0", keys);
+    }
+
+
+    private long publish(String channel, String message)
+    {
+        long delivered = 0;
+        for (RespConnection subscriber : subscribers.getOrDefault(channel, Set.of()))
+        {
+            try
+            {
+                subscriber.reply(List.of("message", channel, message));
+                delivered++;
+            }
+            catch (IOException e)
+            {
+                subscribers.get(channel).remove(subscriber);
+            }
+        }
+        return delivered;
+    }
+
+
+    private record StoredValue(byte[] value, long expiresAt)
+    {
+        boolean isExpired(long now)
+        {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ajith.reposcorer.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class FrequencySketch
+{
+    // Count-min sketch of 4-bit counters, sixteen to a long, halved periodically so old popularity fades
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long HALVING_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    // Counters update by compare-and-set, so recording a hit never waits on another thread; like Caffeine's sketch
+    // the counts are approximate, and a halving racing an increment may lose that one increment
+    private final AtomicLongArray table;
+    private final int rowMask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+    private final ReentrantLock halving = new ReentrantLock();
+
+
+    public FrequencySketch(int countersPerRow)
+    {
+        int width = Integer.highestOneBit(Math.max(16, countersPerRow - 1) << 1);
+        this.table = new AtomicLongArray(width * DEPTH / 16);
+        this.rowMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+
+    public void increment(Object key)
+    {
+        int hash = key.hashCode();
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++)
+        {
+            added |= incrementAt(counterIndex(hash, row));
+        }
+
+        if (added && additions.incrementAndGet() >= sampleSize && halving.tryLock())
+        {
+            // One thread halves; the others carry on counting rather than wait for it
+            try
+            {
+                if (additions.get() >= sampleSize)
+                {
+                    halve();
+                }
+            }
+            finally
+            {
+                halving.unlock();
+            }
+        }
+    }
+
+
+    public int frequency(Object key)
+    {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++)
+        {
+            frequency = Math.min(frequency, countAt(counterIndex(hash, row)));
+        }
+        return frequency;
+    }
+
+
+    private int counterIndex(int hash, int row)
+    {
+        long spread = (hash + SEEDS[row]) * SEEDS[row];
+        spread += spread >>> 32;
+        return row * (rowMask + 1) + ((int) spread & rowMask);
+    }
+
+
+    private boolean incrementAt(int counter)
+    {
+        int slot = counter >>> 4;
+        int shift = (counter & 15) << 2;
+        while (true)
+        {
+            long current = table.get(slot);
+            if (((current >>> shift) & 0xfL) == MAX_COUNT)
+            {
+                return false;
+            }
+            if (table.compareAndSet(slot, current, current + (1L << shift)))
+            {
+                return true;
+            }
+        }
+    }
+
+
+    private int countAt(int counter)
+    {
+        return (int) ((table.get(counter >>> 4) >>> ((counter & 15) << 2)) & 0xfL);
+    }
+
+
+    private void halve()
+    {
+        for (int i = 0; i < table.length(); i++)
+        {
+            table.getAndUpdate(i, counters -> (counters >>> 1) & HALVING_MASK);
+        }
+        additions.updateAndGet(count -> count / 2);
+    }
+}
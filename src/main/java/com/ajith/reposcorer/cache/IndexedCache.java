@@ -0,0 +1,94 @@
+package com.ajith.reposcorer.cache;
+
+import java.util.concurrent.Callable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+
+@RequiredArgsConstructor
+public class IndexedCache implements Cache
+{
+    private final Cache delegate;
+    private final CacheKeyIndex index;
+
+
+    @Override
+    public String getName()
+    {
+        return delegate.getName();
+    }
+
+
+    @Override
+    public Object getNativeCache()
+    {
+        return delegate.getNativeCache();
+    }
+
+
+    @Override
+    public ValueWrapper get(Object key)
+    {
+        // A loading cache may have loaded the entry just now, so hits index their key as well
+        ValueWrapper value = delegate.get(key);
+        if (value != null)
+        {
+            index.add(key);
+        }
+        return value;
+    }
+
+
+    @Override
+    public <T> T get(Object key, Class<T> type)
+    {
+        T value = delegate.get(key, type);
+        if (value != null)
+        {
+            index.add(key);
+        }
+        return value;
+    }
+
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader)
+    {
+        // Indexed after the write, so an eviction racing it leaves a stale hint rather than hiding a live entry
+        T value = delegate.get(key, valueLoader);
+        index.add(key);
+        return value;
+    }
+
+
+    @Override
+    public void put(Object key, Object value)
+    {
+        delegate.put(key, value);
+        index.add(key);
+    }
+
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value)
+    {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        index.add(key);
+        return existing;
+    }
+
+
+    @Override
+    public void evict(Object key)
+    {
+        delegate.evict(key);
+        index.remove(key);
+    }
+
+
+    @Override
+    public void clear()
+    {
+        delegate.clear();
+        index.clear();
+    }
+}
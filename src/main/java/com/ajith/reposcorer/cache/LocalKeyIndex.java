@@ -0,0 +1,37 @@
+package com.ajith.reposcorer.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class LocalKeyIndex implements CacheKeyIndex
+{
+    // Remote invalidations name a key by its string form; this maps it back to the key held in memory
+    private final ConcurrentMap<String, Object> keys = new ConcurrentHashMap<>();
+
+
+    @Override
+    public void add(Object key)
+    {
+        keys.putIfAbsent(String.valueOf(key), key);
+    }
+
+
+    @Override
+    public void remove(Object key)
+    {
+        keys.remove(String.valueOf(key), key);
+    }
+
+
+    @Override
+    public void clear()
+    {
+        keys.clear();
+    }
+
+
+    public Object find(String key)
+    {
+        return keys.get(key);
+    }
+}
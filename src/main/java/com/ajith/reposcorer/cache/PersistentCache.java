@@ -0,0 +1,113 @@
+package com.ajith.reposcorer.cache;
+
+import java.util.concurrent.Callable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+@RequiredArgsConstructor
+public class PersistentCache implements Cache
+{
+    private final Cache delegate;
+    private final DiskCacheTier diskTier;
+
+
+    @Override
+    public String getName()
+    {
+        return delegate.getName();
+    }
+
+
+    @Override
+    public Object getNativeCache()
+    {
+        return delegate.getNativeCache();
+    }
+
+
+    @Override
+    public ValueWrapper get(Object key)
+    {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        Object restored = diskTier.restore(key);
+        if (restored == null)
+        {
+            return null;
+        }
+        delegate.put(key, restored);
+        return new SimpleValueWrapper(restored);
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type)
+    {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value))
+        {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader)
+    {
+        return delegate.get(key, () -> {
+            Object restored = diskTier.restore(key);
+            if (restored != null)
+            {
+                return (T) restored;
+            }
+            T loaded = valueLoader.call();
+            diskTier.persist(key, loaded);
+            return loaded;
+        });
+    }
+
+
+    @Override
+    public void put(Object key, Object value)
+    {
+        delegate.put(key, value);
+        diskTier.persist(key, value);
+    }
+
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value)
+    {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null)
+        {
+            diskTier.persist(key, value);
+        }
+        return existing;
+    }
+
+
+    @Override
+    public void evict(Object key)
+    {
+        delegate.evict(key);
+        diskTier.evict(key);
+    }
+
+
+    @Override
+    public void clear()
+    {
+        delegate.clear();
+        diskTier.clear();
+    }
+}
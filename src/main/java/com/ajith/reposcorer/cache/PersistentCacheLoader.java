@@ -0,0 +1,36 @@
+package com.ajith.reposcorer.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class PersistentCacheLoader implements CacheLoader<Object, Object>
+{
+    private final CacheLoader<Object, Object> delegate;
+    private final DiskCacheTier diskTier;
+
+
+    @Override
+    public Object load(Object key) throws Exception
+    {
+        // A miss after restart is answered from disk; refreshes below always go back to the source
+        Object restored = diskTier.restore(key);
+        if (restored != null)
+        {
+            return restored;
+        }
+
+        Object loaded = delegate.load(key);
+        diskTier.persist(key, loaded);
+        return loaded;
+    }
+
+
+    @Override
+    public Object reload(Object key, Object oldValue) throws Exception
+    {
+        Object reloaded = delegate.reload(key, oldValue);
+        diskTier.persist(key, reloaded);
+        return reloaded;
+    }
+}
@@ -0,0 +1,208 @@
+package com.ajith.reposcorer.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RemoteCacheClient implements Closeable
+{
+    private static final int SCAN_BATCH = 500;
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final long retryIntervalMillis;
+    // Each call borrows its own connection, so concurrent calls overlap their round trips instead of queueing on one socket
+    private final Semaphore connections;
+    private final Deque<RespConnection> idle = new ConcurrentLinkedDeque<>();
+
+    private volatile long unavailableUntil;
+    private volatile boolean closed;
+
+
+    public RemoteCacheClient(String host, int port, int timeoutMillis, long retryIntervalMillis, int poolSize)
+    {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.connections = new Semaphore(poolSize);
+    }
+
+
+    public byte[] get(String key)
+    {
+        return execute("GET", key) instanceof byte[] value ? value : null;
+    }
+
+
+    public void set(String key, byte[] value, long timeToLiveMillis)
+    {
+        if (timeToLiveMillis > 0)
+        {
+            execute("SET", key, value, "PX", timeToLiveMillis);
+        }
+        else
+        {
+            execute("SET", key, value);
+        }
+    }
+
+
+    public void delete(String key)
+    {
+        execute("DEL", key);
+    }
+
+
+    public void deleteMatching(String pattern)
+    {
+        String cursor = "0";
+        do
+        {
+            if (!(execute("SCAN", cursor, "MATCH", pattern, "COUNT", SCAN_BATCH) instanceof List<?> reply))
+            {
+                return;
+            }
+            cursor = RespConnection.string(reply.get(0));
+
+            List<Object> command = new ArrayList<>();
+            command.add("DEL");
+            command.addAll((List<?>) reply.get(1));
+            if (command.size() > 1)
+            {
+                execute(command.toArray());
+            }
+        }
+        while (!"0".equals(cursor));
+    }
+
+
+    public long publish(String channel, String message)
+    {
+        return execute("PUBLISH", channel, message) instanceof Long receivers ? receivers : 0;
+    }
+
+
+    public boolean isAvailable()
+    {
+        return System.currentTimeMillis() >= unavailableUntil;
+    }
+
+
+    @Override
+    public void close()
+    {
+        closed = true;
+        disconnectIdle();
+    }
+
+
+    private Object execute(Object... command)
+    {
+        // Fails open: while the remote cache is down every call is a miss and the local tiers carry on alone
+        if (closed || !isAvailable())
+        {
+            return null;
+        }
+
+        boolean acquired;
+        try
+        {
+            acquired = connections.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (!acquired)
+        {
+            // Every connection stayed busy for a whole timeout; a miss is cheaper than waiting longer
+            log.debug("No remote cache connection free within {} ms", timeoutMillis);
+            return null;
+        }
+
+        RespConnection connection = idle.pollFirst();
+        try
+        {
+            if (connection == null)
+            {
+                connection = RespConnection.open(host, port, timeoutMillis);
+                log.info("Connected to the remote cache at {}:{}", host, port);
+            }
+            Object reply = connection.command(command);
+            release(connection);
+            return reply;
+        }
+        catch (RespErrorException e)
+        {
+            // The server answered with an error reply; the connection is in sync, so only this call misses
+            release(connection);
+            log.warn("Remote cache rejected {}: {}", command[0], e.getMessage());
+            return null;
+        }
+        catch (RuntimeException e)
+        {
+            // Most likely a reply this client could not make sense of, so the connection's stream can't be trusted
+            disconnect(connection);
+            log.warn("Unexpected failure talking to the remote cache at {}:{}; treating it as a miss", host, port, e);
+            return null;
+        }
+        catch (IOException e)
+        {
+            // The server is likely gone, so the idle connections are dropped along with the failed one
+            unavailableUntil = System.currentTimeMillis() + retryIntervalMillis;
+            disconnect(connection);
+            disconnectIdle();
+            log.warn("Remote cache at {}:{} unavailable, using local tiers for {} ms: {}", host, port, retryIntervalMillis, e.getMessage());
+            return null;
+        }
+        finally
+        {
+            connections.release();
+        }
+    }
+
+
+    private void release(RespConnection connection)
+    {
+        idle.offerFirst(connection);
+        if (closed)
+        {
+            disconnectIdle();
+        }
+    }
+
+
+    private void disconnectIdle()
+    {
+        for (RespConnection connection = idle.pollFirst(); connection != null; connection = idle.pollFirst())
+        {
+            disconnect(connection);
+        }
+    }
+
+
+    private static void disconnect(RespConnection connection)
+    {
+        if (connection != null)
+        {
+            try
+            {
+                connection.close();
+            }
+            catch (IOException e)
+            {
+                log.debug("Error closing a remote cache connection", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ajith.reposcorer.cache;
+
+import java.nio.ByteBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RemoteCacheTier
+{
+    // Stored value: [long writtenAt][codec bytes]; invalidations: instanceId|E|cacheName|key or instanceId|C|cacheName
+    static final char EVICT = 'E';
+    static final char CLEAR = 'C';
+    private static final char SEPARATOR = '|';
+
+    private final String name;
+    private final RemoteCacheClient client;
+    private final CacheValueCodec codec;
+    private final String keyPrefix;
+    private final String channel;
+    private final String instanceId;
+    private final long timeToLiveMillis;
+
+
+    public RemoteCacheTier(
+        String name,
+        RemoteCacheClient client,
+        CacheValueCodec codec,
+        String keyPrefix,
+        String instanceId,
+        long timeToLiveMillis)
+    {
+        this.name = name;
+        this.client = client;
+        this.codec = codec;
+        this.keyPrefix = keyPrefix + name + ':';
+        this.channel = invalidationChannel(keyPrefix);
+        this.instanceId = instanceId;
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+
+    public static String invalidationChannel(String keyPrefix)
+    {
+        return keyPrefix + "invalidations";
+    }
+
+
+    public Entry fetch(Object key)
+    {
+        String remoteKey = keyPrefix + key;
+        byte[] stored = client.get(remoteKey);
+        if (stored == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(stored);
+            long writtenAt = buffer.getLong();
+            byte[] encoded = new byte[buffer.remaining()];
+            buffer.get(encoded);
+            Entry entry = new Entry(codec.decode(encoded), writtenAt);
+            log.debug("Fetched {} from the {} remote tier", key, name);
+            return entry;
+        }
+        catch (RuntimeException e)
+        {
+            log.warn("Discarding unreadable {} remote entry for {}", name, key, e);
+            client.delete(remoteKey);
+            return null;
+        }
+    }
+
+
+    public void store(Object key, Object value)
+    {
+        if (value == null || !codec.supports(value))
+        {
+            return;
+        }
+
+        byte[] encoded = codec.encode(value);
+        byte[] stored = ByteBuffer.allocate(Long.BYTES + encoded.length)
+            .putLong(System.currentTimeMillis())
+            .put(encoded)
+            .array();
+        client.set(keyPrefix + key, stored, timeToLiveMillis);
+        publish(EVICT, String.valueOf(key));
+    }
+
+
+    public void evict(Object key)
+    {
+        client.delete(keyPrefix + key);
+        publish(EVICT, String.valueOf(key));
+    }
+
+
+    public void clear()
+    {
+        client.deleteMatching(keyPrefix + '*');
+        publish(CLEAR, null);
+    }
+
+
+    private void publish(char type, String key)
+    {
+        // Peers drop their local copy and read the new value from here on their next access
+        StringBuilder message = new StringBuilder(instanceId).append(SEPARATOR).append(type).append(SEPARATOR).append(name);
+        if (key != null)
+        {
+            message.append(SEPARATOR).append(key);
+        }
+        client.publish(channel, message.toString());
+    }
+
+
+    public record Entry(Object value, long writtenAt)
+    {
+    }
+}
@@ -0,0 +1,147 @@
+package com.ajith.reposcorer.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RemoteInvalidationSubscriber implements Closeable
+{
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final long retryIntervalMillis;
+    private final String channel;
+    private final String instanceId;
+    private final Map<String, TwoTierCache> caches;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile RespConnection connection;
+
+
+    public RemoteInvalidationSubscriber(
+        String host,
+        int port,
+        int timeoutMillis,
+        long retryIntervalMillis,
+        String channel,
+        String instanceId,
+        Map<String, TwoTierCache> caches)
+    {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.channel = channel;
+        this.instanceId = instanceId;
+        this.caches = caches;
+        this.thread = Thread.ofVirtual().name("remote-cache-invalidations").start(this::run);
+    }
+
+
+    @Override
+    public void close()
+    {
+        running = false;
+        closeConnection();
+        thread.interrupt();
+    }
+
+
+    private void run()
+    {
+        boolean subscribedBefore = false;
+        while (running)
+        {
+            try
+            {
+                connection = RespConnection.open(host, port, timeoutMillis);
+                connection.command("SUBSCRIBE", channel);
+                connection.setReadTimeout(0);
+                log.info("Subscribed to remote cache invalidations on {}", channel);
+
+                // Invalidations published while we were disconnected are lost, so local copies can no longer be trusted
+                if (subscribedBefore)
+                {
+                    caches.values().forEach(TwoTierCache::clearLocally);
+                }
+                subscribedBefore = true;
+
+                while (running)
+                {
+                    if (connection.read() instanceof List<?> message && message.size() == 3)
+                    {
+                        apply(RespConnection.string(message.get(2)));
+                    }
+                }
+            }
+            catch (IOException | RuntimeException e)
+            {
+                closeConnection();
+                if (running)
+                {
+                    log.warn("Remote cache invalidation subscription lost, retrying in {} ms: {}", retryIntervalMillis, e.getMessage());
+                    sleepBeforeRetry();
+                }
+            }
+        }
+    }
+
+
+    private void apply(String message)
+    {
+        String[] parts = message.split("\\|", 4);
+        if (parts.length < 3 || parts[0].equals(instanceId))
+        {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache == null)
+        {
+            return;
+        }
+        if (parts[1].charAt(0) == RemoteCacheTier.CLEAR)
+        {
+            cache.clearLocally();
+        }
+        else if (parts.length == 4)
+        {
+            cache.invalidateLocally(parts[3]);
+        }
+    }
+
+
+    private void sleepBeforeRetry()
+    {
+        try
+        {
+            Thread.sleep(retryIntervalMillis);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+
+    private void closeConnection()
+    {
+        RespConnection current = connection;
+        if (current != null)
+        {
+            try
+            {
+                current.close();
+            }
+            catch (IOException e)
+            {
+                log.debug("Error closing the invalidation subscription", e);
+            }
+        }
+    }
+}
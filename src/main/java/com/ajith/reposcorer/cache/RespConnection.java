@@ -0,0 +1,283 @@
+package com.ajith.reposcorer.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class RespConnection implements Closeable
+{
+    // RESP2 framing: replies are simple strings, errors, integers, bulk strings or arrays; commands are arrays of bulk strings
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    // A lock rather than synchronized: blocking socket I/O inside a monitor would pin a virtual thread's carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+
+    public RespConnection(Socket socket) throws IOException
+    {
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream());
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+
+    public static RespConnection open(String host, int port, int timeoutMillis) throws IOException
+    {
+        Socket socket = new Socket();
+        try
+        {
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            return new RespConnection(socket);
+        }
+        catch (IOException e)
+        {
+            socket.close();
+            throw e;
+        }
+    }
+
+
+    public Object command(Object... arguments) throws IOException
+    {
+        send(arguments);
+        return read();
+    }
+
+
+    public void send(Object... arguments) throws IOException
+    {
+        writeLock.lock();
+        try
+        {
+            writeHeader('*', arguments.length);
+            for (Object argument : arguments)
+            {
+                writeBulk(bytes(argument));
+            }
+            out.flush();
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+
+    public Object read() throws IOException
+    {
+        Object reply = readValue();
+        if (reply instanceof RespErrorException error)
+        {
+            throw error;
+        }
+        return reply;
+    }
+
+
+    public void reply(Object value) throws IOException
+    {
+        writeLock.lock();
+        try
+        {
+            writeValue(value);
+            out.flush();
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+
+    public void replyStatus(String status) throws IOException
+    {
+        writeLock.lock();
+        try
+        {
+            out.write('+');
+            out.write(status.getBytes(StandardCharsets.UTF_8));
+            out.write(CRLF);
+            out.flush();
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+
+    public void replyError(String message) throws IOException
+    {
+        writeLock.lock();
+        try
+        {
+            out.write('-');
+            out.write(message.getBytes(StandardCharsets.UTF_8));
+            out.write(CRLF);
+            out.flush();
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+
+    public void setReadTimeout(int timeoutMillis) throws IOException
+    {
+        socket.setSoTimeout(timeoutMillis);
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        socket.close();
+    }
+
+
+    public static String string(Object reply)
+    {
+        return reply instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(reply);
+    }
+
+
+    private void writeValue(Object value) throws IOException
+    {
+        switch (value)
+        {
+            case null -> writeHeader('$', -1);
+            case Long number -> writeHeader(':', number);
+            case Integer number -> writeHeader(':', number);
+            case List<?> elements -> {
+                writeHeader('*', elements.size());
+                for (Object element : elements)
+                {
+                    writeValue(element);
+                }
+            }
+            default -> writeBulk(bytes(value));
+        }
+    }
+
+
+    private void writeBulk(byte[] value) throws IOException
+    {
+        writeHeader('$', value.length);
+        out.write(value);
+        out.write(CRLF);
+    }
+
+
+    private void writeHeader(char type, long length) throws IOException
+    {
+        out.write(type);
+        out.write(Long.toString(length).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+    }
+
+
+    private Object readValue() throws IOException
+    {
+        int type = in.read();
+        if (type == -1)
+        {
+            throw new EOFException("Connection closed by the remote cache");
+        }
+
+        // Error replies are returned rather than thrown, so an array holding one is still read to its end
+        String line = readLine();
+        return switch (type)
+        {
+            case '+' -> line;
+            case '-' -> new RespErrorException(line);
+            case ':' -> Long.parseLong(line);
+            case '$' -> readBulk(Integer.parseInt(line));
+            case '*' -> readArray(Integer.parseInt(line));
+            default -> throw new IOException("Unexpected RESP type byte: " + (char) type);
+        };
+    }
+
+
+    private byte[] readBulk(int length) throws IOException
+    {
+        if (length < 0)
+        {
+            return null;
+        }
+        byte[] value = in.readNBytes(length);
+        if (value.length < length || in.read() != '\r' || in.read() != '\n')
+        {
+            throw new EOFException("Truncated bulk string from the remote cache");
+        }
+        return value;
+    }
+
+
+    private List<Object> readArray(int length) throws IOException
+    {
+        if (length < 0)
+        {
+            return null;
+        }
+        List<Object> elements = new ArrayList<>(length);
+        RespErrorException error = null;
+        for (int i = 0; i < length; i++)
+        {
+            Object element = readValue();
+            if (element instanceof RespErrorException elementError && error == null)
+            {
+                error = elementError;
+            }
+            elements.add(element);
+        }
+        if (error != null)
+        {
+            throw error;
+        }
+        return elements;
+    }
+
+
+    private String readLine() throws IOException
+    {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+        int current;
+        while ((current = in.read()) != '\r')
+        {
+            if (current == -1)
+            {
+                throw new EOFException("Connection closed by the remote cache");
+            }
+            line.write(current);
+        }
+        if (in.read() != '\n')
+        {
+            throw new IOException("Malformed RESP line");
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+
+    private static byte[] bytes(Object argument)
+    {
+        return argument instanceof byte[] bytes ? bytes : String.valueOf(argument).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ajith.reposcorer.cache;
+
+import java.io.IOException;
+
+public class RespErrorException extends IOException
+{
+    // An error reply such as -WRONGTYPE or -NOAUTH: the server answered, so the connection itself is still usable
+    public RespErrorException(String message)
+    {
+        super("Remote cache error: " + message);
+    }
+}
@@ -0,0 +1,522 @@
+package com.ajith.reposcorer.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class SegmentStore implements Closeable
+{
+    // Record: [int payloadLength][int crc32c][payload]; payload: [short keyLength][key][long writtenAt][byte flags][value]
+    private static final int RECORD_HEADER = Integer.BYTES * 2;
+    private static final int PAYLOAD_OVERHEAD = Short.BYTES + Long.BYTES + Byte.BYTES;
+    private static final byte VALUE = 0;
+    private static final byte TOMBSTONE = 1;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final String LOCK_FILE = "store.lock";
+    private static final long OPEN_TIMEOUT_SECONDS = 10;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long maxAgeMillis;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    // Latest tombstone per removed key; it must outlive every older segment that may still hold the key's value
+    private final Map<String, Tombstone> tombstones = new ConcurrentHashMap<>();
+    private final CountDownLatch opened = new CountDownLatch(1);
+
+    private volatile Segment active;
+    private FileChannel lockChannel;
+
+
+    public SegmentStore(Path directory, int segmentSize, int maxSegments, long maxAgeMillis)
+    {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.maxAgeMillis = maxAgeMillis;
+
+        // Only record headers are scanned here; values are read from the mapping when first requested
+        Thread.ofVirtual().name("segment-store-open").start(this::open);
+    }
+
+
+    public Entry get(String key)
+    {
+        if (!awaitOpen())
+        {
+            return null;
+        }
+
+        Location location = index.get(key);
+        if (location == null)
+        {
+            return null;
+        }
+        if (isExpired(location.writtenAt(), System.currentTimeMillis()))
+        {
+            return null;
+        }
+
+        byte[] value = new byte[location.length()];
+        location.segment().buffer.get(location.offset(), value);
+        return new Entry(value, location.writtenAt());
+    }
+
+
+    public void put(String key, byte[] value, long writtenAt)
+    {
+        if (awaitOpen())
+        {
+            append(key, value, writtenAt);
+        }
+    }
+
+
+    public void remove(String key)
+    {
+        if (awaitOpen() && index.containsKey(key))
+        {
+            append(key, null, System.currentTimeMillis());
+        }
+    }
+
+
+    public void clear()
+    {
+        if (awaitOpen())
+        {
+            deleteAll();
+        }
+    }
+
+
+    private synchronized void deleteAll()
+    {
+        index.clear();
+        tombstones.clear();
+        for (Segment segment : List.copyOf(segments.values()))
+        {
+            deleteSegment(segment);
+        }
+        active = createSegment(1);
+    }
+
+
+    public int size()
+    {
+        return index.size();
+    }
+
+
+    public int segmentCount()
+    {
+        return segments.size();
+    }
+
+
+    public void compact()
+    {
+        if (awaitOpen())
+        {
+            rewriteSparseSegments();
+        }
+    }
+
+
+    private synchronized void rewriteSparseSegments()
+    {
+        long now = System.currentTimeMillis();
+        index.entrySet().removeIf(entry -> {
+            boolean expired = isExpired(entry.getValue().writtenAt(), now);
+            if (expired)
+            {
+                entry.getValue().segment().liveBytes.addAndGet(-entry.getValue().recordLength());
+            }
+            return expired;
+        });
+
+        for (Segment segment : List.copyOf(segments.values()))
+        {
+            // Sealed segments that are mostly dead are rewritten into the active one and deleted
+            if (segment != active && segment.liveBytes.get() * 2 < segment.writePosition)
+            {
+                List<Map.Entry<String, Location>> live = index.entrySet().stream()
+                    .filter(entry -> entry.getValue().segment() == segment)
+                    .toList();
+                for (Map.Entry<String, Location> entry : live)
+                {
+                    Location location = entry.getValue();
+                    byte[] value = new byte[location.length()];
+                    segment.buffer.get(location.offset(), value);
+                    append(entry.getKey(), value, location.writtenAt());
+                }
+                int carried = carryTombstones(segment);
+                deleteSegment(segment);
+                log.debug("Compacted {} ({} live entries and {} tombstones moved)", segment.path.getFileName(), live.size(), carried);
+            }
+        }
+    }
+
+
+    private int carryTombstones(Segment segment)
+    {
+        // Without its tombstone, a value in an older segment would be indexed again on the next open
+        boolean olderSegments = segments.firstKey() < segment.id;
+        List<Map.Entry<String, Tombstone>> removed = tombstones.entrySet().stream()
+            .filter(entry -> entry.getValue().segment() == segment)
+            .toList();
+        for (Map.Entry<String, Tombstone> entry : removed)
+        {
+            if (olderSegments)
+            {
+                append(entry.getKey(), null, entry.getValue().writtenAt());
+            }
+            else
+            {
+                tombstones.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        return olderSegments ? removed.size() : 0;
+    }
+
+
+    @Override
+    public void close()
+    {
+        if (awaitOpen())
+        {
+            segments.values().forEach(segment -> segment.buffer.force());
+        }
+        unlockDirectory();
+    }
+
+
+    private boolean lockDirectory() throws IOException
+    {
+        // Two stores appending to the same files would overwrite each other's records
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try
+        {
+            lock = channel.tryLock();
+        }
+        catch (OverlappingFileLockException e)
+        {
+            // Held by another store in this JVM
+            lock = null;
+        }
+        if (lock == null)
+        {
+            channel.close();
+            return false;
+        }
+        lockChannel = channel;
+        return true;
+    }
+
+
+    private synchronized void unlockDirectory()
+    {
+        if (lockChannel == null)
+        {
+            return;
+        }
+        try
+        {
+            // Closing the channel releases its lock
+            lockChannel.close();
+        }
+        catch (IOException e)
+        {
+            log.debug("Could not release the lock on {}", directory, e);
+        }
+        lockChannel = null;
+    }
+
+
+    private synchronized void append(String key, byte[] value, long writtenAt)
+    {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int valueLength = value != null ? value.length : 0;
+        int payloadLength = PAYLOAD_OVERHEAD + keyBytes.length + valueLength;
+        int recordLength = RECORD_HEADER + payloadLength;
+
+        if (keyBytes.length > Short.MAX_VALUE || recordLength > segmentSize)
+        {
+            log.debug("Not persisting {}: {} bytes exceeds the segment size", key, recordLength);
+            return;
+        }
+        if (active.writePosition + recordLength > segmentSize)
+        {
+            roll();
+        }
+
+        Segment segment = active;
+        int recordStart = segment.writePosition;
+        int payloadStart = recordStart + RECORD_HEADER;
+        int valueStart = payloadStart + Short.BYTES + keyBytes.length + Long.BYTES + Byte.BYTES;
+
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putShort(payloadStart, (short) keyBytes.length);
+        buffer.put(payloadStart + Short.BYTES, keyBytes);
+        buffer.putLong(payloadStart + Short.BYTES + keyBytes.length, writtenAt);
+        buffer.put(valueStart - Byte.BYTES, value != null ? VALUE : TOMBSTONE);
+        if (value != null)
+        {
+            buffer.put(valueStart, value);
+        }
+        buffer.putInt(recordStart + Integer.BYTES, checksum(buffer, payloadStart, payloadLength));
+        // The length is written last so a torn record reads as the end of the segment
+        buffer.putInt(recordStart, payloadLength);
+        segment.writePosition += recordLength;
+
+        Location location = value != null ? new Location(segment, valueStart, valueLength, recordLength, writtenAt) : null;
+        index(key, location, segment, writtenAt);
+        if (location != null)
+        {
+            segment.liveBytes.addAndGet(recordLength);
+        }
+    }
+
+
+    private void index(String key, Location location, Segment segment, long writtenAt)
+    {
+        if (location != null)
+        {
+            tombstones.remove(key);
+        }
+        else
+        {
+            tombstones.put(key, new Tombstone(segment, writtenAt));
+        }
+        Location previous = location != null ? index.put(key, location) : index.remove(key);
+        if (previous != null)
+        {
+            previous.segment().liveBytes.addAndGet(-previous.recordLength());
+        }
+    }
+
+
+    private void roll()
+    {
+        active.buffer.force();
+        active = createSegment(active.id + 1);
+
+        while (segments.size() > maxSegments)
+        {
+            Segment oldest = segments.firstEntry().getValue();
+            index.values().removeIf(location -> location.segment() == oldest);
+            tombstones.values().removeIf(tombstone -> tombstone.segment() == oldest);
+            deleteSegment(oldest);
+        }
+    }
+
+
+    private void open()
+    {
+        try
+        {
+            Files.createDirectories(directory);
+            if (!lockDirectory())
+            {
+                log.warn("Cache segments in {} are in use by another store; persistence is disabled", directory);
+                return;
+            }
+
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory))
+            {
+                files = listing.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted((a, b) -> Long.compare(segmentId(a), segmentId(b)))
+                    .toList();
+            }
+
+            synchronized (this)
+            {
+                for (Path file : files)
+                {
+                    Segment segment = mapSegment(segmentId(file), file);
+                    segments.put(segment.id, segment);
+                    scan(segment);
+                }
+                active = segments.isEmpty() ? createSegment(1) : segments.lastEntry().getValue();
+            }
+
+            log.info("Opened {} with {} entries in {} segments", directory, index.size(), segments.size());
+        }
+        catch (IOException | RuntimeException e)
+        {
+            log.warn("Could not open cache segments in {}; persistence is disabled", directory, e);
+            segments.clear();
+            index.clear();
+            tombstones.clear();
+            active = null;
+        }
+        finally
+        {
+            opened.countDown();
+        }
+    }
+
+
+    private void scan(Segment segment)
+    {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + RECORD_HEADER <= buffer.capacity())
+        {
+            int payloadLength = buffer.getInt(position);
+            int payloadStart = position + RECORD_HEADER;
+            if (payloadLength < PAYLOAD_OVERHEAD
+                || payloadStart + payloadLength > buffer.capacity()
+                || checksum(buffer, payloadStart, payloadLength) != buffer.getInt(position + Integer.BYTES))
+            {
+                break;
+            }
+
+            int keyLength = buffer.getShort(payloadStart);
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(payloadStart + Short.BYTES, keyBytes);
+            long writtenAt = buffer.getLong(payloadStart + Short.BYTES + keyLength);
+            int valueStart = payloadStart + Short.BYTES + keyLength + Long.BYTES + Byte.BYTES;
+            boolean tombstone = buffer.get(valueStart - Byte.BYTES) == TOMBSTONE;
+            int recordLength = RECORD_HEADER + payloadLength;
+
+            Location location = tombstone
+                ? null
+                : new Location(segment, valueStart, payloadStart + payloadLength - valueStart, recordLength, writtenAt);
+            index(new String(keyBytes, StandardCharsets.UTF_8), location, segment, writtenAt);
+            if (location != null)
+            {
+                segment.liveBytes.addAndGet(recordLength);
+            }
+            position += recordLength;
+        }
+        segment.writePosition = position;
+    }
+
+
+    private Segment createSegment(long id)
+    {
+        Segment segment = mapSegment(id, directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX));
+        segments.put(id, segment);
+        return segment;
+    }
+
+
+    private Segment mapSegment(long id, Path path)
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            // The mapping stays valid after the channel is closed; unwritten space is sparse
+            return new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    private void deleteSegment(Segment segment)
+    {
+        segments.remove(segment.id);
+        try
+        {
+            Files.deleteIfExists(segment.path);
+        }
+        catch (IOException e)
+        {
+            log.warn("Could not delete {}", segment.path, e);
+        }
+    }
+
+
+    private boolean awaitOpen()
+    {
+        try
+        {
+            return opened.await(OPEN_TIMEOUT_SECONDS, TimeUnit.SECONDS) && active != null;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+
+    private boolean isExpired(long writtenAt, long now)
+    {
+        return maxAgeMillis > 0 && now - writtenAt > maxAgeMillis;
+    }
+
+
+    private static int checksum(MappedByteBuffer buffer, int offset, int length)
+    {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+
+    private static long segmentId(Path path)
+    {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+
+    public record Entry(byte[] value, long writtenAt)
+    {
+    }
+
+
+    private record Location(Segment segment, int offset, int length, int recordLength, long writtenAt)
+    {
+    }
+
+
+    private record Tombstone(Segment segment, long writtenAt)
+    {
+    }
+
+
+    private static final class Segment
+    {
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong liveBytes = new AtomicLong();
+        private int writePosition;
+
+
+        private Segment(long id, Path path, MappedByteBuffer buffer)
+        {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ajith.reposcorer.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class SharedCacheLoader implements CacheLoader<Object, Object>
+{
+    private final CacheLoader<Object, Object> delegate;
+    private final RemoteCacheTier remoteTier;
+    private final long freshnessMillis;
+
+
+    @Override
+    public Object load(Object key) throws Exception
+    {
+        RemoteCacheTier.Entry fetched = remoteTier.fetch(key);
+        if (fetched != null)
+        {
+            return fetched.value();
+        }
+
+        Object loaded = delegate.load(key);
+        remoteTier.store(key, loaded);
+        return loaded;
+    }
+
+
+    @Override
+    public Object reload(Object key, Object oldValue) throws Exception
+    {
+        // When another node refreshed this key recently its result is reused rather than fetched again
+        RemoteCacheTier.Entry fetched = remoteTier.fetch(key);
+        if (fetched != null && System.currentTimeMillis() - fetched.writtenAt() < freshnessMillis)
+        {
+            return fetched.value();
+        }
+
+        Object reloaded = delegate.reload(key, oldValue);
+        remoteTier.store(key, reloaded);
+        return reloaded;
+    }
+}
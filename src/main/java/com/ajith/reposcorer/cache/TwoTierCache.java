@@ -0,0 +1,135 @@
+package com.ajith.reposcorer.cache;
+
+import java.util.concurrent.Callable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+@RequiredArgsConstructor
+@Slf4j
+public class TwoTierCache implements Cache
+{
+    private final Cache delegate;
+    private final RemoteCacheTier remoteTier;
+    private final LocalKeyIndex localKeys;
+
+
+    @Override
+    public String getName()
+    {
+        return delegate.getName();
+    }
+
+
+    @Override
+    public Object getNativeCache()
+    {
+        return delegate.getNativeCache();
+    }
+
+
+    @Override
+    public ValueWrapper get(Object key)
+    {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        RemoteCacheTier.Entry fetched = remoteTier.fetch(key);
+        if (fetched == null)
+        {
+            return null;
+        }
+        delegate.put(key, fetched.value());
+        return new SimpleValueWrapper(fetched.value());
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type)
+    {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value))
+        {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader)
+    {
+        return delegate.get(key, () -> {
+            RemoteCacheTier.Entry fetched = remoteTier.fetch(key);
+            if (fetched != null)
+            {
+                return (T) fetched.value();
+            }
+            T loaded = valueLoader.call();
+            remoteTier.store(key, loaded);
+            return loaded;
+        });
+    }
+
+
+    @Override
+    public void put(Object key, Object value)
+    {
+        delegate.put(key, value);
+        remoteTier.store(key, value);
+    }
+
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value)
+    {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null)
+        {
+            remoteTier.store(key, value);
+        }
+        return existing;
+    }
+
+
+    @Override
+    public void evict(Object key)
+    {
+        delegate.evict(key);
+        remoteTier.evict(key);
+    }
+
+
+    @Override
+    public void clear()
+    {
+        delegate.clear();
+        remoteTier.clear();
+    }
+
+
+    public void invalidateLocally(String key)
+    {
+        // The in-memory key is looked up by its string form; evicting the string itself covers the disk tier, which is keyed the same way
+        Object localKey = localKeys.find(key);
+        if (localKey != null)
+        {
+            delegate.evict(localKey);
+            log.debug("Invalidated local {} entry for {}", getName(), key);
+        }
+        delegate.evict(key);
+    }
+
+
+    public void clearLocally()
+    {
+        delegate.clear();
+    }
+}
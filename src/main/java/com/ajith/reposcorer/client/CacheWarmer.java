@@ -0,0 +1,222 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.properties.CachingProperties;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_PER_PAGE;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmer implements ApplicationRunner, HealthIndicator, DisposableBean
+{
+    static final String PREVIOUS_RUN_KEYS_FILE = "warm-up-keys.csv";
+
+    private final SearchResultCache searchResultCache;
+    private final RefreshAheadScheduler refreshAheadScheduler;
+    private final GithubTokenPool githubTokenPool;
+    private final CachingProperties cachingProperties;
+
+    private final AtomicInteger warmed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger deferred = new AtomicInteger();
+    private volatile int planned;
+    private volatile boolean complete;
+
+
+    @Override
+    public void run(ApplicationArguments args)
+    {
+        // Runners finish before Boot reports the application ready, so readiness stays down until this returns
+        if (cachingProperties.getWarmUpEnabled())
+        {
+            warmUp(plannedQueries());
+        }
+        complete = true;
+    }
+
+
+    @Override
+    public Health health()
+    {
+        Health.Builder health = complete ? Health.up() : Health.outOfService();
+        return health
+            .withDetail("planned", planned)
+            .withDetail("warmed", warmed.get())
+            .withDetail("failed", failed.get())
+            .withDetail("deferred", deferred.get())
+            .build();
+    }
+
+
+    @Override
+    public void destroy()
+    {
+        List<SearchKey> hottest = refreshAheadScheduler.hottestKeys(cachingProperties.getWarmUpPreviousRunKeys());
+        Path file = previousRunKeysFile();
+        try
+        {
+            Files.createDirectories(file.getParent());
+            Files.write(file, hottest.stream().map(CacheWarmer::format).toList());
+            log.info("Saved {} hot search keys for the next warm-up", hottest.size());
+        }
+        catch (IOException e)
+        {
+            log.warn("Could not save hot search keys to {}", file, e);
+        }
+    }
+
+
+    void warmUp(List<SearchKey> queries)
+    {
+        planned = queries.size();
+        if (queries.isEmpty())
+        {
+            return;
+        }
+
+        // At startup no response has reported the quota yet, so each token is assumed to have only a conservative default
+        int quota = githubTokenPool.remainingQuota(System.currentTimeMillis(), cachingProperties.getWarmUpUnreportedQuota());
+        int budget = Math.max(0, quota - cachingProperties.getWarmUpQuotaReserve());
+        Semaphore permits = new Semaphore(cachingProperties.getWarmUpConcurrency());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> prefetches = new ArrayList<>();
+
+        for (SearchKey query : queries)
+        {
+            int cost = (query.maxResults() + MAX_PER_PAGE - 1) / MAX_PER_PAGE;
+            if (cost > budget)
+            {
+                deferred.incrementAndGet();
+                continue;
+            }
+            budget -= cost;
+            prefetches.add(executor.submit(() -> prefetch(query, permits)));
+        }
+        executor.shutdown();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cachingProperties.getWarmUpTimeout());
+        try
+        {
+            for (Future<?> prefetch : prefetches)
+            {
+                prefetch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        }
+        catch (TimeoutException e)
+        {
+            log.warn("Cache warm-up timed out; remaining prefetches continue in the background");
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e)
+        {
+            log.warn("Cache warm-up prefetch failed", e.getCause());
+        }
+
+        log.info(
+            "Cache warm-up finished: {} planned, {} warmed, {} failed, {} deferred by the quota budget",
+            planned, warmed.get(), failed.get(), deferred.get());
+    }
+
+
+    List<SearchKey> plannedQueries()
+    {
+        Set<SearchKey> queries = new LinkedHashSet<>();
+        for (CachingProperties.WarmUpQuery query : cachingProperties.getWarmUpQueries())
+        {
+            queries.add(new SearchKey(
+                SearchResultCache.normalizeLanguage(query.getLanguage()),
+                query.getCreatedAfter(),
+                query.getMaxResults()));
+        }
+
+        Path file = previousRunKeysFile();
+        if (Files.exists(file))
+        {
+            try
+            {
+                Files.readAllLines(file).stream()
+                    .filter(line -> !line.isBlank())
+                    .limit(cachingProperties.getWarmUpPreviousRunKeys())
+                    .forEach(line -> queries.add(parse(line)));
+            }
+            catch (IOException | RuntimeException e)
+            {
+                log.warn("Ignoring unreadable hot search keys in {}: {}", file, e.getMessage());
+            }
+        }
+        return List.copyOf(queries);
+    }
+
+
+    private void prefetch(SearchKey query, Semaphore permits)
+    {
+        try
+        {
+            permits.acquire();
+            try
+            {
+                searchResultCache.search(query.language(), query.createdAfter(), query.maxResults());
+                warmed.incrementAndGet();
+            }
+            finally
+            {
+                permits.release();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException e)
+        {
+            failed.incrementAndGet();
+            log.warn("Could not warm {}: {}", query, e.getMessage());
+        }
+    }
+
+
+    private Path previousRunKeysFile()
+    {
+        return Path.of(cachingProperties.getDiskDirectory(), PREVIOUS_RUN_KEYS_FILE);
+    }
+
+
+    private static String format(SearchKey key)
+    {
+        return key.language() + ',' + key.createdAfter() + ',' + key.maxResults();
+    }
+
+
+    private static SearchKey parse(String line)
+    {
+        String[] fields = line.split(",");
+        return new SearchKey(fields[0], LocalDate.parse(fields[1]), Integer.parseInt(fields[2]));
+    }
+}
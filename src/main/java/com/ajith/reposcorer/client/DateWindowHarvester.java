@@ -0,0 +1,213 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_PER_PAGE;
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_SEARCH_RESULTS;
+
+@Component
+@Slf4j
+public class DateWindowHarvester
+{
+    private final GithubSearchClient githubSearchClient;
+    private final GithubProperties githubProperties;
+    private final SingleFlight singleFlight;
+    private final Semaphore windowPermits;
+
+
+    public DateWindowHarvester(GithubSearchClient githubSearchClient, GithubProperties githubProperties, SingleFlight singleFlight)
+    {
+        this.githubSearchClient = githubSearchClient;
+        this.githubProperties = githubProperties;
+        this.singleFlight = singleFlight;
+        this.windowPermits = new Semaphore(Math.max(1, githubProperties.getMaxConcurrentWindows()));
+    }
+
+
+    @Cacheable(value = "githubHarvests", key = "#language + '-' + #createdAfter")
+    public GithubSearchResponse harvestRepositories(String language, LocalDate createdAfter)
+    {
+        return singleFlight.execute(
+            "harvest-" + language + '-' + createdAfter,
+            () -> harvest(language, createdAfter));
+    }
+
+
+    private GithubSearchResponse harvest(String language, LocalDate createdAfter)
+    {
+        LocalDate from = createdAfter.plusDays(1); // created:>D excludes D itself
+        LocalDate to = LocalDate.now(ZoneOffset.UTC);
+
+        if (from.isAfter(to))
+        {
+            return new GithubSearchResponse(0, false, List.of());
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            Harvest harvest = new Harvest(language, executor, githubProperties.getMaxHarvestResults());
+            int totalCount = harvest.harvestWindow(from, to);
+
+            List<GithubRepository> items = new ArrayList<>(harvest.repositories.values());
+
+            log.info(
+                "Harvested {} unique repositories for {} created between {} and {} (total: {}, incomplete: {})",
+                items.size(),
+                language,
+                from,
+                to,
+                totalCount,
+                harvest.incomplete.get());
+
+            return new GithubSearchResponse(totalCount, harvest.incomplete.get(), items);
+        }
+    }
+
+
+    private final class Harvest
+    {
+        private final String language;
+        private final ExecutorService executor;
+        private final int resultLimit;
+        private final Map<Long, GithubRepository> repositories = new ConcurrentHashMap<>();
+        private final AtomicBoolean incomplete = new AtomicBoolean();
+
+
+        private Harvest(String language, ExecutorService executor, int resultLimit)
+        {
+            this.language = language;
+            this.executor = executor;
+            this.resultLimit = resultLimit;
+        }
+
+
+        private int harvestWindow(LocalDate from, LocalDate to)
+        {
+            if (isFull())
+            {
+                incomplete.set(true);
+                return 0;
+            }
+
+            GithubSearchResponse probe = fetchWindow(from, to, 1, 1);
+            int totalCount = probe.getTotalCount();
+
+            if (totalCount > MAX_SEARCH_RESULTS && from.isBefore(to))
+            {
+                LocalDate mid = from.plusDays(ChronoUnit.DAYS.between(from, to) / 2);
+                log.debug("Window {}..{} holds {} repositories, bisecting at {}", from, to, totalCount, mid);
+
+                Future<Integer> left = executor.submit(() -> harvestWindow(from, mid));
+                Future<Integer> right = executor.submit(() -> harvestWindow(mid.plusDays(1), to));
+                await(left);
+                await(right);
+                return totalCount;
+            }
+
+            collect(probe);
+
+            int lastPage = (Math.min(totalCount, MAX_SEARCH_RESULTS) + MAX_PER_PAGE - 1) / MAX_PER_PAGE;
+            if (lastPage > 1 && !isFull())
+            {
+                collect(fetchWindow(from, to, 2, lastPage));
+            }
+
+            if (totalCount > MAX_SEARCH_RESULTS)
+            {
+                log.warn("Single-day window {} holds {} repositories; only the first {} are reachable", from, totalCount, MAX_SEARCH_RESULTS);
+                incomplete.set(true);
+            }
+
+            return totalCount;
+        }
+
+
+        private GithubSearchResponse fetchWindow(LocalDate from, LocalDate to, int firstPage, int lastPage)
+        {
+            try
+            {
+                windowPermits.acquire();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new GithubApiException("Interrupted while waiting for a search window slot", e);
+            }
+
+            try
+            {
+                return githubSearchClient.searchCreatedBetween(language, from, to, firstPage, lastPage);
+            }
+            finally
+            {
+                windowPermits.release();
+            }
+        }
+
+
+        private void collect(GithubSearchResponse response)
+        {
+            for (GithubRepository repository : response.getItems())
+            {
+                if (isFull())
+                {
+                    incomplete.set(true);
+                    return;
+                }
+                repositories.putIfAbsent(repository.getId(), repository);
+            }
+
+            if (response.getIncompleteResults())
+            {
+                incomplete.set(true);
+            }
+        }
+
+
+        private boolean isFull()
+        {
+            return repositories.size() >= resultLimit;
+        }
+
+
+        private void await(Future<Integer> window)
+        {
+            try
+            {
+                window.get();
+            }
+            catch (ExecutionException e)
+            {
+                if (e.getCause() instanceof GithubApiException githubApiException)
+                {
+                    throw githubApiException;
+                }
+                throw new GithubApiException("Failed to harvest repositories: " + e.getCause().getMessage(), e.getCause());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new GithubApiException("Interrupted while harvesting search windows", e);
+            }
+        }
+    }
+}
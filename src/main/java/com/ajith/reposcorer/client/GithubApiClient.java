@@ -5,57 +5,258 @@ import com.ajith.reposcorer.client.dto.GithubSearchResponse;
 import com.ajith.reposcorer.exception.GithubApiException;
 import com.ajith.reposcorer.properties.GithubProperties;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Component
+@ConditionalOnProperty(prefix = "github", name = "backend", havingValue = "rest", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class GithubApiClient
+public class GithubApiClient implements GithubSearchClient
 {
+    static final int MAX_PER_PAGE = 100;
+    static final int MAX_SEARCH_RESULTS = 1000; // GitHub search never returns more than 1000 results
+
     private final RestClient githubRestClient;
     private final GithubProperties githubProperties;
+    private final SearchEtagCache searchEtagCache;
+    private final SingleFlight singleFlight;
+    private final GithubRetryExecutor githubRetryExecutor;
+    private final GithubCircuitBreaker githubCircuitBreaker;
 
 
-    @Retryable(
-        retryFor = GithubApiException.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000)
-    )
-    @Cacheable(value = "githubSearches", key = "#language + '-' + #createdAfter + '-' + #maxResults")
+    @Override
+    @Cacheable(value = "githubSearches", key = "new com.ajith.reposcorer.client.SearchKey(#language, #createdAfter, #maxResults)")
     public GithubSearchResponse searchRepositories(
         String language,
         LocalDate createdAfter,
         Integer maxResults)
     {
+        return fetchRepositories(language, createdAfter, maxResults);
+    }
+
+
+    @Override
+    public GithubSearchResponse fetchRepositories(String language, LocalDate createdAfter, Integer maxResults)
+    {
+        return singleFlight.execute(
+            new SearchKey(language, createdAfter, maxResults).toString(),
+            () -> fetchSearchPages(language, createdAfter, maxResults, IGNORE_PAGES));
+    }
+
+
+    @Override
+    public GithubSearchResponse fetchRepositories(
+        String language,
+        LocalDate createdAfter,
+        Integer maxResults,
+        Consumer<List<GithubRepository>> onPage)
+    {
+        // Not coalesced: each caller needs its own page callbacks
+        return fetchSearchPages(language, createdAfter, maxResults, onPage);
+    }
+
 
+    private GithubSearchResponse fetchSearchPages(
+        String language,
+        LocalDate createdAfter,
+        Integer maxResults,
+        Consumer<List<GithubRepository>> onPage)
+    {
         String query = buildSearchQuery(language, createdAfter);
-        String uri = buildSearchUri(query, maxResults);
+        int resultLimit = Math.min(maxResults, MAX_SEARCH_RESULTS);
+        int perPage = Math.min(resultLimit, MAX_PER_PAGE);
+
+        // Page 1 reports how many repositories match, so only the pages that can hold results are fetched after it
+        GithubSearchResponse firstPage = fetchPage(query, perPage, 1);
+        onPage.accept(firstPage.getItems());
+        int available = Math.min(firstPage.getTotalCount(), resultLimit);
+        int pageCount = (available + perPage - 1) / perPage;
+        if (pageCount <= 1)
+        {
+            return firstPage;
+        }
+
+        GithubSearchResponse remainingPages = fetchPages(
+            query, perPage, 2, pageCount, resultLimit - firstPage.getItems().size(), onPage);
+        List<GithubRepository> items = new ArrayList<>(firstPage.getItems().size() + remainingPages.getItems().size());
+        items.addAll(firstPage.getItems());
+        items.addAll(remainingPages.getItems());
+        return new GithubSearchResponse(
+            Math.max(firstPage.getTotalCount(), remainingPages.getTotalCount()),
+            firstPage.getIncompleteResults() || remainingPages.getIncompleteResults(),
+            items);
+    }
+
+
+    @Override
+    public GithubSearchResponse searchCreatedBetween(
+        String language,
+        LocalDate from,
+        LocalDate to,
+        int firstPage,
+        int lastPage)
+    {
+        String query = buildWindowQuery(language, from, to);
+
+        if (firstPage == lastPage)
+        {
+            return fetchPage(query, MAX_PER_PAGE, firstPage);
+        }
+
+        return fetchPages(query, MAX_PER_PAGE, firstPage, lastPage, (lastPage - firstPage + 1) * MAX_PER_PAGE, IGNORE_PAGES);
+    }
+
+
+    private GithubSearchResponse fetchPages(
+        String query,
+        int perPage,
+        int firstPage,
+        int lastPage,
+        int resultLimit,
+        Consumer<List<GithubRepository>> onPage)
+    {
+        int pageCount = lastPage - firstPage + 1;
+        int parallelism = Math.max(1, Math.min(pageCount, githubProperties.getMaxConcurrentPages()));
+        Semaphore permits = new Semaphore(parallelism);
+
+        log.debug("Fetching {} pages of {} results with parallelism {}", pageCount, perPage, parallelism);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            List<Future<GithubSearchResponse>> pages = new ArrayList<>(pageCount);
+            for (int page = firstPage; page <= lastPage; page++)
+            {
+                int pageNumber = page;
+                pages.add(executor.submit(() -> {
+                    permits.acquire();
+                    try
+                    {
+                        return fetchPage(query, perPage, pageNumber);
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                }));
+            }
+
+            return mergePages(pages, resultLimit, onPage);
+        }
+    }
+
+
+    private GithubSearchResponse mergePages(
+        List<Future<GithubSearchResponse>> pages,
+        int resultLimit,
+        Consumer<List<GithubRepository>> onPage)
+    {
+        List<GithubRepository> items = new ArrayList<>(resultLimit);
+        int totalCount = 0;
+        boolean incompleteResults = false;
+
+        for (Future<GithubSearchResponse> future : pages)
+        {
+            GithubSearchResponse page = awaitPage(future);
+            totalCount = Math.max(totalCount, page.getTotalCount());
+            incompleteResults |= page.getIncompleteResults();
+
+            List<GithubRepository> pageItems = page.getItems();
+            // Pages are awaited in order, so each one is handed on as soon as it and every page before it are in
+            List<GithubRepository> kept = pageItems.subList(0, Math.min(pageItems.size(), resultLimit - items.size()));
+            items.addAll(kept);
+            onPage.accept(kept);
+        }
+
+        log.info("Merged {} pages into {} repositories (total: {})", pages.size(), items.size(), totalCount);
+
+        return new GithubSearchResponse(totalCount, incompleteResults, items);
+    }
+
+
+    private GithubSearchResponse awaitPage(Future<GithubSearchResponse> future)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof GithubApiException githubApiException)
+            {
+                throw githubApiException;
+            }
+            throw new GithubApiException("Failed to search repositories: " + e.getCause().getMessage(), e.getCause());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new GithubApiException("Interrupted while fetching search results", e);
+        }
+    }
 
+
+    private GithubSearchResponse fetchPage(String query, int perPage, int page)
+    {
+        String uri = buildSearchUri(query, perPage, page);
+        return githubCircuitBreaker.execute(() -> githubRetryExecutor.execute(uri, () -> exchange(uri)));
+    }
+
+
+    private GithubSearchResponse exchange(String uri)
+    {
         log.info("Calling GitHub API: {}", uri);
 
+        ValidatedPage cachedPage = searchEtagCache.find(uri);
+
         try
         {
-            GithubSearchResponse response = githubRestClient.get()
-                .uri(uri)
+            RestClient.RequestHeadersSpec<?> request = githubRestClient.get().uri(uri);
+            if (cachedPage != null)
+            {
+                request = request.header(HttpHeaders.IF_NONE_MATCH, cachedPage.etag());
+            }
+
+            ResponseEntity<GithubSearchResponse> response = request
                 .retrieve()
-                .body(GithubSearchResponse.class);
+                .toEntity(GithubSearchResponse.class);
 
-            return sanitiseResponse(response);
+            if (cachedPage != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED))
+            {
+                return searchEtagCache.revalidated(uri, cachedPage);
+            }
+
+            GithubSearchResponse searchResponse = sanitiseResponse(response.getBody());
+            searchEtagCache.store(uri, response.getHeaders().getETag(), searchResponse);
+            return searchResponse;
 
         }
         catch (RestClientResponseException e)
         {
             throw handleRestClientException(e);
         }
+        catch (GithubApiException e)
+        {
+            // Already classified, e.g. a local rate-limit rejection; keep its status and retry-after
+            throw e;
+        }
         catch (Exception e)
         {
             log.error("Unexpected error calling GitHub API", e);
@@ -72,38 +273,45 @@ public class GithubApiClient
             return new GithubSearchResponse(0, true, List.of());
         }
 
-        List<GithubRepository> items = response.getItems() != null ? response.getItems() : List.of();
-        Integer totalCount = response.getTotalCount() != null ? response.getTotalCount() : 0;
-        boolean incompleteResults = response.getIncompleteResults() != null && response.getIncompleteResults();
+        // The streaming reader always fills every field, so only partially populated responses need rebuilding
+        if (response.getItems() == null || response.getTotalCount() == null || response.getIncompleteResults() == null)
+        {
+            response = new GithubSearchResponse(
+                response.getTotalCount() != null ? response.getTotalCount() : 0,
+                response.getIncompleteResults() != null && response.getIncompleteResults(),
+                response.getItems() != null ? response.getItems() : List.of());
+        }
 
         log.info(
             "GitHub API returned {} repositories (total: {}, incomplete: {})",
-            items.size(),
-            totalCount,
-            incompleteResults);
+            response.getItems().size(),
+            response.getTotalCount(),
+            response.getIncompleteResults());
 
-        return new GithubSearchResponse(totalCount, incompleteResults, items);
+        return response;
     }
 
 
-    private GithubApiException handleRestClientException(RestClientResponseException e)
+    static GithubApiException handleRestClientException(RestClientResponseException e)
     {
         int statusCode = e.getStatusCode().value();
         String message = determineErrorMessage(statusCode, e);
 
         log.error("GitHub API error: {} - {}", statusCode, message);
 
-        return new GithubApiException(message, statusCode);
+        Long retryAfterMillis = RateLimitState.retryAfterMillis(e.getResponseHeaders(), System.currentTimeMillis());
+        return new GithubApiException(message, statusCode, retryAfterMillis);
     }
 
 
-    private String determineErrorMessage(int statusCode, RestClientResponseException e)
+    private static String determineErrorMessage(int statusCode, RestClientResponseException e)
     {
         return switch (statusCode)
         {
             case 401 -> "GitHub API authentication failed. Check your access token.";
             case 403 -> "GitHub API rate limit exceeded. Please try again later or add an access token.";
             case 404 -> "GitHub API endpoint not found.";
+            case 429 -> "GitHub API secondary rate limit exceeded. Please try again later.";
             case 422 -> "Invalid search query: " + e.getMessage();
             case 503 -> "GitHub API is currently unavailable. Please try again later.";
             default ->
@@ -122,16 +330,20 @@ public class GithubApiClient
     }
 
 
-    private String buildSearchQuery(String language, LocalDate createdAfter)
+    static String buildSearchQuery(String language, LocalDate createdAfter)
     {
         return String.format("language:%s created:>%s", language.toLowerCase(), createdAfter.toString());
     }
 
 
-    private String buildSearchUri(String query, Integer maxResults)
+    static String buildWindowQuery(String language, LocalDate from, LocalDate to)
     {
-        int perPage = Math.min(maxResults, 100); // GitHub API max per page is 100
+        return String.format("language:%s created:%s..%s", language.toLowerCase(), from.toString(), to.toString());
+    }
 
+
+    private String buildSearchUri(String query, int perPage, int page)
+    {
         return UriComponentsBuilder
             .fromUriString(githubProperties.getApiUrl())
             .path("/search/repositories")
@@ -139,6 +351,7 @@ public class GithubApiClient
             .queryParam("sort", "stars")
             .queryParam("order", "desc")
             .queryParam("per_page", perPage)
+            .queryParam("page", page)
             .build()
             .toUriString();
     }
@@ -0,0 +1,138 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.exception.GithubUnavailableException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class GithubCircuitBreaker
+{
+    public enum State
+    {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final GithubProperties githubProperties;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAtMillis = new AtomicLong();
+
+
+    public GithubCircuitBreaker(GithubProperties githubProperties, MeterRegistry meterRegistry)
+    {
+        this.githubProperties = githubProperties;
+        Gauge.builder("github.circuit.state", state, current -> current.get().ordinal())
+            .description("GitHub circuit breaker state: 0 closed, 1 half-open, 2 open")
+            .register(meterRegistry);
+    }
+
+
+    public <T> T execute(Supplier<T> call)
+    {
+        acquirePermission();
+
+        try
+        {
+            T result = call.get();
+            onSuccess();
+            return result;
+        }
+        catch (GithubApiException e)
+        {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+
+    public State state()
+    {
+        return state.get();
+    }
+
+
+    public long remainingOpenMillis()
+    {
+        if (state.get() == State.CLOSED)
+        {
+            return 0;
+        }
+        return Math.max(0, openedAtMillis.get() + githubProperties.getCircuitOpenDuration() - System.currentTimeMillis());
+    }
+
+
+    private void acquirePermission()
+    {
+        State current = state.get();
+        if (current == State.CLOSED)
+        {
+            return;
+        }
+
+        long remaining = remainingOpenMillis();
+        if (current == State.OPEN && remaining == 0 && state.compareAndSet(State.OPEN, State.HALF_OPEN))
+        {
+            log.info("GitHub circuit half-open; letting a trial call through");
+            return;
+        }
+
+        throw new GithubUnavailableException(
+            "GitHub API is currently unavailable. Please try again later.",
+            Math.max(remaining, 1000));
+    }
+
+
+    private void onSuccess()
+    {
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED))
+        {
+            log.info("GitHub circuit closed after a successful trial call");
+        }
+    }
+
+
+    private void onFailure(GithubApiException e)
+    {
+        if (!indicatesOutage(e))
+        {
+            // GitHub answered, so it is up; client errors and rate limits are handled elsewhere
+            onSuccess();
+            return;
+        }
+
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= githubProperties.getCircuitFailureThreshold())
+        {
+            open();
+        }
+    }
+
+
+    private void open()
+    {
+        openedAtMillis.set(System.currentTimeMillis());
+        State previous = state.getAndSet(State.OPEN);
+        if (previous != State.OPEN)
+        {
+            log.warn(
+                "GitHub circuit opened after {} consecutive failures; failing fast for {} ms",
+                consecutiveFailures.get(),
+                githubProperties.getCircuitOpenDuration());
+        }
+    }
+
+
+    private boolean indicatesOutage(GithubApiException e)
+    {
+        return e.getStatusCode() == null || e.getStatusCode() >= 500;
+    }
+}
@@ -0,0 +1,243 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.ajith.reposcorer.client.dto.GraphQlSearchResponse;
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_PER_PAGE;
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_SEARCH_RESULTS;
+
+@Component
+@ConditionalOnProperty(prefix = "github", name = "backend", havingValue = "graphql")
+@RequiredArgsConstructor
+@Slf4j
+public class GithubGraphQlClient implements GithubSearchClient
+{
+    private static final String SEARCH_QUERY = """
+        query($q: String!, $first: Int!, $after: String) {
+          search(query: $q, type: REPOSITORY, first: $first, after: $after) {
+            repositoryCount
+            pageInfo { hasNextPage endCursor }
+            nodes {
+              ... on Repository {
+                databaseId name nameWithOwner description url
+                stargazerCount forkCount createdAt updatedAt pushedAt
+                issues(states: OPEN) { totalCount }
+                pullRequests(states: OPEN) { totalCount }
+              }
+            }
+          }
+        }
+        """;
+
+    private final RestClient githubRestClient;
+    private final GithubProperties githubProperties;
+    private final SingleFlight singleFlight;
+    private final GithubRetryExecutor githubRetryExecutor;
+    private final GithubCircuitBreaker githubCircuitBreaker;
+
+
+    @Override
+    @Cacheable(value = "githubSearches", key = "new com.ajith.reposcorer.client.SearchKey(#language, #createdAfter, #maxResults)")
+    public GithubSearchResponse searchRepositories(String language, LocalDate createdAfter, Integer maxResults)
+    {
+        return fetchRepositories(language, createdAfter, maxResults);
+    }
+
+
+    @Override
+    public GithubSearchResponse fetchRepositories(String language, LocalDate createdAfter, Integer maxResults)
+    {
+        int resultLimit = Math.min(maxResults, MAX_SEARCH_RESULTS);
+        int lastPage = (resultLimit + MAX_PER_PAGE - 1) / MAX_PER_PAGE;
+
+        return singleFlight.execute(
+            new SearchKey(language, createdAfter, maxResults).toString(),
+            () -> search(GithubApiClient.buildSearchQuery(language, createdAfter), 1, lastPage, resultLimit, IGNORE_PAGES));
+    }
+
+
+    @Override
+    public GithubSearchResponse fetchRepositories(
+        String language,
+        LocalDate createdAfter,
+        Integer maxResults,
+        Consumer<List<GithubRepository>> onPage)
+    {
+        // Not coalesced: each caller needs its own page callbacks
+        int resultLimit = Math.min(maxResults, MAX_SEARCH_RESULTS);
+        int lastPage = (resultLimit + MAX_PER_PAGE - 1) / MAX_PER_PAGE;
+        return search(GithubApiClient.buildSearchQuery(language, createdAfter), 1, lastPage, resultLimit, onPage);
+    }
+
+
+    @Override
+    public GithubSearchResponse searchCreatedBetween(String language, LocalDate from, LocalDate to, int firstPage, int lastPage)
+    {
+        return search(
+            GithubApiClient.buildWindowQuery(language, from, to),
+            firstPage,
+            lastPage,
+            (lastPage - firstPage + 1) * MAX_PER_PAGE,
+            IGNORE_PAGES);
+    }
+
+
+    private GithubSearchResponse search(
+        String query,
+        int firstPage,
+        int lastPage,
+        int resultLimit,
+        Consumer<List<GithubRepository>> onPage)
+    {
+        // Search cursors are opaque, so pages are walked in order; pages before firstPage only supply a cursor
+        String sortedQuery = query + " sort:stars-desc";
+        int perPage = Math.min(resultLimit, MAX_PER_PAGE);
+        List<GithubRepository> items = new ArrayList<>(resultLimit);
+        int totalCount = 0;
+        String cursor = null;
+
+        for (int page = 1; page <= lastPage && items.size() < resultLimit; page++)
+        {
+            GraphQlSearchResponse.Search result = fetchPage(sortedQuery, perPage, cursor);
+            totalCount = result.repositoryCount();
+
+            if (page >= firstPage && result.nodes() != null)
+            {
+                int pageStart = items.size();
+                for (GraphQlSearchResponse.Node node : result.nodes())
+                {
+                    if (node.databaseId() != null && items.size() < resultLimit)
+                    {
+                        items.add(toRepository(node));
+                    }
+                }
+                onPage.accept(List.copyOf(items.subList(pageStart, items.size())));
+            }
+
+            if (result.pageInfo() == null || !result.pageInfo().hasNextPage())
+            {
+                break;
+            }
+            cursor = result.pageInfo().endCursor();
+        }
+
+        log.info("GitHub GraphQL search returned {} repositories (total: {})", items.size(), totalCount);
+
+        return new GithubSearchResponse(totalCount, false, items);
+    }
+
+
+    private GraphQlSearchResponse.Search fetchPage(String query, int perPage, String cursor)
+    {
+        return githubCircuitBreaker.execute(
+            () -> githubRetryExecutor.execute("graphql " + query, () -> exchange(query, perPage, cursor)));
+    }
+
+
+    private GraphQlSearchResponse.Search exchange(String query, int perPage, String cursor)
+    {
+        log.info("Calling GitHub GraphQL API: {} (first: {}, after: {})", query, perPage, cursor);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("q", query);
+        variables.put("first", perPage);
+        variables.put("after", cursor);
+
+        try
+        {
+            GraphQlSearchResponse response = githubRestClient.post()
+                .uri(githubProperties.getApiUrl() + "/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("query", SEARCH_QUERY, "variables", variables))
+                .retrieve()
+                .body(GraphQlSearchResponse.class);
+
+            if (response != null && response.errors() != null && !response.errors().isEmpty())
+            {
+                throw translateErrors(response.errors());
+            }
+            if (response == null || response.data() == null || response.data().search() == null)
+            {
+                throw new GithubApiException("GitHub GraphQL API returned no search data", 502);
+            }
+
+            return response.data().search();
+        }
+        catch (RestClientResponseException e)
+        {
+            throw GithubApiClient.handleRestClientException(e);
+        }
+        catch (GithubApiException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            log.error("Unexpected error calling GitHub GraphQL API", e);
+            throw new GithubApiException("Failed to search repositories: " + e.getMessage(), e);
+        }
+    }
+
+
+    private GithubApiException translateErrors(List<GraphQlSearchResponse.Error> errors)
+    {
+        GraphQlSearchResponse.Error error = errors.getFirst();
+        log.error("GitHub GraphQL API error: {} - {}", error.type(), error.message());
+
+        if ("RATE_LIMITED".equals(error.type()))
+        {
+            return new GithubApiException("GitHub API rate limit exceeded. Please try again later or add an access token.", 403);
+        }
+        return new GithubApiException("Invalid search query: " + error.message(), 422);
+    }
+
+
+    private GithubRepository toRepository(GraphQlSearchResponse.Node node)
+    {
+        return GithubRepository.builder()
+            .id(node.databaseId())
+            .name(node.name())
+            .fullName(node.nameWithOwner())
+            .description(node.description())
+            .htmlUrl(node.url())
+            .stargazersCount(node.stargazerCount())
+            .forksCount(node.forkCount())
+            // Same meaning as the REST fields: watchers_count mirrors the star count, and open_issues_count includes pull requests
+            .watchersCount(node.stargazerCount())
+            .openIssuesCount(totalCount(node.issues()) + totalCount(node.pullRequests()))
+            .createdAtEpochSecond(toEpochSecond(node.createdAt()))
+            .updatedAtEpochSecond(toEpochSecond(node.updatedAt()))
+            .pushedAtEpochSecond(toEpochSecond(node.pushedAt()))
+            .build();
+    }
+
+
+    private static long toEpochSecond(String timestamp)
+    {
+        return timestamp == null ? GithubRepository.NO_TIMESTAMP : Instant.parse(timestamp).getEpochSecond();
+    }
+
+
+    private static int totalCount(GraphQlSearchResponse.Count count)
+    {
+        return count == null ? 0 : count.totalCount();
+    }
+}
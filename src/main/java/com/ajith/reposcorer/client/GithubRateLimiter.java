@@ -0,0 +1,79 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GithubRateLimiter
+{
+    private final GithubProperties githubProperties;
+
+
+    public void acquire(RateLimitState state)
+    {
+        long now = System.currentTimeMillis();
+        long interval = state.pacingIntervalMillis(now, githubProperties.getRateLimitBurstReserve());
+
+        if (interval == 0)
+        {
+            // Enough quota for a burst: only an explicit block holds the call back, not earlier pacing slots
+            long slot = Math.max(now, state.blockedUntilMillis());
+            checkWait(slot - now);
+            sleepUntil(slot, now);
+            return;
+        }
+
+        AtomicLong nextSlotMillis = state.nextSlotMillis();
+        long slot;
+        while (true)
+        {
+            long reserved = nextSlotMillis.get();
+            slot = Math.max(Math.max(now, reserved), state.blockedUntilMillis());
+            checkWait(slot - now);
+
+            if (nextSlotMillis.compareAndSet(reserved, slot + interval))
+            {
+                break;
+            }
+        }
+
+        sleepUntil(slot, now);
+    }
+
+
+    private void checkWait(long wait)
+    {
+        if (wait > githubProperties.getRateLimitMaxWait())
+        {
+            throw new GithubApiException(
+                "GitHub API rate limit exhausted. Quota resets in " + (wait / 1000 + 1) + " seconds.", 429, wait);
+        }
+    }
+
+
+    private void sleepUntil(long slot, long now)
+    {
+        long wait = slot - now;
+        if (wait <= 0)
+        {
+            return;
+        }
+
+        log.debug("Pacing GitHub request by {} ms", wait);
+        try
+        {
+            Thread.sleep(wait);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new GithubApiException("Interrupted while waiting for GitHub rate limit", e);
+        }
+    }
+}
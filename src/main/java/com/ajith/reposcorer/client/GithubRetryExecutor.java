@@ -0,0 +1,120 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class GithubRetryExecutor
+{
+    private static final long NOT_RETRYABLE = -1;
+
+    private final GithubProperties githubProperties;
+
+
+    public GithubRetryExecutor(GithubProperties githubProperties)
+    {
+        this.githubProperties = githubProperties;
+    }
+
+
+    public <T> T execute(String operation, Supplier<T> call)
+    {
+        long deadline = System.currentTimeMillis() + githubProperties.getRetryBudget();
+
+        // Attempts and backoff sleeps run on the caller's (virtual) thread, so interrupting it stops the retries
+        for (int attempt = 1; ; attempt++)
+        {
+            GithubApiException failure;
+            try
+            {
+                return call.get();
+            }
+            catch (RuntimeException e)
+            {
+                failure = unwrap(e);
+            }
+
+            long delay = backoffDelay(failure, attempt);
+            if (delay == NOT_RETRYABLE
+                || attempt >= githubProperties.getRetryMaxAttempts()
+                || System.currentTimeMillis() + delay > deadline)
+            {
+                throw failure;
+            }
+
+            log.warn(
+                "GitHub call {} failed ({}), retrying in {} ms (attempt {}/{})",
+                operation,
+                failure.getStatusCode() != null ? failure.getStatusCode() : failure.getMessage(),
+                delay,
+                attempt + 1,
+                githubProperties.getRetryMaxAttempts());
+            sleep(delay, failure);
+        }
+    }
+
+
+    private void sleep(long delay, GithubApiException failure)
+    {
+        try
+        {
+            Thread.sleep(delay);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            GithubApiException interrupted = new GithubApiException("Interrupted while backing off from a failed GitHub call", e);
+            interrupted.addSuppressed(failure);
+            throw interrupted;
+        }
+    }
+
+
+    private long backoffDelay(GithubApiException failure, int attempt)
+    {
+        if (!isRetryable(failure))
+        {
+            return NOT_RETRYABLE;
+        }
+
+        // Exponential backoff with full jitter, never earlier than GitHub asked us to wait
+        long ceiling = Math.min(
+            githubProperties.getRetryMaxDelay(),
+            (long) githubProperties.getRetryBaseDelay() << Math.min(attempt - 1, 20));
+        long jittered = ThreadLocalRandom.current().nextLong(ceiling + 1);
+
+        return failure.getRetryAfterMillis() != null ? Math.max(jittered, failure.getRetryAfterMillis()) : jittered;
+    }
+
+
+    private boolean isRetryable(GithubApiException failure)
+    {
+        Integer statusCode = failure.getStatusCode();
+        if (statusCode == null)
+        {
+            return true; // I/O errors and timeouts
+        }
+
+        return switch (statusCode)
+        {
+            case 403, 429 -> failure.getRetryAfterMillis() != null; // only rate limiting, not missing permissions
+            case 500, 502, 503, 504 -> true;
+            default -> false;
+        };
+    }
+
+
+    private GithubApiException unwrap(RuntimeException error)
+    {
+        if (error instanceof GithubApiException githubApiException)
+        {
+            return githubApiException;
+        }
+        return new GithubApiException("Failed to search repositories: " + error.getMessage(), error);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface GithubSearchClient
+{
+    Consumer<List<GithubRepository>> IGNORE_PAGES = page -> { };
+
+    GithubSearchResponse searchRepositories(String language, LocalDate createdAfter, Integer maxResults);
+
+    // Same search as searchRepositories, always served by GitHub; used to load and refresh cache entries
+    GithubSearchResponse fetchRepositories(String language, LocalDate createdAfter, Integer maxResults);
+
+    // As fetchRepositories, handing each page's repositories to onPage in result order as soon as they arrive
+    GithubSearchResponse fetchRepositories(
+        String language, LocalDate createdAfter, Integer maxResults, Consumer<List<GithubRepository>> onPage);
+
+    GithubSearchResponse searchCreatedBetween(String language, LocalDate from, LocalDate to, int firstPage, int lastPage);
+}
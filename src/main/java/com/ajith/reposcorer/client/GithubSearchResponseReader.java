@@ -0,0 +1,166 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GithubSearchResponseReader
+{
+    private static final int ISO_INSTANT_LENGTH = 20; // yyyy-MM-ddTHH:mm:ssZ
+
+    private final JsonFactory jsonFactory;
+
+
+    public GithubSearchResponseReader(JsonFactory jsonFactory)
+    {
+        this.jsonFactory = jsonFactory;
+    }
+
+
+    public GithubSearchResponse read(InputStream body) throws IOException
+    {
+        try (JsonParser parser = jsonFactory.createParser(body))
+        {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                return null;
+            }
+
+            int totalCount = 0;
+            boolean incompleteResults = false;
+            List<GithubRepository> items = List.of();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field)
+                {
+                    case "total_count" -> totalCount = parser.getValueAsInt();
+                    case "incomplete_results" -> incompleteResults = value == JsonToken.VALUE_TRUE;
+                    case "items" -> items = readItems(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return new GithubSearchResponse(totalCount, incompleteResults, items);
+        }
+    }
+
+
+    private List<GithubRepository> readItems(JsonParser parser) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+        {
+            parser.skipChildren();
+            return List.of();
+        }
+
+        List<GithubRepository> items = new ArrayList<>(100);
+        while (parser.nextToken() == JsonToken.START_OBJECT)
+        {
+            items.add(readRepository(parser));
+        }
+        return items;
+    }
+
+
+    private GithubRepository readRepository(JsonParser parser) throws IOException
+    {
+        GithubRepository.GithubRepositoryBuilder repository = GithubRepository.builder();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (value == JsonToken.VALUE_NULL)
+            {
+                continue;
+            }
+
+            switch (field)
+            {
+                case "id" -> repository.id(parser.getValueAsLong());
+                case "name" -> repository.name(parser.getText());
+                case "full_name" -> repository.fullName(parser.getText());
+                case "description" -> repository.description(parser.getText());
+                case "html_url" -> repository.htmlUrl(parser.getText());
+                case "language" -> repository.language(parser.getText());
+                case "stargazers_count" -> repository.stargazersCount(parser.getValueAsInt());
+                case "forks_count" -> repository.forksCount(parser.getValueAsInt());
+                case "watchers_count" -> repository.watchersCount(parser.getValueAsInt());
+                case "open_issues_count" -> repository.openIssuesCount(parser.getValueAsInt());
+                case "created_at" -> repository.createdAtEpochSecond(readEpochSecond(parser));
+                case "updated_at" -> repository.updatedAtEpochSecond(readEpochSecond(parser));
+                case "pushed_at" -> repository.pushedAtEpochSecond(readEpochSecond(parser));
+                default -> parser.skipChildren(); // owner, license, topics, *_url and the rest are never scored
+            }
+        }
+
+        return repository.build();
+    }
+
+
+    static long readEpochSecond(JsonParser parser) throws IOException
+    {
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+
+        if (length == ISO_INSTANT_LENGTH && text[offset + 19] == 'Z')
+        {
+            return parseIsoInstant(text, offset);
+        }
+        return OffsetDateTime.parse(parser.getText()).toEpochSecond();
+    }
+
+
+    private static long parseIsoInstant(char[] text, int offset)
+    {
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = digits(text, offset + 17, 2);
+
+        return daysFromCivil(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+    }
+
+
+    private static int digits(char[] text, int offset, int count)
+    {
+        int value = 0;
+        for (int i = 0; i < count; i++)
+        {
+            char c = text[offset + i];
+            if (c < '0' || c > '9')
+            {
+                throw new IllegalArgumentException("Malformed timestamp: " + new String(text, offset, count));
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+
+    // Howard Hinnant's days_from_civil: days since 1970-01-01 for a proleptic Gregorian date
+    private static long daysFromCivil(int year, int month, int day)
+    {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ajith.reposcorer.client;
+
+public record GithubToken(String value, RateLimitState state)
+{
+    public static GithubToken anonymous()
+    {
+        return new GithubToken(null, new RateLimitState());
+    }
+
+
+    public boolean isAnonymous()
+    {
+        return value == null;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return isAnonymous() ? "GithubToken[anonymous]" : "GithubToken[****" + value.substring(Math.max(0, value.length() - 4)) + "]";
+    }
+}
@@ -0,0 +1,107 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class GithubTokenPool
+{
+    private final List<GithubToken> tokens;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+
+    public GithubTokenPool(GithubProperties githubProperties)
+    {
+        Set<String> values = new LinkedHashSet<>();
+        if (githubProperties.getToken() != null && !githubProperties.getToken().isBlank())
+        {
+            values.add(githubProperties.getToken().trim());
+        }
+        for (String token : githubProperties.getTokens())
+        {
+            if (token != null && !token.isBlank())
+            {
+                values.add(token.trim());
+            }
+        }
+
+        this.tokens = values.isEmpty()
+            ? List.of(GithubToken.anonymous())
+            : values.stream().map(value -> new GithubToken(value, new RateLimitState())).toList();
+
+        log.info("GitHub token pool initialised with {} token(s)", values.size());
+    }
+
+
+    public GithubToken select()
+    {
+        long now = System.currentTimeMillis();
+        int size = tokens.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size); // rotate the starting point so ties spread out
+
+        GithubToken best = tokens.get(start);
+        for (int i = 1; i < size; i++)
+        {
+            GithubToken candidate = tokens.get((start + i) % size);
+            if (isBetter(candidate, best, now))
+            {
+                best = candidate;
+            }
+        }
+
+        best.state().reserve();
+        return best;
+    }
+
+
+    public List<GithubToken> tokens()
+    {
+        return tokens;
+    }
+
+
+    public int remainingQuota(long now)
+    {
+        // Unreported quota counts as unlimited, so the sum saturates rather than overflowing
+        return remainingQuota(now, Integer.MAX_VALUE);
+    }
+
+
+    public int remainingQuota(long now, int unreportedQuota)
+    {
+        // A token that has not yet seen rate-limit headers, or whose window has reset, counts as unreportedQuota
+        long remaining = 0;
+        for (GithubToken token : tokens)
+        {
+            if (!token.state().isBlocked(now))
+            {
+                int tokenRemaining = token.state().remaining(now);
+                remaining = Math.min(Integer.MAX_VALUE, remaining + (tokenRemaining == Integer.MAX_VALUE ? unreportedQuota : tokenRemaining));
+            }
+        }
+        return (int) remaining;
+    }
+
+
+    private boolean isBetter(GithubToken candidate, GithubToken current, long now)
+    {
+        boolean candidateBlocked = candidate.state().isBlocked(now);
+        boolean currentBlocked = current.state().isBlocked(now);
+
+        if (candidateBlocked != currentBlocked)
+        {
+            return !candidateBlocked;
+        }
+        if (candidateBlocked)
+        {
+            return candidate.state().blockedUntilMillis() < current.state().blockedUntilMillis();
+        }
+        return candidate.state().remaining(now) > current.state().remaining(now);
+    }
+}
@@ -0,0 +1,162 @@
+package com.ajith.reposcorer.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+@Slf4j
+public class RateLimitState
+{
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final int UNKNOWN = -1;
+
+    private final AtomicInteger remaining = new AtomicInteger(UNKNOWN);
+    private final AtomicLong resetAtMillis = new AtomicLong();
+    private final AtomicLong blockedUntilMillis = new AtomicLong();
+    private final AtomicLong nextSlotMillis = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+
+    public void update(int statusCode, HttpHeaders headers, long nowMillis)
+    {
+        Integer headerRemaining = parseInt(headers.getFirst(REMAINING_HEADER));
+        Long headerReset = parseLong(headers.getFirst(RESET_HEADER));
+        Long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+
+        if (headerReset != null)
+        {
+            resetAtMillis.set(headerReset * 1000);
+        }
+        if (headerRemaining != null)
+        {
+            remaining.set(headerRemaining);
+        }
+
+        if (retryAfter != null)
+        {
+            blockedUntilMillis.accumulateAndGet(nowMillis + retryAfter * 1000, Math::max);
+        }
+        else if ((statusCode == 403 || statusCode == 429) && remaining.get() == 0)
+        {
+            blockedUntilMillis.accumulateAndGet(resetAtMillis.get(), Math::max);
+        }
+
+        log.debug(
+            "Rate limit state: remaining={}, resetAt={}, blockedUntil={}",
+            remaining.get(),
+            resetAtMillis.get(),
+            blockedUntilMillis.get());
+    }
+
+
+    public void reserve()
+    {
+        // Counted against the quota until its response headers report the real figure
+        inFlight.incrementAndGet();
+    }
+
+
+    public void release()
+    {
+        inFlight.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+
+    public long pacingIntervalMillis(long nowMillis, int burstReserve)
+    {
+        int available = remaining(nowMillis);
+        long untilReset = resetAtMillis.get() - nowMillis;
+
+        // Token bucket: while the quota covers every call in flight plus the reserve, calls go out at once
+        if (available == Integer.MAX_VALUE || available > burstReserve || untilReset <= 0)
+        {
+            return 0;
+        }
+        if (available == 0)
+        {
+            return untilReset;
+        }
+
+        // Only the last few calls of the window are spread evenly, keeping one in hand for the reset boundary
+        return untilReset / (available + 1);
+    }
+
+
+    public long blockedUntilMillis()
+    {
+        return blockedUntilMillis.get();
+    }
+
+
+    public boolean isBlocked(long nowMillis)
+    {
+        return blockedUntilMillis.get() > nowMillis;
+    }
+
+
+    public int remaining(long nowMillis)
+    {
+        int currentRemaining = remaining.get();
+        if (currentRemaining == UNKNOWN || nowMillis >= resetAtMillis.get())
+        {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(0, currentRemaining - inFlight.get());
+    }
+
+
+    static Long retryAfterMillis(HttpHeaders headers, long nowMillis)
+    {
+        if (headers == null)
+        {
+            return null;
+        }
+
+        Long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (retryAfter != null)
+        {
+            return retryAfter * 1000;
+        }
+
+        Integer headerRemaining = parseInt(headers.getFirst(REMAINING_HEADER));
+        Long headerReset = parseLong(headers.getFirst(RESET_HEADER));
+        if (headerRemaining != null && headerRemaining == 0 && headerReset != null)
+        {
+            return Math.max(0, headerReset * 1000 - nowMillis);
+        }
+        return null;
+    }
+
+
+    AtomicLong nextSlotMillis()
+    {
+        return nextSlotMillis;
+    }
+
+
+    private static Integer parseInt(String value)
+    {
+        Long parsed = parseLong(value);
+        return parsed != null ? parsed.intValue() : null;
+    }
+
+
+    private static Long parseLong(String value)
+    {
+        if (value == null || value.isBlank())
+        {
+            return null;
+        }
+        try
+        {
+            return Long.parseLong(value.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.cache.FrequencySketch;
+import com.ajith.reposcorer.properties.CachingProperties;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_PER_PAGE;
+
+@Component
+@Slf4j
+public class RefreshAheadScheduler implements DisposableBean
+{
+    private final CacheManager cacheManager;
+    private final GithubTokenPool githubTokenPool;
+    private final CachingProperties cachingProperties;
+    private final FrequencySketch sketch;
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("refresh-ahead").factory());
+    private final Counter refreshed;
+    private final Counter failed;
+    private final Counter deferred;
+
+
+    public RefreshAheadScheduler(
+        CacheManager cacheManager,
+        GithubTokenPool githubTokenPool,
+        CachingProperties cachingProperties,
+        MeterRegistry meterRegistry)
+    {
+        this.cacheManager = cacheManager;
+        this.githubTokenPool = githubTokenPool;
+        this.cachingProperties = cachingProperties;
+        this.sketch = new FrequencySketch(cachingProperties.getRefreshAheadSketchWidth());
+        this.refreshed = refreshes(meterRegistry, "refreshed");
+        this.failed = refreshes(meterRegistry, "failed");
+        this.deferred = refreshes(meterRegistry, "deferred");
+
+        if (cachingProperties.getRefreshAheadEnabled())
+        {
+            long interval = cachingProperties.getRefreshAheadInterval();
+            scheduler.scheduleWithFixedDelay(this::refreshSafely, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+
+    public void recordAccess(SearchKey key)
+    {
+        sketch.increment(key);
+    }
+
+
+    public List<SearchKey> hottestKeys(int limit)
+    {
+        Cache cache = cacheManager.getCache(SearchResultCache.CACHE_NAME);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> entries))
+        {
+            return List.of();
+        }
+        // Each key's frequency is read once up front; the sketch keeps counting meanwhile, and a sort over live counts
+        // would both probe it on every comparison and see an inconsistent ordering
+        return entries.asMap().keySet().stream()
+            .filter(SearchKey.class::isInstance)
+            .map(key -> new Candidate((SearchKey) key, sketch.frequency(key)))
+            .sorted(Comparator.comparingInt(Candidate::frequency).reversed())
+            .limit(limit)
+            .map(Candidate::key)
+            .toList();
+    }
+
+
+    @Override
+    public void destroy()
+    {
+        scheduler.shutdownNow();
+    }
+
+
+    void refreshExpiringEntries()
+    {
+        Cache cache = cacheManager.getCache(SearchResultCache.CACHE_NAME);
+        if (cache == null || !(cache.getNativeCache() instanceof LoadingCache<?, ?> loadingCache))
+        {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        LoadingCache<Object, Object> entries = (LoadingCache<Object, Object>) loadingCache;
+        Optional<Policy.FixedExpiration<Object, Object>> expiration = entries.policy().expireAfterWrite();
+        if (expiration.isEmpty())
+        {
+            return;
+        }
+
+        List<Candidate> candidates = expiringHotKeys(entries, expiration.get());
+        int budget = quotaBudget();
+        int started = 0;
+
+        for (Candidate candidate : candidates)
+        {
+            int cost = (candidate.key().maxResults() + MAX_PER_PAGE - 1) / MAX_PER_PAGE;
+            if (started >= cachingProperties.getRefreshAheadMaxPerCycle() || cost > budget)
+            {
+                deferred.increment(candidates.size() - started);
+                log.debug("Deferred {} refresh-ahead candidates (remaining quota budget {})", candidates.size() - started, budget);
+                break;
+            }
+
+            budget -= cost;
+            started++;
+            log.debug("Refreshing {} ahead of expiry (frequency {})", candidate.key(), candidate.frequency());
+            entries.refresh(candidate.key()).whenComplete((value, error) -> {
+                if (error != null)
+                {
+                    failed.increment();
+                    log.warn("Refresh-ahead of {} failed: {}", candidate.key(), error.getMessage());
+                }
+                else
+                {
+                    refreshed.increment();
+                }
+            });
+        }
+    }
+
+
+    private List<Candidate> expiringHotKeys(LoadingCache<Object, Object> entries, Policy.FixedExpiration<Object, Object> expiration)
+    {
+        long timeToLive = expiration.getExpiresAfter(TimeUnit.MILLISECONDS);
+        long window = cachingProperties.getRefreshAheadWindow();
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Object key : entries.asMap().keySet())
+        {
+            if (key instanceof SearchKey searchKey)
+            {
+                long age = expiration.ageOf(key).map(Duration::toMillis).orElse(0L);
+                int frequency = sketch.frequency(key);
+                if (timeToLive - age <= window && frequency >= cachingProperties.getRefreshAheadMinFrequency())
+                {
+                    candidates.add(new Candidate(searchKey, frequency));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingInt(Candidate::frequency).reversed());
+        return candidates;
+    }
+
+
+    private int quotaBudget()
+    {
+        // Refreshes only spend quota above the reserve kept back for live requests
+        int remaining = githubTokenPool.remainingQuota(System.currentTimeMillis());
+        return Math.max(0, remaining - cachingProperties.getRefreshAheadQuotaReserve());
+    }
+
+
+    private void refreshSafely()
+    {
+        try
+        {
+            refreshExpiringEntries();
+        }
+        catch (RuntimeException e)
+        {
+            log.warn("Refresh-ahead cycle failed", e);
+        }
+    }
+
+
+    private static Counter refreshes(MeterRegistry meterRegistry, String outcome)
+    {
+        return Counter.builder("github.search.refresh.ahead")
+            .description("Hot search entries refreshed before expiry, or deferred by the per-cycle or quota cap")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+
+    private record Candidate(SearchKey key, int frequency)
+    {
+    }
+}
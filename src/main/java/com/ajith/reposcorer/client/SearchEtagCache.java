@@ -0,0 +1,49 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchEtagCache
+{
+    public static final String CACHE_NAME = "githubSearchValidators";
+
+    private final CacheManager cacheManager;
+
+
+    public ValidatedPage find(String uri)
+    {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        return cache != null ? cache.get(uri, ValidatedPage.class) : null;
+    }
+
+
+    public void store(String uri, String etag, GithubSearchResponse response)
+    {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null && etag != null)
+        {
+            cache.put(uri, new ValidatedPage(etag, response, Instant.now()));
+        }
+    }
+
+
+    public GithubSearchResponse revalidated(String uri, ValidatedPage page)
+    {
+        log.info("GitHub API returned 304 Not Modified; reusing cached page for {}", uri);
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null)
+        {
+            cache.put(uri, page.revalidated(Instant.now()));
+        }
+        return page.response();
+    }
+}
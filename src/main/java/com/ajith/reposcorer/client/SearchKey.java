@@ -0,0 +1,12 @@
+package com.ajith.reposcorer.client;
+
+import java.time.LocalDate;
+
+public record SearchKey(String language, LocalDate createdAfter, Integer maxResults)
+{
+    @Override
+    public String toString()
+    {
+        return language + '-' + createdAfter + '-' + maxResults;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.cache.CacheKeyIndex;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SearchKeyIndex implements CacheKeyIndex
+{
+    // Cached result sizes per (language, createdAfter); a hint only, since every probe still reads the cache itself
+    private final ConcurrentMap<Scope, NavigableSet<Integer>> sizes = new ConcurrentHashMap<>();
+
+
+    @Override
+    public void add(Object key)
+    {
+        if (key instanceof SearchKey searchKey && !sizes(searchKey.language(), searchKey.createdAfter()).contains(searchKey.maxResults()))
+        {
+            // Most adds come from cache hits on keys already indexed, which skip the map's lock
+            sizes.compute(Scope.of(searchKey), (scope, cached) -> {
+                NavigableSet<Integer> updated = cached != null ? cached : new ConcurrentSkipListSet<>();
+                updated.add(searchKey.maxResults());
+                return updated;
+            });
+        }
+    }
+
+
+    @Override
+    public void remove(Object key)
+    {
+        if (key instanceof SearchKey searchKey)
+        {
+            // Both sides update under the map's lock for the scope, so an add never lands in a discarded set
+            sizes.computeIfPresent(Scope.of(searchKey), (scope, cached) -> {
+                cached.remove(searchKey.maxResults());
+                return cached.isEmpty() ? null : cached;
+            });
+        }
+    }
+
+
+    @Override
+    public void clear()
+    {
+        sizes.clear();
+    }
+
+
+    public NavigableSet<Integer> sizes(String language, LocalDate createdAfter)
+    {
+        return sizes.getOrDefault(new Scope(language, createdAfter), Collections.emptyNavigableSet());
+    }
+
+
+    private record Scope(String language, LocalDate createdAfter)
+    {
+        static Scope of(SearchKey key)
+        {
+            return new Scope(key.language(), key.createdAfter());
+        }
+    }
+}
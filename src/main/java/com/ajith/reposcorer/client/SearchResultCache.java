@@ -0,0 +1,230 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_PER_PAGE;
+import static com.ajith.reposcorer.client.GithubApiClient.MAX_SEARCH_RESULTS;
+
+@Component
+@Slf4j
+public class SearchResultCache
+{
+    public static final String CACHE_NAME = "githubSearches";
+
+    private final GithubSearchClient githubSearchClient;
+    private final CacheManager cacheManager;
+    private final RefreshAheadScheduler refreshAheadScheduler;
+    private final SearchKeyIndex searchKeyIndex;
+    private final Counter hits;
+    private final Counter misses;
+
+
+    public SearchResultCache(
+        GithubSearchClient githubSearchClient,
+        CacheManager cacheManager,
+        RefreshAheadScheduler refreshAheadScheduler,
+        SearchKeyIndex searchKeyIndex,
+        MeterRegistry meterRegistry)
+    {
+        this.githubSearchClient = githubSearchClient;
+        this.cacheManager = cacheManager;
+        this.refreshAheadScheduler = refreshAheadScheduler;
+        this.searchKeyIndex = searchKeyIndex;
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+
+    public GithubSearchResponse search(String language, LocalDate createdAfter, Integer maxResults)
+    {
+        String normalizedLanguage = normalizeLanguage(language);
+        int resultLimit = Math.min(maxResults, MAX_SEARCH_RESULTS);
+
+        CachedResult superset = findSuperset(normalizedLanguage, createdAfter, resultLimit);
+        if (superset != null)
+        {
+            hits.increment();
+            refreshAheadScheduler.recordAccess(superset.key());
+            return prefix(superset.response(), resultLimit);
+        }
+
+        misses.increment();
+        int fetchSize = fetchSize(resultLimit);
+        refreshAheadScheduler.recordAccess(new SearchKey(normalizedLanguage, createdAfter, fetchSize));
+        return prefix(githubSearchClient.searchRepositories(normalizedLanguage, createdAfter, fetchSize), resultLimit);
+    }
+
+
+    public GithubSearchResponse search(
+        String language,
+        LocalDate createdAfter,
+        Integer maxResults,
+        Consumer<List<GithubRepository>> onPage)
+    {
+        String normalizedLanguage = normalizeLanguage(language);
+        int resultLimit = Math.min(maxResults, MAX_SEARCH_RESULTS);
+
+        CachedResult superset = findSuperset(normalizedLanguage, createdAfter, resultLimit);
+        if (superset != null)
+        {
+            hits.increment();
+            refreshAheadScheduler.recordAccess(superset.key());
+            GithubSearchResponse response = prefix(superset.response(), resultLimit);
+            onPage.accept(response.getItems());
+            return response;
+        }
+
+        // Fetched page by page rather than through the cached client, since each caller needs its own callbacks;
+        // the whole result is cached afterwards exactly as a plain search would cache it
+        misses.increment();
+        SearchKey key = new SearchKey(normalizedLanguage, createdAfter, fetchSize(resultLimit));
+        refreshAheadScheduler.recordAccess(key);
+        AtomicInteger handedOn = new AtomicInteger();
+        GithubSearchResponse fetched = githubSearchClient.fetchRepositories(
+            normalizedLanguage, createdAfter, key.maxResults(), page -> {
+                int kept = Math.min(page.size(), resultLimit - handedOn.get());
+                if (kept > 0)
+                {
+                    handedOn.addAndGet(kept);
+                    onPage.accept(page.subList(0, kept));
+                }
+            });
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null)
+        {
+            cache.put(key, fetched);
+        }
+        return prefix(fetched, resultLimit);
+    }
+
+
+    public void recordAccess(String language, LocalDate createdAfter, Integer maxResults)
+    {
+        // For requests answered before reaching this cache, so their search stays hot for refresh-ahead
+        String normalizedLanguage = normalizeLanguage(language);
+        int resultLimit = Math.min(maxResults, MAX_SEARCH_RESULTS);
+        CachedResult superset = findSuperset(normalizedLanguage, createdAfter, resultLimit);
+        refreshAheadScheduler.recordAccess(
+            superset != null ? superset.key() : new SearchKey(normalizedLanguage, createdAfter, fetchSize(resultLimit)));
+    }
+
+
+    public Optional<GithubSearchResponse> peek(String language, LocalDate createdAfter, Integer maxResults)
+    {
+        // Cached results only: never loads, so callers can re-rank without spending quota.
+        // The superset itself is returned, untrimmed, so columns gathered for it stay reusable; callers score its prefix
+        int resultLimit = Math.min(maxResults, MAX_SEARCH_RESULTS);
+        CachedResult superset = findSuperset(normalizeLanguage(language), createdAfter, resultLimit);
+        if (superset == null)
+        {
+            return Optional.empty();
+        }
+        hits.increment();
+        refreshAheadScheduler.recordAccess(superset.key());
+        return Optional.of(superset.response());
+    }
+
+
+    public static String normalizeLanguage(String language)
+    {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+
+
+    private CachedResult findSuperset(String language, LocalDate createdAfter, int resultLimit)
+    {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache))
+        {
+            return null;
+        }
+
+        // Peeks without loading; results are sorted by stars, so any larger or complete result holds the answer as a prefix.
+        // Only the sizes cached for this language and date are probed, and asMap().get neither blocks on a load nor counts as a hit
+        Map<?, ?> entries = nativeCache.asMap();
+        CachedResult best = null;
+        for (Integer maxResults : searchKeyIndex.sizes(language, createdAfter))
+        {
+            SearchKey key = new SearchKey(language, createdAfter, maxResults);
+            if (entries.get(key) instanceof GithubSearchResponse response
+                && covers(key, response, resultLimit)
+                && (best == null || size(response) < size(best.response())))
+            {
+                best = new CachedResult(key, response);
+            }
+        }
+
+        if (best != null)
+        {
+            log.debug("Serving {} results for {} created after {} from a cached superset", resultLimit, language, createdAfter);
+        }
+        return best;
+    }
+
+
+    private static boolean covers(SearchKey key, GithubSearchResponse response, int resultLimit)
+    {
+        if (response.getItems() == null || Boolean.TRUE.equals(response.getIncompleteResults()))
+        {
+            return false;
+        }
+        boolean holdsEverything = response.getTotalCount() != null && size(response) >= response.getTotalCount();
+        return key.maxResults() >= resultLimit || holdsEverything;
+    }
+
+
+    private static int fetchSize(int resultLimit)
+    {
+        // A page costs one call whatever its size, so misses fetch whole pages to serve later, smaller requests
+        return Math.min(MAX_SEARCH_RESULTS, (resultLimit + MAX_PER_PAGE - 1) / MAX_PER_PAGE * MAX_PER_PAGE);
+    }
+
+
+    private static GithubSearchResponse prefix(GithubSearchResponse response, int resultLimit)
+    {
+        List<GithubRepository> items = response.getItems();
+        if (items == null || items.size() <= resultLimit)
+        {
+            return response;
+        }
+        return new GithubSearchResponse(
+            response.getTotalCount(),
+            response.getIncompleteResults(),
+            List.copyOf(items.subList(0, resultLimit)));
+    }
+
+
+    private static int size(GithubSearchResponse response)
+    {
+        return response.getItems().size();
+    }
+
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome)
+    {
+        return Counter.builder("github.search.lookups")
+            .description("Search lookups answered from a cached result, exact or superset, versus sent on to the client")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+
+    private record CachedResult(SearchKey key, GithubSearchResponse response)
+    {
+    }
+}
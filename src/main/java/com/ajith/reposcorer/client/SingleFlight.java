@@ -0,0 +1,93 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class SingleFlight
+{
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+
+    public SingleFlight(MeterRegistry meterRegistry)
+    {
+        this.executed = Counter.builder("github.search.singleflight")
+            .tag("outcome", "executed")
+            .description("Search fetches that went to GitHub")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("github.search.singleflight")
+            .tag("outcome", "coalesced")
+            .description("Search fetches that joined an identical in-flight fetch instead of calling GitHub")
+            .register(meterRegistry);
+        Gauge.builder("github.search.singleflight.inflight", inFlight, Map::size)
+            .description("Distinct search fetches currently in flight")
+            .register(meterRegistry);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader)
+    {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null)
+        {
+            coalesced.increment();
+            log.debug("Joining in-flight GitHub fetch for {}", key);
+            return (T) await(existing);
+        }
+
+        executed.increment();
+        try
+        {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        }
+        catch (Throwable e)
+        {
+            // Errors too: an uncompleted future would leave every joined caller blocked forever
+            call.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            inFlight.remove(key, call);
+        }
+    }
+
+
+    private Object await(CompletableFuture<Object> call)
+    {
+        try
+        {
+            return call.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+            {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error)
+            {
+                throw error;
+            }
+            throw new GithubApiException("Failed to search repositories: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
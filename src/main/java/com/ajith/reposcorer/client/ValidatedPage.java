@@ -0,0 +1,12 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import java.time.Instant;
+
+public record ValidatedPage(String etag, GithubSearchResponse response, Instant fetchedAt)
+{
+    public ValidatedPage revalidated(Instant now)
+    {
+        return new ValidatedPage(etag, response, now);
+    }
+}
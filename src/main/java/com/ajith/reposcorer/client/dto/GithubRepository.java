@@ -1,51 +1,93 @@
 package com.ajith.reposcorer.client.dto;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
-import lombok.AllArgsConstructor;
+import java.time.ZoneOffset;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class GithubRepository
 {
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
 
-    private Long id;
+    long id;
 
-    private String name;
+    String name;
 
-    @JsonProperty("full_name")
-    private String fullName;
+    String fullName;
 
-    private String description;
+    String description;
 
-    @JsonProperty("html_url")
-    private String htmlUrl;
+    String htmlUrl;
 
-    @JsonProperty("stargazers_count")
-    private Integer stargazersCount;
+    int stargazersCount;
 
-    @JsonProperty("forks_count")
-    private Integer forksCount;
+    int forksCount;
 
-    @JsonProperty("watchers_count")
-    private Integer watchersCount;
+    int watchersCount;
 
-    @JsonProperty("open_issues_count")
-    private Integer openIssuesCount;
+    int openIssuesCount;
 
-    @JsonProperty("created_at")
-    private LocalDateTime createdAt;
+    @Builder.Default
+    long createdAtEpochSecond = NO_TIMESTAMP;
 
-    @JsonProperty("updated_at")
-    private LocalDateTime updatedAt;
+    @Builder.Default
+    long updatedAtEpochSecond = NO_TIMESTAMP;
 
-    @JsonProperty("pushed_at")
-    private LocalDateTime pushedAt;
+    @Builder.Default
+    long pushedAtEpochSecond = NO_TIMESTAMP;
 
-    private String language;
+    String language;
+
+
+    public LocalDateTime getCreatedAt()
+    {
+        return toDateTime(createdAtEpochSecond);
+    }
+
+
+    public LocalDateTime getUpdatedAt()
+    {
+        return toDateTime(updatedAtEpochSecond);
+    }
+
+
+    public LocalDateTime getPushedAt()
+    {
+        return toDateTime(pushedAtEpochSecond);
+    }
+
+
+    private static LocalDateTime toDateTime(long epochSecond)
+    {
+        return epochSecond == NO_TIMESTAMP ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+
+    private static long toEpochSecond(LocalDateTime dateTime)
+    {
+        return dateTime == null ? NO_TIMESTAMP : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+
+    public static class GithubRepositoryBuilder
+    {
+        public GithubRepositoryBuilder createdAt(LocalDateTime createdAt)
+        {
+            return createdAtEpochSecond(toEpochSecond(createdAt));
+        }
+
+
+        public GithubRepositoryBuilder updatedAt(LocalDateTime updatedAt)
+        {
+            return updatedAtEpochSecond(toEpochSecond(updatedAt));
+        }
+
+
+        public GithubRepositoryBuilder pushedAt(LocalDateTime pushedAt)
+        {
+            return pushedAtEpochSecond(toEpochSecond(pushedAt));
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.ajith.reposcorer.client.dto;
+
+import java.util.List;
+
+public record GraphQlSearchResponse(Data data, List<Error> errors)
+{
+    public record Data(Search search)
+    {
+    }
+
+    public record Search(int repositoryCount, PageInfo pageInfo, List<Node> nodes)
+    {
+    }
+
+    public record PageInfo(boolean hasNextPage, String endCursor)
+    {
+    }
+
+    public record Node(
+        Long databaseId,
+        String name,
+        String nameWithOwner,
+        String description,
+        String url,
+        int stargazerCount,
+        int forkCount,
+        Count issues,
+        Count pullRequests,
+        String createdAt,
+        String updatedAt,
+        String pushedAt)
+    {
+    }
+
+    public record Count(int totalCount)
+    {
+    }
+
+    public record Error(String type, String message)
+    {
+    }
+}
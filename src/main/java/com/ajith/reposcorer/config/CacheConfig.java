@@ -0,0 +1,342 @@
+package com.ajith.reposcorer.config;
+
+import com.ajith.reposcorer.cache.CacheKeyIndex;
+import com.ajith.reposcorer.cache.CacheValueCodec;
+import com.ajith.reposcorer.cache.DiskCacheTier;
+import com.ajith.reposcorer.cache.EmbeddedRespServer;
+import com.ajith.reposcorer.cache.IndexedCache;
+import com.ajith.reposcorer.cache.LocalKeyIndex;
+import com.ajith.reposcorer.cache.PersistentCache;
+import com.ajith.reposcorer.cache.PersistentCacheLoader;
+import com.ajith.reposcorer.cache.RemoteCacheClient;
+import com.ajith.reposcorer.cache.RemoteCacheTier;
+import com.ajith.reposcorer.cache.RemoteInvalidationSubscriber;
+import com.ajith.reposcorer.cache.SegmentStore;
+import com.ajith.reposcorer.cache.SharedCacheLoader;
+import com.ajith.reposcorer.cache.TwoTierCache;
+import com.ajith.reposcorer.client.GithubSearchClient;
+import com.ajith.reposcorer.client.SearchKey;
+import com.ajith.reposcorer.client.SearchKeyIndex;
+import com.ajith.reposcorer.client.SearchResultCache;
+import com.ajith.reposcorer.client.ValidatedPage;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.ajith.reposcorer.dto.RepositoryScoringResponse;
+import com.ajith.reposcorer.properties.CachingProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class CacheConfig implements DisposableBean
+{
+    private final CachingProperties cachingProperties;
+
+    private final Executor refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, DiskCacheTier> diskTiers = new ConcurrentHashMap<>();
+    private final Map<String, RemoteCacheTier> remoteTiers = new ConcurrentHashMap<>();
+    private final Map<String, TwoTierCache> sharedCaches = new ConcurrentHashMap<>();
+    private final Map<String, LocalKeyIndex> localKeyIndexes = new ConcurrentHashMap<>();
+    private final Map<String, List<CacheKeyIndex>> keyIndexes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService compactionScheduler =
+        Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("cache-compaction").factory());
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private EmbeddedRespServer embeddedServer;
+    private RemoteCacheClient remoteClient;
+    private RemoteInvalidationSubscriber invalidationSubscriber;
+
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<GithubSearchClient> githubSearchClient, SearchKeyIndex searchKeyIndex)
+    {
+        // Only caches with a loader can refresh; the others simply expire
+        Map<String, CacheLoader<Object, Object>> loaders = Map.of(
+            "githubSearches", key -> {
+                SearchKey searchKey = (SearchKey) key;
+                return githubSearchClient.getObject()
+                    .fetchRepositories(searchKey.language(), searchKey.createdAfter(), searchKey.maxResults());
+            });
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager()
+        {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache)
+            {
+                return withTiers(name, indexed(name, super.adaptCaffeineCache(name, cache)));
+            }
+
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache)
+            {
+                return withTiers(name, indexed(name, super.adaptCaffeineCache(name, cache)));
+            }
+        };
+        cacheManager.setCaffeine(caffeine(cachingProperties.getDefaults(), false));
+
+        if (cachingProperties.getRemoteEnabled())
+        {
+            startRemoteTier();
+        }
+
+        cachingProperties.getCaches().keySet().forEach(cacheName -> {
+            CachingProperties.CacheSpec spec = cachingProperties.specFor(cacheName);
+            CacheLoader<Object, Object> loader = loaders.get(cacheName);
+
+            // Loads check the disk first, then the remote tier, then the source
+            if (Boolean.TRUE.equals(spec.getShared()) && remoteClient != null)
+            {
+                RemoteCacheTier remoteTier = remoteTier(cacheName, spec);
+                remoteTiers.put(cacheName, remoteTier);
+                long freshness = spec.getRefreshAfterWrite() != null ? spec.getRefreshAfterWrite() : 0;
+                loader = loader != null ? new SharedCacheLoader(loader, remoteTier, freshness) : null;
+            }
+            if (Boolean.TRUE.equals(spec.getPersistent()))
+            {
+                DiskCacheTier diskTier = diskTier(cacheName, spec);
+                diskTiers.put(cacheName, diskTier);
+                loader = loader != null ? new PersistentCacheLoader(loader, diskTier) : null;
+            }
+
+            List<CacheKeyIndex> indexes = new ArrayList<>();
+            if (SearchResultCache.CACHE_NAME.equals(cacheName))
+            {
+                indexes.add(searchKeyIndex);
+            }
+            if (remoteTiers.containsKey(cacheName))
+            {
+                LocalKeyIndex localKeys = new LocalKeyIndex();
+                localKeyIndexes.put(cacheName, localKeys);
+                indexes.add(localKeys);
+            }
+            keyIndexes.put(cacheName, List.copyOf(indexes));
+
+            Caffeine<Object, Object> caffeine = caffeine(spec, loader != null);
+            if (!indexes.isEmpty())
+            {
+                // Runs inside the eviction itself, so the key is unindexed before the same key can be written again
+                caffeine.evictionListener((key, value, cause) -> indexes.forEach(index -> index.remove(key)));
+            }
+
+            if (loader != null)
+            {
+                // Async so loads run outside Caffeine's map lock; a virtual thread blocking there would pin its carrier
+                cacheManager.registerCustomCache(cacheName, caffeine.buildAsync(loader));
+            }
+            else
+            {
+                if (spec.getRefreshAfterWrite() != null)
+                {
+                    log.warn("Cache {} has no loader; ignoring refresh-after-write", cacheName);
+                }
+                cacheManager.registerCustomCache(cacheName, caffeine.build());
+            }
+
+            log.info(
+                "Cache {}: maximum size {}, maximum weight {}, expire after write {} ms, refresh after write {} ms, persistent {}, shared {}",
+                cacheName,
+                spec.getMaximumSize(),
+                spec.getMaximumWeight(),
+                spec.getExpireAfterWrite(),
+                loader != null ? spec.getRefreshAfterWrite() : null,
+                diskTiers.containsKey(cacheName),
+                remoteTiers.containsKey(cacheName));
+        });
+
+        if (!diskTiers.isEmpty())
+        {
+            long interval = cachingProperties.getDiskCompactionInterval();
+            compactionScheduler.scheduleWithFixedDelay(this::compactDiskTiers, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        return cacheManager;
+    }
+
+
+    @Override
+    public void destroy() throws IOException
+    {
+        compactionScheduler.shutdownNow();
+        diskTiers.values().forEach(DiskCacheTier::close);
+        if (invalidationSubscriber != null)
+        {
+            invalidationSubscriber.close();
+        }
+        if (remoteClient != null)
+        {
+            remoteClient.close();
+        }
+        if (embeddedServer != null)
+        {
+            embeddedServer.close();
+        }
+    }
+
+
+    private void startRemoteTier()
+    {
+        String host = cachingProperties.getRemoteHost();
+        int port = cachingProperties.getRemotePort();
+        if (cachingProperties.getRemoteEmbedded())
+        {
+            try
+            {
+                embeddedServer = new EmbeddedRespServer(port);
+                port = embeddedServer.port();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Could not start the embedded remote cache on port " + port, e);
+            }
+        }
+
+        remoteClient = new RemoteCacheClient(
+            host,
+            port,
+            cachingProperties.getRemoteTimeout(),
+            cachingProperties.getRemoteRetryInterval(),
+            cachingProperties.getRemotePoolSize());
+        invalidationSubscriber = new RemoteInvalidationSubscriber(
+            host,
+            port,
+            cachingProperties.getRemoteTimeout(),
+            cachingProperties.getRemoteRetryInterval(),
+            RemoteCacheTier.invalidationChannel(cachingProperties.getRemoteKeyPrefix()),
+            instanceId,
+            sharedCaches);
+        log.info("Remote cache tier at {}:{} (instance {})", host, port, instanceId);
+    }
+
+
+    private RemoteCacheTier remoteTier(String cacheName, CachingProperties.CacheSpec spec)
+    {
+        return new RemoteCacheTier(
+            cacheName,
+            remoteClient,
+            new CacheValueCodec(),
+            cachingProperties.getRemoteKeyPrefix(),
+            instanceId,
+            spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite() : 0);
+    }
+
+
+    private DiskCacheTier diskTier(String cacheName, CachingProperties.CacheSpec spec)
+    {
+        SegmentStore store = new SegmentStore(
+            Path.of(cachingProperties.getDiskDirectory(), cacheName),
+            cachingProperties.getDiskSegmentSize(),
+            cachingProperties.getDiskMaxSegments(),
+            spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite() : 0);
+        return new DiskCacheTier(cacheName, store, new CacheValueCodec());
+    }
+
+
+    private Cache indexed(String cacheName, Cache cache)
+    {
+        // Innermost, so writes restored from the disk or remote tier are indexed too
+        Cache indexed = cache;
+        for (CacheKeyIndex index : keyIndexes.getOrDefault(cacheName, List.of()))
+        {
+            indexed = new IndexedCache(indexed, index);
+        }
+        return indexed;
+    }
+
+
+    private Cache withTiers(String cacheName, Cache cache)
+    {
+        DiskCacheTier diskTier = diskTiers.get(cacheName);
+        Cache tiered = diskTier != null ? new PersistentCache(cache, diskTier) : cache;
+
+        RemoteCacheTier remoteTier = remoteTiers.get(cacheName);
+        if (remoteTier == null)
+        {
+            return tiered;
+        }
+        TwoTierCache shared = new TwoTierCache(tiered, remoteTier, localKeyIndexes.get(cacheName));
+        sharedCaches.put(cacheName, shared);
+        return shared;
+    }
+
+
+    private void compactDiskTiers()
+    {
+        diskTiers.forEach((cacheName, diskTier) -> {
+            try
+            {
+                diskTier.compact();
+            }
+            catch (RuntimeException e)
+            {
+                log.warn("Compaction of the {} disk tier failed", cacheName, e);
+            }
+        });
+    }
+
+
+    private Caffeine<Object, Object> caffeine(CachingProperties.CacheSpec spec, boolean refreshable)
+    {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+            .executor(refreshExecutor)
+            .recordStats();
+
+        if (spec.getMaximumWeight() != null)
+        {
+            caffeine.maximumWeight(spec.getMaximumWeight()).weigher((key, value) -> weigh(value));
+        }
+        else if (spec.getMaximumSize() != null)
+        {
+            caffeine.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null)
+        {
+            caffeine.expireAfterWrite(Duration.ofMillis(spec.getExpireAfterWrite()));
+        }
+        if (refreshable && spec.getRefreshAfterWrite() != null)
+        {
+            caffeine.refreshAfterWrite(Duration.ofMillis(spec.getRefreshAfterWrite()));
+        }
+        return caffeine;
+    }
+
+
+    private static int weigh(Object value)
+    {
+        // Weighted by repositories held, the dominant share of an entry's heap
+        if (value instanceof RepositoryScoringResponse scored)
+        {
+            return scored.getRepositories() != null ? scored.getRepositories().size() + 1 : 1;
+        }
+        GithubSearchResponse response = switch (value)
+        {
+            case GithubSearchResponse searchResponse -> searchResponse;
+            case ValidatedPage page -> page.response();
+            default -> null;
+        };
+        return response != null && response.getItems() != null ? response.getItems().size() + 1 : 1;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ajith.reposcorer.config;
+
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+
+/**
+ * The JDK HttpClient creates one SSLEngine per TLS connection it opens, so counting engines gives the number of
+ * physical connections; comparing it with the request count shows how well keep-alive and HTTP/2 reuse them.
+ */
+final class ConnectionCountingSslContext extends SSLContext
+{
+
+    private ConnectionCountingSslContext(SSLContext delegate, Runnable onConnectionOpened)
+    {
+        super(new CountingSpi(delegate, onConnectionOpened), delegate.getProvider(), delegate.getProtocol());
+    }
+
+
+    static SSLContext wrapDefault(Runnable onConnectionOpened)
+    {
+        try
+        {
+            return new ConnectionCountingSslContext(SSLContext.getDefault(), onConnectionOpened);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("No default SSLContext available", e);
+        }
+    }
+
+
+    private static final class CountingSpi extends SSLContextSpi
+    {
+        private final SSLContext delegate;
+        private final Runnable onConnectionOpened;
+
+
+        private CountingSpi(SSLContext delegate, Runnable onConnectionOpened)
+        {
+            this.delegate = delegate;
+            this.onConnectionOpened = onConnectionOpened;
+        }
+
+
+        @Override
+        protected void engineInit(KeyManager[] km, TrustManager[] tm, SecureRandom sr) throws KeyManagementException
+        {
+            // The wrapped default context is already initialised
+        }
+
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory()
+        {
+            return delegate.getSocketFactory();
+        }
+
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory()
+        {
+            return delegate.getServerSocketFactory();
+        }
+
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine()
+        {
+            onConnectionOpened.run();
+            return delegate.createSSLEngine();
+        }
+
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(String host, int port)
+        {
+            onConnectionOpened.run();
+            return delegate.createSSLEngine(host, port);
+        }
+
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext()
+        {
+            return delegate.getServerSessionContext();
+        }
+
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext()
+        {
+            return delegate.getClientSessionContext();
+        }
+
+
+        @Override
+        protected SSLParameters engineGetDefaultSSLParameters()
+        {
+            return delegate.getDefaultSSLParameters();
+        }
+
+
+        @Override
+        protected SSLParameters engineGetSupportedSSLParameters()
+        {
+            return delegate.getSupportedSSLParameters();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ajith.reposcorer.config;
+
+import com.ajith.reposcorer.client.GithubSearchResponseReader;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import java.io.IOException;
+import java.time.DateTimeException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+public class GithubSearchResponseConverter extends AbstractHttpMessageConverter<GithubSearchResponse>
+{
+    private final GithubSearchResponseReader reader;
+
+
+    public GithubSearchResponseConverter(JsonFactory jsonFactory)
+    {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.reader = new GithubSearchResponseReader(jsonFactory);
+    }
+
+
+    @Override
+    protected boolean supports(Class<?> clazz)
+    {
+        return GithubSearchResponse.class == clazz;
+    }
+
+
+    @Override
+    protected boolean canWrite(MediaType mediaType)
+    {
+        return false;
+    }
+
+
+    @Override
+    protected GithubSearchResponse readInternal(Class<? extends GithubSearchResponse> clazz, HttpInputMessage inputMessage)
+        throws IOException, HttpMessageNotReadableException
+    {
+        try
+        {
+            return reader.read(inputMessage.getBody());
+        }
+        catch (IllegalArgumentException | DateTimeException e)
+        {
+            throw new HttpMessageNotReadableException("Malformed GitHub search response: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+
+    @Override
+    protected void writeInternal(GithubSearchResponse response, HttpOutputMessage outputMessage)
+        throws HttpMessageNotWritableException
+    {
+        throw new HttpMessageNotWritableException("GitHub search responses are read-only");
+    }
+}
@@ -0,0 +1,45 @@
+package com.ajith.reposcorer.config;
+
+import com.ajith.reposcorer.client.GithubRateLimiter;
+import com.ajith.reposcorer.client.GithubToken;
+import com.ajith.reposcorer.client.GithubTokenPool;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor
+{
+    private final GithubTokenPool tokenPool;
+    private final GithubRateLimiter rateLimiter;
+
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException
+    {
+        GithubToken token = tokenPool.select();
+        try
+        {
+            rateLimiter.acquire(token.state());
+
+            if (!token.isAnonymous())
+            {
+                request.getHeaders().setBearerAuth(token.value());
+            }
+
+            ClientHttpResponse response = execution.execute(request, body);
+            token.state().update(response.getStatusCode().value(), response.getHeaders(), System.currentTimeMillis());
+
+            return response;
+        }
+        finally
+        {
+            // The headers now count this call, or it never reached GitHub
+            token.state().release();
+        }
+    }
+}
@@ -1,33 +1,145 @@
 package com.ajith.reposcorer.config;
 
+import com.ajith.reposcorer.client.GithubRateLimiter;
+import com.ajith.reposcorer.client.GithubTokenPool;
+import com.ajith.reposcorer.config.transport.ExchangeRecordings;
+import com.ajith.reposcorer.config.transport.GithubSimulator;
+import com.ajith.reposcorer.config.transport.RecordingRequestFactory;
+import com.ajith.reposcorer.config.transport.ReplayRequestFactory;
 import com.ajith.reposcorer.properties.GithubProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 @Configuration
 @RequiredArgsConstructor
+@Slf4j
 public class RestClientConfig
 {
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEPALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String KEEPALIVE_H2_PROPERTY = "jdk.httpclient.keepalive.timeout.h2";
+
     private final GithubProperties githubProperties;
+    private final GithubTokenPool githubTokenPool;
+    private final GithubRateLimiter githubRateLimiter;
 
 
     @Bean
-    public RestClient githubRestClient(RestClient.Builder builder)
+    public RestClient githubRestClient(
+        RestClient.Builder builder,
+        ClientHttpRequestFactory githubRequestFactory,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry)
     {
-        var clientBuilder = builder
+        Counter requestsSent = Counter.builder("github.http.requests")
+            .description("Requests sent to the GitHub API")
+            .register(meterRegistry);
+
+        return builder
             .baseUrl(githubProperties.getApiUrl())
+            .requestFactory(githubRequestFactory)
+            .messageConverters(converters -> converters.addFirst(new GithubSearchResponseConverter(objectMapper.getFactory())))
             .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-            .defaultHeader(HttpHeaders.USER_AGENT, "Repo-Scorer");
+            .defaultHeader(HttpHeaders.USER_AGENT, "Repo-Scorer")
+            .requestInterceptor(new RateLimitInterceptor(githubTokenPool, githubRateLimiter))
+            .requestInterceptor((request, body, execution) -> {
+                requestsSent.increment();
+                return execution.execute(request, body);
+            })
+            .build();
+    }
+
 
-        if (githubProperties.getToken() != null && !githubProperties.getToken().isBlank())
+    @Bean
+    public ClientHttpRequestFactory githubRequestFactory(MeterRegistry meterRegistry, ObjectMapper objectMapper)
+    {
+        String transport = githubProperties.getTransport();
+        log.info("GitHub transport mode: {}", transport);
+
+        return switch (transport)
         {
-            clientBuilder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + githubProperties.getToken());
-        }
+            case "live" -> liveRequestFactory(meterRegistry);
+            case "record" -> new RecordingRequestFactory(liveRequestFactory(meterRegistry), recordings(objectMapper));
+            case "replay" -> new ReplayRequestFactory(recordings(objectMapper));
+            case "simulate" -> new GithubSimulator(githubProperties, objectMapper.getFactory());
+            default -> throw new IllegalStateException("Unknown github.transport: " + transport);
+        };
+    }
+
+
+    private ClientHttpRequestFactory liveRequestFactory(MeterRegistry meterRegistry)
+    {
+        configureConnectionPool();
+
+        Counter connectionsOpened = Counter.builder("github.http.connections.opened")
+            .description("TLS connections opened to the GitHub API; compare with github.http.requests for reuse")
+            .register(meterRegistry);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(githubProperties.getHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(githubProperties.getConnectTimeout()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .sslContext(ConnectionCountingSslContext.wrapDefault(connectionsOpened::increment))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(githubProperties.getReadTimeout()));
+
+        log.info(
+            "GitHub transport: {} with connect timeout {} ms, read timeout {} ms, pool size {}, idle timeout {} s",
+            httpClient.version(),
+            githubProperties.getConnectTimeout(),
+            githubProperties.getReadTimeout(),
+            System.getProperty(POOL_SIZE_PROPERTY),
+            System.getProperty(KEEPALIVE_PROPERTY));
 
-        return clientBuilder.build();
+        return requestFactory;
+    }
+
+
+    private ExchangeRecordings recordings(ObjectMapper objectMapper)
+    {
+        return new ExchangeRecordings(Path.of(githubProperties.getRecordingsDirectory()), objectMapper);
+    }
+
+
+    private void configureConnectionPool()
+    {
+        // The JDK client reads these JVM-wide properties once, when its connection pool class first loads, and applies
+        // them to every HttpClient in the process; set them via JAVA_TOOL_OPTIONS to be sure they are in effect
+        long idleTimeoutSeconds = Math.max(1, githubProperties.getConnectionIdleTimeout() / 1000);
+        setIfAbsent(POOL_SIZE_PROPERTY, String.valueOf(githubProperties.getConnectionPoolSize()));
+        setIfAbsent(KEEPALIVE_PROPERTY, String.valueOf(idleTimeoutSeconds));
+        setIfAbsent(KEEPALIVE_H2_PROPERTY, String.valueOf(idleTimeoutSeconds));
+    }
+
+
+    private void setIfAbsent(String key, String value)
+    {
+        String current = System.getProperty(key);
+        if (current == null)
+        {
+            System.setProperty(key, value);
+            log.debug("Set {}={}; ignored if an HttpClient already initialised its connection pool", key, value);
+        }
+        else if (!current.equals(value))
+        {
+            log.warn("{} is already set to {}, which takes precedence over the configured {}", key, current, value);
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.ajith.reposcorer.config;
+
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.ScalarScoringKernel;
+import com.ajith.reposcorer.service.ScoringKernel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class ScoringConfig
+{
+    static final String VECTOR_KERNEL_CLASS = "com.ajith.reposcorer.service.vector.VectorScoringKernel";
+
+
+    @Bean
+    public ScoringKernel scoringKernel(ScoringProperties scoringProperties)
+    {
+        return scoringProperties.getVectorized() ? loadKernel(VECTOR_KERNEL_CLASS) : new ScalarScoringKernel();
+    }
+
+
+    static ScoringKernel loadKernel(String className)
+    {
+        // The vector kernel is only compiled by the vector profile and needs jdk.incubator.vector at run time
+        try
+        {
+            ScoringKernel kernel = (ScoringKernel) Class.forName(className).getDeclaredConstructor().newInstance();
+            log.info("Scoring with the vectorized kernel");
+            return kernel;
+        }
+        catch (ReflectiveOperationException | LinkageError e)
+        {
+            log.info("Vector API unavailable ({}), scoring with the scalar kernel", e.getClass().getSimpleName());
+            return new ScalarScoringKernel();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ajith.reposcorer.config.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+public class BufferedClientHttpRequest extends AbstractClientHttpRequest
+{
+    private final HttpMethod method;
+    private final URI uri;
+    private final Handler handler;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+
+    public BufferedClientHttpRequest(HttpMethod method, URI uri, Handler handler)
+    {
+        this.method = method;
+        this.uri = uri;
+        this.handler = handler;
+    }
+
+
+    @Override
+    public HttpMethod getMethod()
+    {
+        return method;
+    }
+
+
+    @Override
+    public URI getURI()
+    {
+        return uri;
+    }
+
+
+    @Override
+    protected OutputStream getBodyInternal(HttpHeaders headers)
+    {
+        return body;
+    }
+
+
+    @Override
+    protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException
+    {
+        return handler.handle(this, body.toByteArray());
+    }
+
+
+    @FunctionalInterface
+    public interface Handler
+    {
+        ClientHttpResponse handle(BufferedClientHttpRequest request, byte[] body) throws IOException;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ajith.reposcorer.config.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+public class BufferedClientHttpResponse implements ClientHttpResponse
+{
+    private final HttpStatusCode statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+
+    public BufferedClientHttpResponse(HttpStatusCode statusCode, HttpHeaders headers, byte[] body)
+    {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+    }
+
+
+    @Override
+    public HttpStatusCode getStatusCode()
+    {
+        return statusCode;
+    }
+
+
+    @Override
+    public String getStatusText()
+    {
+        HttpStatus status = HttpStatus.resolve(statusCode.value());
+        return status != null ? status.getReasonPhrase() : "";
+    }
+
+
+    @Override
+    public HttpHeaders getHeaders()
+    {
+        return headers;
+    }
+
+
+    @Override
+    public InputStream getBody()
+    {
+        return new ByteArrayInputStream(body);
+    }
+
+
+    @Override
+    public void close()
+    {
+    }
+}
@@ -0,0 +1,68 @@
+package com.ajith.reposcorer.config.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+
+@RequiredArgsConstructor
+public class ExchangeRecordings
+{
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+
+    public Optional<RecordedExchange> load(HttpMethod method, URI uri, byte[] body) throws IOException
+    {
+        Path file = fileFor(method, uri, body);
+        if (!Files.exists(file))
+        {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.readValue(file.toFile(), RecordedExchange.class));
+    }
+
+
+    public void save(HttpMethod method, URI uri, byte[] body, RecordedExchange exchange) throws IOException
+    {
+        Files.createDirectories(directory);
+        Path file = fileFor(method, uri, body);
+
+        // Written to a sibling and moved so a concurrent replay never reads half a recording
+        Path partial = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(partial.toFile(), exchange);
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+    private Path fileFor(HttpMethod method, URI uri, byte[] body)
+    {
+        // Credentials are deliberately left out of the key so recordings replay under any token
+        MessageDigest digest = sha256();
+        digest.update((method.name() + ' ' + uri + '\n').getBytes(StandardCharsets.UTF_8));
+        digest.update(body);
+        return directory.resolve(HexFormat.of().formatHex(digest.digest()) + ".json");
+    }
+
+
+    private static MessageDigest sha256()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
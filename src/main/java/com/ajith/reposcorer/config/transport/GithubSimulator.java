@@ -0,0 +1,266 @@
+package com.ajith.reposcorer.config.transport;
+
+import com.ajith.reposcorer.properties.GithubProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@Slf4j
+public class GithubSimulator implements ClientHttpRequestFactory
+{
+    private static final String SEARCH_PATH = "/search/repositories";
+    private static final int MAX_SEARCH_RESULTS = 1000;
+    private static final double P99_Z_SCORE = 2.326;
+    private static final Pattern LANGUAGE = Pattern.compile("language:(\\S+)");
+    private static final Pattern CREATED_AFTER = Pattern.compile("created:>(\\d{4}-\\d{2}-\\d{2})");
+    private static final Pattern CREATED_BETWEEN = Pattern.compile("created:(\\d{4}-\\d{2}-\\d{2})\\.\\.(\\d{4}-\\d{2}-\\d{2})");
+
+    private final SyntheticCorpus corpus;
+    private final JsonFactory jsonFactory;
+    private final double latencyMedianMillis;
+    private final double latencySigma;
+    private final double errorRate;
+    private final int rateLimit;
+    private final long rateLimitWindowMillis;
+    private final Map<String, QuotaWindow> quotas = new ConcurrentHashMap<>();
+
+
+    public GithubSimulator(GithubProperties githubProperties, JsonFactory jsonFactory)
+    {
+        this.corpus = new SyntheticCorpus(
+            githubProperties.getSimulatorCorpusSize(),
+            githubProperties.getSimulatorSeed(),
+            System.currentTimeMillis() / 1000);
+        this.jsonFactory = jsonFactory;
+        this.latencyMedianMillis = githubProperties.getSimulatorLatencyMedian();
+        // Log-normal latency fitted to the configured median and p99
+        this.latencySigma = latencyMedianMillis > 0
+            ? Math.log((double) Math.max(githubProperties.getSimulatorLatencyP99(), 1) / latencyMedianMillis) / P99_Z_SCORE
+            : 0;
+        this.errorRate = githubProperties.getSimulatorErrorRate();
+        this.rateLimit = githubProperties.getSimulatorRateLimit();
+        this.rateLimitWindowMillis = githubProperties.getSimulatorRateLimitWindow();
+
+        log.info(
+            "GitHub simulator: {} repositories, median latency {} ms, p99 {} ms, error rate {}, rate limit {} per {} ms",
+            corpus.size(),
+            githubProperties.getSimulatorLatencyMedian(),
+            githubProperties.getSimulatorLatencyP99(),
+            errorRate,
+            rateLimit,
+            rateLimitWindowMillis);
+    }
+
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod)
+    {
+        return new BufferedClientHttpRequest(httpMethod, uri, (request, body) -> handle(request));
+    }
+
+
+    private ClientHttpResponse handle(BufferedClientHttpRequest request)
+    {
+        simulateLatency();
+
+        if (request.getMethod() != HttpMethod.GET || !request.getURI().getPath().endsWith(SEARCH_PATH))
+        {
+            return error(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders());
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate)
+        {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", new HttpHeaders());
+        }
+
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build(true).getQueryParams();
+        int perPage = Math.clamp(intParam(params, "per_page", 30), 1, 100);
+        int page = Math.max(intParam(params, "page", 1), 1);
+        if ((page - 1) * perPage >= MAX_SEARCH_RESULTS)
+        {
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, "Only the first 1000 search results are available", new HttpHeaders());
+        }
+
+        String query = params.getFirst("q");
+        byte[] body = searchBody(query == null ? "" : URLDecoder.decode(query, StandardCharsets.UTF_8), perPage, page);
+        String etag = etag(body);
+
+        // Conditional hits are free on GitHub, so they are answered before any quota is spent
+        if (etag.equals(request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH)))
+        {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(etag);
+            return new BufferedClientHttpResponse(HttpStatus.NOT_MODIFIED, headers, new byte[0]);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        boolean admitted = consumeQuota(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION), headers);
+        if (!admitted)
+        {
+            return error(HttpStatus.FORBIDDEN, "API rate limit exceeded", headers);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setETag(etag);
+        return new BufferedClientHttpResponse(HttpStatus.OK, headers, body);
+    }
+
+
+    private byte[] searchBody(String query, int perPage, int page)
+    {
+        Matcher language = LANGUAGE.matcher(query);
+        Matcher createdAfter = CREATED_AFTER.matcher(query);
+        Matcher createdBetween = CREATED_BETWEEN.matcher(query);
+
+        LocalDate from = null;
+        LocalDate to = null;
+        if (createdBetween.find())
+        {
+            from = LocalDate.parse(createdBetween.group(1));
+            to = LocalDate.parse(createdBetween.group(2));
+        }
+        else if (createdAfter.find())
+        {
+            from = LocalDate.parse(createdAfter.group(1)).plusDays(1);
+        }
+
+        SyntheticCorpus.Slice slice = corpus.search(from, to, (page - 1) * perPage, perPage);
+        return writeSearchResponse(slice, language.find() ? language.group(1) : "Java");
+    }
+
+
+    private byte[] writeSearchResponse(SyntheticCorpus.Slice slice, String language)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(slice.indices().length * 400 + 64);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out))
+        {
+            generator.writeStartObject();
+            generator.writeNumberField("total_count", slice.totalCount());
+            generator.writeBooleanField("incomplete_results", false);
+            generator.writeArrayFieldStart("items");
+            for (int index : slice.indices())
+            {
+                long id = index + 1L;
+                generator.writeStartObject();
+                generator.writeNumberField("id", id);
+                generator.writeStringField("name", "repo-" + id);
+                generator.writeStringField("full_name", "simulated/repo-" + id);
+                generator.writeStringField("description", "Synthetic repository " + id);
+                generator.writeStringField("html_url", "https://github.com/simulated/repo-" + id);
+                generator.writeStringField("language", language);
+                generator.writeNumberField("stargazers_count", corpus.stars(index));
+                generator.writeNumberField("watchers_count", corpus.stars(index));
+                generator.writeNumberField("forks_count", corpus.forks(index));
+                generator.writeNumberField("open_issues_count", corpus.forks(index) / 10);
+                generator.writeStringField("created_at", Instant.ofEpochSecond(corpus.createdAt(index)).toString());
+                generator.writeStringField("updated_at", Instant.ofEpochSecond(corpus.updatedAt(index)).toString());
+                generator.writeStringField("pushed_at", Instant.ofEpochSecond(corpus.pushedAt(index)).toString());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+
+    private boolean consumeQuota(String authorization, HttpHeaders headers)
+    {
+        long now = System.currentTimeMillis();
+        QuotaWindow window = quotas.compute(
+            authorization == null ? "anonymous" : authorization,
+            (key, current) -> {
+                QuotaWindow active = current == null || now >= current.resetAtMillis()
+                    ? new QuotaWindow(rateLimit, now + rateLimitWindowMillis, false)
+                    : current;
+                return active.remaining() > 0 ? active.consume() : active.reject();
+            });
+
+        headers.set("X-RateLimit-Limit", String.valueOf(rateLimit));
+        headers.set("X-RateLimit-Remaining", String.valueOf(window.remaining()));
+        headers.set("X-RateLimit-Reset", String.valueOf(Math.ceilDiv(window.resetAtMillis(), 1000)));
+        return window.admitted();
+    }
+
+
+    private void simulateLatency()
+    {
+        if (latencyMedianMillis <= 0)
+        {
+            return;
+        }
+        double latency = latencyMedianMillis * Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian());
+        try
+        {
+            Thread.sleep((long) latency);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private ClientHttpResponse error(HttpStatus status, String message, HttpHeaders headers)
+    {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        return new BufferedClientHttpResponse(status, headers, body);
+    }
+
+
+    private static int intParam(MultiValueMap<String, String> params, String name, int defaultValue)
+    {
+        String value = params.getFirst(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+
+    private static String etag(byte[] body)
+    {
+        CRC32C checksum = new CRC32C();
+        checksum.update(body);
+        return "\"" + Long.toHexString(checksum.getValue()) + "\"";
+    }
+
+
+    private record QuotaWindow(int remaining, long resetAtMillis, boolean admitted)
+    {
+        QuotaWindow consume()
+        {
+            return new QuotaWindow(remaining - 1, resetAtMillis, true);
+        }
+
+
+        QuotaWindow reject()
+        {
+            return new QuotaWindow(remaining, resetAtMillis, false);
+        }
+    }
+}
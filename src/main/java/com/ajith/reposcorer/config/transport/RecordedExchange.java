@@ -0,0 +1,21 @@
+package com.ajith.reposcorer.config.transport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+public record RecordedExchange(String request, int status, Map<String, List<String>> headers, String body)
+{
+    public ClientHttpResponse toResponse()
+    {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        headers.forEach(responseHeaders::addAll);
+        return new BufferedClientHttpResponse(
+            HttpStatusCode.valueOf(status),
+            responseHeaders,
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
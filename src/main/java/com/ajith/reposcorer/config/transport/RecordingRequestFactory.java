@@ -0,0 +1,60 @@
+package com.ajith.reposcorer.config.transport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+@RequiredArgsConstructor
+@Slf4j
+public class RecordingRequestFactory implements ClientHttpRequestFactory
+{
+    private final ClientHttpRequestFactory delegate;
+    private final ExchangeRecordings recordings;
+
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod)
+    {
+        return new BufferedClientHttpRequest(httpMethod, uri, this::record);
+    }
+
+
+    private ClientHttpResponse record(BufferedClientHttpRequest request, byte[] body) throws IOException
+    {
+        ClientHttpRequest liveRequest = delegate.createRequest(request.getURI(), request.getMethod());
+        liveRequest.getHeaders().putAll(request.getHeaders());
+
+        // Conditional requests would record an empty 304 over the full response, and replays start with no ETags
+        liveRequest.getHeaders().remove(HttpHeaders.IF_NONE_MATCH);
+        liveRequest.getHeaders().remove(HttpHeaders.IF_MODIFIED_SINCE);
+        if (body.length > 0)
+        {
+            liveRequest.getBody().write(body);
+        }
+
+        try (ClientHttpResponse liveResponse = liveRequest.execute())
+        {
+            Map<String, List<String>> headers = new LinkedHashMap<>(liveResponse.getHeaders());
+            RecordedExchange exchange = new RecordedExchange(
+                request.getMethod() + " " + request.getURI(),
+                liveResponse.getStatusCode().value(),
+                headers,
+                new String(liveResponse.getBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            recordings.save(request.getMethod(), request.getURI(), body, exchange);
+            log.debug("Recorded {} ({})", exchange.request(), exchange.status());
+
+            return exchange.toResponse();
+        }
+    }
+}
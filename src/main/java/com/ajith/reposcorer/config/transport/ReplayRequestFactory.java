@@ -0,0 +1,50 @@
+package com.ajith.reposcorer.config.transport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+@RequiredArgsConstructor
+@Slf4j
+public class ReplayRequestFactory implements ClientHttpRequestFactory
+{
+    private final ExchangeRecordings recordings;
+
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod)
+    {
+        return new BufferedClientHttpRequest(httpMethod, uri, this::replay);
+    }
+
+
+    private ClientHttpResponse replay(BufferedClientHttpRequest request, byte[] body) throws IOException
+    {
+        return recordings.load(request.getMethod(), request.getURI(), body)
+            .map(RecordedExchange::toResponse)
+            .orElseGet(() -> missingRecording(request));
+    }
+
+
+    private ClientHttpResponse missingRecording(BufferedClientHttpRequest request)
+    {
+        // A 404 is not retried, so a replay run with a gap fails fast and deterministically
+        log.warn("No recorded response for {} {}", request.getMethod(), request.getURI());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new BufferedClientHttpResponse(
+            HttpStatus.NOT_FOUND,
+            headers,
+            "{\"message\":\"No recorded response\"}".getBytes(StandardCharsets.UTF_8));
+    }
+}
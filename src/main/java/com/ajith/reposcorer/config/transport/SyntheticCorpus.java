@@ -0,0 +1,103 @@
+package com.ajith.reposcorer.config.transport;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class SyntheticCorpus
+{
+    private static final int MAX_STARS = 250_000;
+    private static final long MAX_AGE_SECONDS = 6L * 365 * 24 * 3600;
+
+    private final int[] stars;
+    private final int[] forks;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final long[] pushedAt;
+
+
+    public SyntheticCorpus(int size, long seed, long nowEpochSecond)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        stars = new int[size];
+        forks = new int[size];
+        createdAt = new long[size];
+        updatedAt = new long[size];
+        pushedAt = new long[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            // Zipf-like popularity, generated in descending order so rank equals the stars sort order
+            stars[i] = (int) (MAX_STARS / Math.pow(i + 1, 0.85));
+            forks[i] = (int) (stars[i] * random.nextDouble(0.02, 0.4));
+            createdAt[i] = nowEpochSecond - random.nextLong(MAX_AGE_SECONDS);
+            pushedAt[i] = createdAt[i] + random.nextLong(nowEpochSecond - createdAt[i] + 1);
+            updatedAt[i] = Math.max(pushedAt[i], nowEpochSecond - random.nextLong(30L * 24 * 3600));
+        }
+    }
+
+
+    public int size()
+    {
+        return stars.length;
+    }
+
+
+    public Slice search(LocalDate createdFrom, LocalDate createdTo, int offset, int limit)
+    {
+        long from = createdFrom == null ? Long.MIN_VALUE : createdFrom.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long to = createdTo == null ? Long.MAX_VALUE : createdTo.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+        int[] page = new int[Math.max(0, limit)];
+        int pageSize = 0;
+        int matches = 0;
+        for (int i = 0; i < stars.length; i++)
+        {
+            if (createdAt[i] >= from && createdAt[i] < to)
+            {
+                if (matches >= offset && pageSize < page.length)
+                {
+                    page[pageSize++] = i;
+                }
+                matches++;
+            }
+        }
+        return new Slice(matches, Arrays.copyOf(page, pageSize));
+    }
+
+
+    public int stars(int index)
+    {
+        return stars[index];
+    }
+
+
+    public int forks(int index)
+    {
+        return forks[index];
+    }
+
+
+    public long createdAt(int index)
+    {
+        return createdAt[index];
+    }
+
+
+    public long updatedAt(int index)
+    {
+        return updatedAt[index];
+    }
+
+
+    public long pushedAt(int index)
+    {
+        return pushedAt[index];
+    }
+
+
+    public record Slice(int totalCount, int[] indices)
+    {
+    }
+}
@@ -2,6 +2,8 @@ package com.ajith.reposcorer.controller;
 
 import com.ajith.reposcorer.dto.RepositoryScoringResponse;
 import com.ajith.reposcorer.dto.RepositorySearchRequest;
+import com.ajith.reposcorer.exception.StreamLimitExceededException;
+import com.ajith.reposcorer.properties.GithubProperties;
 import com.ajith.reposcorer.service.RepositorySearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,23 +12,37 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/repositories")
-@RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Repository Scoring", description = "Endpoints for searching and scoring GitHub repositories")
 public class RepositoryScoringController
 {
 
+    private static final long STREAM_TIMEOUT_MILLIS = 120_000;
+
     private final RepositorySearchService repositorySearchService;
+    // Each stream holds a worker fetching and scoring pages, so only so many run at once
+    private final Semaphore streams;
+
+
+    public RepositoryScoringController(RepositorySearchService repositorySearchService, GithubProperties githubProperties)
+    {
+        this.repositorySearchService = repositorySearchService;
+        this.streams = new Semaphore(githubProperties.getMaxConcurrentStreams());
+    }
 
 
     @Operation(summary = "Search and score repositories",
@@ -48,4 +64,87 @@ public class RepositoryScoringController
         RepositoryScoringResponse response = repositorySearchService.searchAndScoreRepositories(request);
         return ResponseEntity.ok(response);
     }
+
+
+    @Operation(summary = "Search and score repositories as results arrive",
+        description = "Runs the same search as /search as a server-sent event stream: a 'ranking' event with the provisional top results after every page, then a 'result' event with the final response.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream of provisional rankings followed by the final response",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+        @ApiResponse(responseCode = "400", description = "Invalid input parameters",
+            content = @Content),
+        @ApiResponse(responseCode = "503", description = "Too many search streams are already running",
+            content = @Content)
+    })
+    @PostMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRepositories(
+        @Valid @RequestBody RepositorySearchRequest request)
+    {
+        log.info("Received streaming search request: {}", request);
+        if (!streams.tryAcquire())
+        {
+            throw new StreamLimitExceededException("Too many search streams are running; try again shortly");
+        }
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        Thread worker = Thread.ofVirtual().name("search-stream").unstarted(() -> {
+            try
+            {
+                RepositoryScoringResponse response = repositorySearchService.searchAndScoreRepositories(
+                    request, ranking -> send(emitter, SseEmitter.event().name("ranking").data(ranking)));
+                send(emitter, SseEmitter.event().name("result").data(response));
+                emitter.complete();
+            }
+            catch (RuntimeException e)
+            {
+                emitter.completeWithError(e);
+            }
+            finally
+            {
+                streams.release();
+            }
+        });
+
+        // However the stream ends, interrupting the worker stops fetching and scoring pages nobody will read
+        emitter.onTimeout(worker::interrupt);
+        emitter.onError(error -> worker.interrupt());
+        emitter.onCompletion(worker::interrupt);
+        worker.start();
+        return emitter;
+    }
+
+
+    @Operation(summary = "Rescore cached repositories",
+        description = "Re-ranks the candidates cached by an earlier search with this request's weights or formula, without calling GitHub.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully rescored the cached repositories",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = RepositoryScoringResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input parameters",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "No cached search results for this request",
+            content = @Content)
+    })
+    @PostMapping("/rescore")
+    public ResponseEntity<RepositoryScoringResponse> rescoreRepositories(
+        @Valid @RequestBody RepositorySearchRequest request)
+    {
+        log.debug("Received rescore request: {}", request);
+        RepositoryScoringResponse response = repositorySearchService.rescore(request);
+        return ResponseEntity.ok(response);
+    }
+
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event)
+    {
+        try
+        {
+            emitter.send(event);
+        }
+        catch (IOException e)
+        {
+            // The client went away; failing the search stops fetching pages nobody will read
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -33,4 +33,8 @@ public class RepositoryScoringResponse
 
     @Schema(description = "The timestamp when the scoring was performed.")
     private LocalDateTime scoredAt;
+
+    @Schema(description = "Indicates the results were served from the last known good data because GitHub is currently unavailable.", example = "false")
+    @Builder.Default
+    private Boolean stale = false;
 }
@@ -1,8 +1,14 @@
 package com.ajith.reposcorer.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,7 +30,50 @@ public class RepositorySearchRequest {
     @NotNull(message = "Created after date is required")
     private LocalDate createdAfter;
 
-    @Schema(description = "The maximum number of results to return", example = "50", defaultValue = "30")
+    @Schema(description = "The maximum number of results to return (GitHub search caps this at 1000)", example = "50", defaultValue = "30")
+    @Min(value = 1, message = "Max results must be at least 1")
+    @Max(value = 1000, message = "Max results must not exceed 1000")
     @Builder.Default
     private Integer maxResults = 30;
+
+    @Schema(description = "Return only the best topK of the maxResults candidates, selected without sorting the whole pool; defaults to returning every candidate", example = "10")
+    @Min(value = 1, message = "Top K must be at least 1")
+    @Max(value = 1000, message = "Top K must not exceed 1000")
+    private Integer topK;
+
+    @Schema(description = "Harvest every matching repository by splitting the creation date range into windows, then return the top maxResults by score", example = "false", defaultValue = "false")
+    @Builder.Default
+    private Boolean exhaustive = false;
+
+    @Schema(description = "Scoring formula overriding the configured weights, e.g. 0.6 * log1p(stars) + 0.4 * recencyScore", example = "0.5 * starsScore + 0.2 * log1p(watchers) - 0.1 * openIssues")
+    @Size(max = 1000, message = "Formula must not exceed 1000 characters")
+    private String formula;
+
+    @Schema(description = "Overrides scoring.stars-weight for this request", example = "0.7")
+    @DecimalMin(value = "0.0", message = "Stars weight must not be negative")
+    private Double starsWeight;
+
+    @Schema(description = "Overrides scoring.forks-weight for this request", example = "0.1")
+    @DecimalMin(value = "0.0", message = "Forks weight must not be negative")
+    private Double forksWeight;
+
+    @Schema(description = "Overrides scoring.recency-weight for this request", example = "0.2")
+    @DecimalMin(value = "0.0", message = "Recency weight must not be negative")
+    private Double recencyWeight;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "Weights cannot be combined with a formula; put the weights in the formula instead")
+    public boolean isWeightsCompatibleWithFormula() {
+        // A formula replaces the weighted sum, so weight overrides alongside one would be silently ignored
+        return formula == null || formula.isBlank() || !overridesWeights();
+    }
+
+    public int resultLimit() {
+        return topK != null ? Math.min(topK, maxResults) : maxResults;
+    }
+
+    public boolean overridesWeights() {
+        return starsWeight != null || forksWeight != null || recencyWeight != null;
+    }
 }
@@ -0,0 +1,10 @@
+package com.ajith.reposcorer.exception;
+
+public class CachedResultsNotFoundException extends RuntimeException
+{
+
+    public CachedResultsNotFoundException(String message)
+    {
+        super(message);
+    }
+}
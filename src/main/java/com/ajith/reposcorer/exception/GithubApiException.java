@@ -6,12 +6,20 @@ import lombok.Getter;
 public class GithubApiException extends RuntimeException
 {
     private final Integer statusCode;
+    private final Long retryAfterMillis;
 
 
     public GithubApiException(String message, Integer statusCode)
+    {
+        this(message, statusCode, null);
+    }
+
+
+    public GithubApiException(String message, Integer statusCode, Long retryAfterMillis)
     {
         super(message);
         this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
     }
 
 
@@ -19,5 +27,6 @@ public class GithubApiException extends RuntimeException
     {
         super(message, cause);
         this.statusCode = null;
+        this.retryAfterMillis = null;
     }
 }
@@ -0,0 +1,10 @@
+package com.ajith.reposcorer.exception;
+
+public class GithubUnavailableException extends GithubApiException
+{
+
+    public GithubUnavailableException(String message, long retryAfterMillis)
+    {
+        super(message, 503, retryAfterMillis);
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -28,7 +29,9 @@ public class GlobalExceptionHandler
     {
         log.error("GitHub API error: {}", ex.getMessage(), ex);
 
-        HttpStatus status = ex.getStatusCode() != null && ex.getStatusCode() == 403
+        boolean unavailable = ex instanceof GithubUnavailableException
+            || ex.getStatusCode() != null && (ex.getStatusCode() == 403 || ex.getStatusCode() == 429);
+        HttpStatus status = unavailable
             ? HttpStatus.SERVICE_UNAVAILABLE
             : HttpStatus.BAD_GATEWAY;
 
@@ -39,7 +42,12 @@ public class GlobalExceptionHandler
             LocalDateTime.now()
         );
 
-        return ResponseEntity.status(status).body(error);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (unavailable && ex.getRetryAfterMillis() != null)
+        {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf((ex.getRetryAfterMillis() + 999) / 1000));
+        }
+        return response.body(error);
     }
 
 
@@ -95,6 +103,54 @@ public class GlobalExceptionHandler
     }
 
 
+    @ExceptionHandler(InvalidFormulaException.class)
+    public ResponseEntity<ValidationErrorResponse> handleInvalidFormula(InvalidFormulaException ex)
+    {
+        log.warn("Rejected scoring formula: {}", ex.getMessage());
+
+        ValidationErrorResponse response = new ValidationErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Validation Failed",
+            Map.of("formula", ex.getMessage()),
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
+
+    @ExceptionHandler(CachedResultsNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleCachedResultsNotFound(CachedResultsNotFoundException ex)
+    {
+        log.debug("Rescore without cached results: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            "Not Found",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+
+    @ExceptionHandler(StreamLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleStreamLimitExceeded(StreamLimitExceededException ex)
+    {
+        log.warn("Rejected search stream: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex)
     {
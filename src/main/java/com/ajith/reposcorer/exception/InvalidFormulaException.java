@@ -0,0 +1,10 @@
+package com.ajith.reposcorer.exception;
+
+public class InvalidFormulaException extends RuntimeException
+{
+
+    public InvalidFormulaException(String message)
+    {
+        super(message);
+    }
+}
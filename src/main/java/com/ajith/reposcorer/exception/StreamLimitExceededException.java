@@ -0,0 +1,10 @@
+package com.ajith.reposcorer.exception;
+
+public class StreamLimitExceededException extends RuntimeException
+{
+
+    public StreamLimitExceededException(String message)
+    {
+        super(message);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ajith.reposcorer.properties;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "caching")
+@Data
+public class CachingProperties
+{
+    private CacheSpec defaults = new CacheSpec();
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+    private String diskDirectory = "cache-data";
+    private Integer diskSegmentSize = 64 * 1024 * 1024;
+    private Integer diskMaxSegments = 8;
+    private Integer diskCompactionInterval = 60000;
+    private Boolean refreshAheadEnabled = true;
+    private Integer refreshAheadInterval = 10000;
+    private Integer refreshAheadWindow = 60000;
+    private Integer refreshAheadMaxPerCycle = 10;
+    private Integer refreshAheadMinFrequency = 2;
+    private Integer refreshAheadQuotaReserve = 10;
+    private Integer refreshAheadSketchWidth = 4096;
+    // Shared second tier spoken to over the Redis protocol; remoteEmbedded starts a local stand-in on remotePort
+    private Boolean remoteEnabled = false;
+    private String remoteHost = "localhost";
+    private Integer remotePort = 6379;
+    private Integer remoteTimeout = 250;
+    private Integer remoteRetryInterval = 5000;
+    private Integer remotePoolSize = 8;
+    private String remoteKeyPrefix = "repo-scorer:";
+    private Boolean remoteEmbedded = false;
+    // Searches prefetched before the instance reports ready: the configured list, then the previous run's hottest keys
+    private Boolean warmUpEnabled = true;
+    private List<WarmUpQuery> warmUpQueries = new ArrayList<>();
+    private Integer warmUpPreviousRunKeys = 20;
+    private Integer warmUpConcurrency = 4;
+    private Integer warmUpTimeout = 60000;
+    private Integer warmUpQuotaReserve = 50;
+    private Integer warmUpUnreportedQuota = 100;
+
+
+    public CacheSpec specFor(String cacheName)
+    {
+        CacheSpec spec = caches.getOrDefault(cacheName, new CacheSpec());
+        CacheSpec merged = new CacheSpec();
+        if (spec.getMaximumSize() != null || spec.getMaximumWeight() != null)
+        {
+            merged.setMaximumSize(spec.getMaximumSize());
+            merged.setMaximumWeight(spec.getMaximumWeight());
+        }
+        else
+        {
+            merged.setMaximumSize(defaults.getMaximumSize());
+            merged.setMaximumWeight(defaults.getMaximumWeight());
+        }
+        merged.setExpireAfterWrite(spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite() : defaults.getExpireAfterWrite());
+        merged.setRefreshAfterWrite(spec.getRefreshAfterWrite() != null ? spec.getRefreshAfterWrite() : defaults.getRefreshAfterWrite());
+        merged.setPersistent(spec.getPersistent() != null ? spec.getPersistent() : defaults.getPersistent());
+        merged.setShared(spec.getShared() != null ? spec.getShared() : defaults.getShared());
+        return merged;
+    }
+
+
+    @Data
+    public static class CacheSpec
+    {
+        // Entries, or when maximumWeight is set, repositories held across all entries
+        private Long maximumSize;
+        private Long maximumWeight;
+        // Milliseconds
+        private Long expireAfterWrite;
+        private Long refreshAfterWrite;
+        // Backed by memory-mapped segment files under diskDirectory so entries survive restarts
+        private Boolean persistent;
+        // Also kept in the remote tier when it is enabled, with invalidations published to the other instances
+        private Boolean shared;
+    }
+
+
+    @Data
+    public static class WarmUpQuery
+    {
+        private String language;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate createdAfter;
+        private Integer maxResults = 100;
+    }
+}
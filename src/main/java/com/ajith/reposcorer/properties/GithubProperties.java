@@ -1,5 +1,7 @@
 package com.ajith.reposcorer.properties;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -10,7 +12,33 @@ import org.springframework.stereotype.Component;
 public class GithubProperties
 {
     private String apiUrl = "https://api.github.com";
+    private String backend = "rest";
     private String token;
+    private List<String> tokens = new ArrayList<>();
     private Integer connectTimeout = 5000;
     private Integer readTimeout = 10000;
+    private Boolean http2Enabled = true;
+    private Integer connectionPoolSize = 50;
+    private Integer connectionIdleTimeout = 30000;
+    private Integer maxConcurrentPages = 10;
+    private Integer maxConcurrentWindows = 4;
+    private Integer maxConcurrentStreams = 32;
+    private Integer maxHarvestResults = 10000;
+    private Integer rateLimitMaxWait = 30000;
+    private Integer rateLimitBurstReserve = 5;
+    private Integer retryMaxAttempts = 3;
+    private Integer retryBaseDelay = 500;
+    private Integer retryMaxDelay = 5000;
+    private Integer retryBudget = 10000;
+    private Integer circuitFailureThreshold = 5;
+    private Integer circuitOpenDuration = 30000;
+    private String transport = "live";
+    private String recordingsDirectory = "recordings";
+    private Integer simulatorCorpusSize = 100000;
+    private Long simulatorSeed = 42L;
+    private Integer simulatorLatencyMedian = 80;
+    private Integer simulatorLatencyP99 = 400;
+    private Double simulatorErrorRate = 0.0;
+    private Integer simulatorRateLimit = 5000;
+    private Integer simulatorRateLimitWindow = 3600000;
 }
@@ -13,4 +13,7 @@ public class ScoringProperties
     private Double forksWeight = 0.2;
     private Double recencyWeight = 0.3;
     private Double recencyHalfLifeDays = 180.0;
+    private Boolean vectorized = true;
+    private String formula;
+    private Integer formulaCacheSize = 256;
 }
@@ -0,0 +1,183 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.dto.ScoredRepository;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.formula.ScoringFormula;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class IncrementalScorer
+{
+    private static final int INITIAL_CAPACITY = 128;
+
+    private final RepositoryScoringService scoringService;
+    private final long nowEpochSecond;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final List<GithubRepository> repositories = new ArrayList<>();
+    private final ScoringColumns columns = new ScoringColumns(INITIAL_CAPACITY);
+    private double[] totals = new double[INITIAL_CAPACITY];
+
+    // Rows [0, ranked) are scored against scoredBatch's bounds with scoredFormula or scoredWeights, held in order, best first
+    private ScoringBatch scoredBatch;
+    private ScoringFormula scoredFormula;
+    private ScoringProperties scoredWeights;
+    private int[] order = new int[0];
+    private int ranked;
+
+
+    IncrementalScorer(RepositoryScoringService scoringService, long nowEpochSecond)
+    {
+        this.scoringService = scoringService;
+        this.nowEpochSecond = nowEpochSecond;
+    }
+
+
+    public void addPage(List<GithubRepository> page)
+    {
+        // Appending is cheap; scoring waits until someone asks for a ranking
+        lock.lock();
+        try
+        {
+            repositories.addAll(page);
+            columns.append(page);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    public int size()
+    {
+        lock.lock();
+        try
+        {
+            return columns.count();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    public List<ScoredRepository> ranking(int limit, ScoringFormula formula, ScoringProperties weights)
+    {
+        lock.lock();
+        try
+        {
+            int count = columns.count();
+            if (count == 0 || limit <= 0)
+            {
+                return List.of();
+            }
+            rank(formula, weights);
+
+            int returned = Math.min(limit, count);
+            List<ScoredRepository> scoredRepositories = new ArrayList<>(returned);
+            for (int rank = 0; rank < returned; rank++)
+            {
+                int i = order[rank];
+                scoredRepositories.add(scoringService.toScoredRepository(repositories.get(i), scoredBatch, i, totals[i]));
+            }
+            return scoredRepositories;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    private void rank(ScoringFormula formula, ScoringProperties weights)
+    {
+        ScoringBatch current = columns.batch(nowEpochSecond);
+        int count = current.count();
+        if (totals.length < count)
+        {
+            totals = Arrays.copyOf(totals, Math.max(count, totals.length << 1));
+        }
+
+        if (scoredBatch == null || !sameBounds(scoredBatch, current)
+            || !Objects.equals(scoredFormula, formula) || !Objects.equals(scoredWeights, weights))
+        {
+            // Normalized scores depend on the bounds, and every score on the formula and weights,
+            // so a change to any of them rescores and fully re-ranks every row
+            log.debug("Normalization bounds are stars [{}, {}], forks [{}, {}]; rescoring {} rows",
+                current.minStars(), current.maxStars(), current.minForks(), current.maxForks(), count);
+            System.arraycopy(scoringService.score(current, repositories, formula, weights), 0, totals, 0, count);
+            order = RepositoryScoringService.rankByScore(Arrays.copyOf(totals, count));
+        }
+        else if (ranked < count)
+        {
+            // Same inputs: existing scores still hold, so only the new rows are scored and merged in
+            double[] added = scoringService.score(slice(current, ranked), repositories.subList(ranked, count), formula, weights);
+            System.arraycopy(added, 0, totals, ranked, added.length);
+            order = merge(order, ranked, RepositoryScoringService.rankByScore(added));
+        }
+        scoredBatch = current;
+        scoredFormula = formula;
+        scoredWeights = weights;
+        ranked = count;
+    }
+
+
+    private int[] merge(int[] existing, int offset, int[] added)
+    {
+        // Existing rows come first on ties, keeping GitHub's order as the full stable sort would
+        int[] merged = new int[existing.length + added.length];
+        int left = 0;
+        int right = 0;
+        int out = 0;
+        while (left < existing.length && right < added.length)
+        {
+            int candidate = added[right] + offset;
+            if (totals[candidate] > totals[existing[left]])
+            {
+                merged[out++] = candidate;
+                right++;
+            }
+            else
+            {
+                merged[out++] = existing[left++];
+            }
+        }
+        while (left < existing.length)
+        {
+            merged[out++] = existing[left++];
+        }
+        while (right < added.length)
+        {
+            merged[out++] = added[right++] + offset;
+        }
+        return merged;
+    }
+
+
+    private static ScoringBatch slice(ScoringBatch batch, int from)
+    {
+        return new ScoringBatch(
+            batch.count() - from,
+            Arrays.copyOfRange(batch.stars(), from, batch.count()),
+            Arrays.copyOfRange(batch.forks(), from, batch.count()),
+            Arrays.copyOfRange(batch.updatedAt(), from, batch.count()),
+            batch.minStars(), batch.maxStars(), batch.minForks(), batch.maxForks(), batch.nowEpochSecond());
+    }
+
+
+    private static boolean sameBounds(ScoringBatch previous, ScoringBatch current)
+    {
+        return previous.minStars() == current.minStars()
+            && previous.maxStars() == current.maxStars()
+            && previous.minForks() == current.minForks()
+            && previous.maxForks() == current.maxForks();
+    }
+}
@@ -5,106 +5,268 @@ import com.ajith.reposcorer.dto.ScoreResult;
 import com.ajith.reposcorer.dto.ScoredRepository;
 import com.ajith.reposcorer.mapper.RepositoryMapper;
 import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.formula.FormulaVariable;
+import com.ajith.reposcorer.service.formula.ScoringFormula;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
-import java.util.IntSummaryStatistics;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+
+import static com.ajith.reposcorer.service.formula.FormulaVariable.DAYS_SINCE_PUSH;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.DAYS_SINCE_UPDATE;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.FORKS;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.FORKS_SCORE;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.OPEN_ISSUES;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.RECENCY_SCORE;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.STARS;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.STARS_SCORE;
+import static com.ajith.reposcorer.service.formula.FormulaVariable.WATCHERS;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RepositoryScoringService {
 
-    private record NormalisationStats(int minStars, int maxStars, int minForks, int maxForks) {}
+    private static final int CACHED_COLUMN_SETS = 64;
 
     private final ScoringProperties properties;
     private final RepositoryMapper repositoryMapper;
+    private final ScoringKernel scoringKernel;
+
+    // Columns of recently scored candidate lists, by identity, so re-ranking a cached search skips the gather pass
+    private final Cache<List<GithubRepository>, ScoringBatch> columns = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(CACHED_COLUMN_SETS)
+        .build();
 
     public List<ScoredRepository> scoreAndMapRepository(List<GithubRepository> repositories) {
-        if (repositories == null || repositories.isEmpty()) {
+        return scoreAndMapRepository(repositories, repositories == null ? 0 : repositories.size());
+    }
+
+    public List<ScoredRepository> scoreAndMapRepository(List<GithubRepository> repositories, int limit) {
+        return scoreAndMapRepository(repositories, limit, null);
+    }
+
+    public List<ScoredRepository> scoreAndMapRepository(List<GithubRepository> repositories, int limit, ScoringFormula formula) {
+        return scoreAndMapRepository(repositories, limit, formula, properties);
+    }
+
+    public List<ScoredRepository> scoreAndMapRepository(
+            List<GithubRepository> repositories, int limit, ScoringFormula formula, ScoringProperties weights) {
+        return scoreAndMapRepository(repositories, repositories == null ? 0 : repositories.size(), limit, formula, weights);
+    }
+
+    public List<ScoredRepository> scoreAndMapRepository(
+            List<GithubRepository> repositories, int rows, int limit, ScoringFormula formula, ScoringProperties weights) {
+        // Only the first rows candidates are scored, so a cached superset keeps its columns when a smaller request re-ranks it
+        if (repositories == null || repositories.isEmpty() || rows <= 0 || limit <= 0) {
             log.debug("No repositories provided for scoring. Returning empty list.");
             return List.of();
         }
 
-        log.debug("Starting scoring process for {} repositories.", repositories.size());
+        int count = Math.min(rows, repositories.size());
+        log.debug("Starting scoring process for {} repositories.", count);
 
-        NormalisationStats stats = calculateBatchStatistics(repositories);
+        // One clock reading per request; timestamps are UTC wall-clock seconds, as GithubRepository.getUpdatedAt reads them
+        long nowEpochSecond = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        ScoringBatch cached = columns.getIfPresent(repositories);
+        ScoringBatch all = cached != null && cached.count() == repositories.size() ? cached : gatherColumns(repositories);
+        ScoringBatch batch = all.prefix(count).at(nowEpochSecond);
 
-        Map<GithubRepository, ScoreResult> repositoryScoreResultMap = repositories.stream()
-            .collect(Collectors.toMap(
-                repo -> repo,
-                repo -> calculateScoreWithMinMax(repo, stats)
-            ));
+        double[] totals = score(batch, repositories, formula, weights);
 
-        List<ScoredRepository> scoredRepositories = repositoryScoreResultMap.entrySet().stream()
-            .map(entry -> repositoryMapper.toScoredRepository(entry.getKey(), entry.getValue()))
-            .sorted(Comparator.comparing(ScoredRepository::getScore).reversed())
-            .toList();
+        int returned = Math.min(limit, count);
+        int[] order = returned < count ? selectTopK(totals, returned) : rankByScore(totals);
+        List<ScoredRepository> scoredRepositories = new ArrayList<>(returned);
+        for (int rank = 0; rank < returned; rank++) {
+            int i = order[rank];
+            scoredRepositories.add(toScoredRepository(repositories.get(i), batch, i, totals[i]));
+        }
 
-        log.debug("Finished scoring and mapping {} repositories.", scoredRepositories.size());
+        log.debug("Finished scoring {} repositories and mapping the top {}.", count, returned);
         return scoredRepositories;
     }
 
-    private NormalisationStats calculateBatchStatistics(List<GithubRepository> repositories) {
-        IntSummaryStatistics starsStats = repositories.stream().mapToInt(GithubRepository::getStargazersCount).summaryStatistics();
-        IntSummaryStatistics forksStats = repositories.stream().mapToInt(GithubRepository::getForksCount).summaryStatistics();
+    public IncrementalScorer incrementalScorer() {
+        return new IncrementalScorer(this, LocalDateTime.now().toEpochSecond(ZoneOffset.UTC));
+    }
 
-        int minStars = starsStats.getMin();
-        int maxStars = Math.max(starsStats.getMax(), 1);
-        int minForks = forksStats.getMin();
-        int maxForks = Math.max(forksStats.getMax(), 1);
+    double[] score(ScoringBatch batch, List<GithubRepository> repositories, ScoringFormula formula, ScoringProperties weights) {
+        // Row i of the batch is repositories.get(i); the formula reads its non-columnar fields from there
+        double[] totals = new double[batch.count()];
+        if (formula == null) {
+            scoringKernel.score(batch, weights, totals);
+        } else {
+            evaluateFormula(formula, repositories, batch, properties.getRecencyHalfLifeDays(), totals);
+        }
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = round(totals[i]);
+        }
+        return totals;
+    }
 
-        log.debug("Normalization bounds: stars [{}, {}], forks [{}, {}]", minStars, maxStars, minForks, maxForks);
-        return new NormalisationStats(minStars, maxStars, minForks, maxForks);
+    ScoredRepository toScoredRepository(GithubRepository repository, ScoringBatch batch, int row, double total) {
+        ScoreResult scoreResult = ScoreResult.builder()
+            .starsScore(round(ScalarScoringKernel.normalize(batch.stars()[row], batch.minStars(), batch.maxStars()) * 100))
+            .forksScore(round(ScalarScoringKernel.normalize(batch.forks()[row], batch.minForks(), batch.maxForks()) * 100))
+            .recencyScore(round(ScalarScoringKernel.recency(batch.updatedAt()[row], batch.nowEpochSecond(), properties.getRecencyHalfLifeDays()) * 100))
+            .totalScore(total)
+            .build();
+        log.debug(
+            "Scored {}: stars={}, forks={}, recency={}, total={}",
+            repository.getName(), scoreResult.getStarsScore(), scoreResult.getForksScore(),
+            scoreResult.getRecencyScore(), scoreResult.getTotalScore());
+        return repositoryMapper.toScoredRepository(repository, scoreResult);
     }
 
-    private ScoreResult calculateScoreWithMinMax(GithubRepository githubRepository, NormalisationStats stats) {
-        double starsScore = minMaxNormalize(githubRepository.getStargazersCount(), stats.minStars(), stats.maxStars()) * 100;
-        double forksScore = minMaxNormalize(githubRepository.getForksCount(), stats.minForks(), stats.maxForks()) * 100;
-        double recencyScore = calculateRecencyScore(githubRepository.getUpdatedAt()) * 100;
+    private ScoringBatch gatherColumns(List<GithubRepository> repositories) {
+        ScoringColumns gathered = new ScoringColumns(repositories.size());
+        gathered.append(repositories);
+        ScoringBatch batch = gathered.batch(0);
+        log.debug("Normalization bounds: stars [{}, {}], forks [{}, {}]",
+            batch.minStars(), batch.maxStars(), batch.minForks(), batch.maxForks());
+        columns.put(repositories, batch);
+        return batch;
+    }
 
-        double totalScore = (starsScore * properties.getStarsWeight())
-            + (forksScore * properties.getForksWeight())
-            + (recencyScore * properties.getRecencyWeight());
+    private static void evaluateFormula(
+            ScoringFormula formula, List<GithubRepository> repositories, ScoringBatch batch, double halfLife, double[] totals) {
+        // One reused variable row per request; the compiled formula reads it like a hand-written expression would
+        double[] variables = new double[FormulaVariable.values().length];
+        boolean usesRecency = formula.uses(RECENCY_SCORE);
+        long now = batch.nowEpochSecond();
+        for (int i = 0; i < batch.count(); i++) {
+            GithubRepository repository = repositories.get(i);
+            variables[STARS.ordinal()] = batch.stars()[i];
+            variables[FORKS.ordinal()] = batch.forks()[i];
+            variables[WATCHERS.ordinal()] = repository.getWatchersCount();
+            variables[OPEN_ISSUES.ordinal()] = repository.getOpenIssuesCount();
+            variables[DAYS_SINCE_UPDATE.ordinal()] = daysSince(batch.updatedAt()[i], now);
+            variables[DAYS_SINCE_PUSH.ordinal()] = daysSince(repository.getPushedAtEpochSecond(), now);
+            variables[STARS_SCORE.ordinal()] = ScalarScoringKernel.normalize(batch.stars()[i], batch.minStars(), batch.maxStars()) * 100;
+            variables[FORKS_SCORE.ordinal()] = ScalarScoringKernel.normalize(batch.forks()[i], batch.minForks(), batch.maxForks()) * 100;
+            if (usesRecency) {
+                variables[RECENCY_SCORE.ordinal()] = ScalarScoringKernel.recency(batch.updatedAt()[i], now, halfLife) * 100;
+            }
 
-        log.debug(
-            "Scored {}: stars={}, forks={}, recency={}, total={}",
-            githubRepository.getName(), round(starsScore), round(forksScore), round(recencyScore), round(totalScore));
+            // Non-finite results (log of zero, a missing timestamp) would break the ranking, so they score zero
+            double total = formula.evaluate(variables);
+            totals[i] = Double.isFinite(total) ? total : 0.0;
+        }
+    }
 
-        return ScoreResult.builder()
-            .starsScore(round(starsScore))
-            .forksScore(round(forksScore))
-            .recencyScore(round(recencyScore))
-            .totalScore(round(totalScore))
-            .build();
+    private static double daysSince(long epochSecond, long nowEpochSecond) {
+        return epochSecond == GithubRepository.NO_TIMESTAMP
+            ? Double.POSITIVE_INFINITY
+            : (nowEpochSecond - epochSecond) / ScoringKernel.SECONDS_PER_DAY;
     }
 
-    private double minMaxNormalize(int value, int min, int max) {
-        if (max == min) {
-            return 1.0; // If all values are the same, consider them all "max"
+    static int[] rankByScore(double[] scores) {
+        // Stable merge sort of row indices, highest score first, so ties keep GitHub's order
+        int[] order = new int[scores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[scores.length];
+        for (int width = 1; width < order.length; width <<= 1) {
+            for (int start = 0; start < order.length - width; start += width << 1) {
+                int middle = start + width;
+                int end = Math.min(start + (width << 1), order.length);
+                int left = start;
+                int right = middle;
+                int out = start;
+                while (left < middle && right < end) {
+                    buffer[out++] = scores[order[right]] > scores[order[left]] ? order[right++] : order[left++];
+                }
+                while (left < middle) {
+                    buffer[out++] = order[left++];
+                }
+                while (right < end) {
+                    buffer[out++] = order[right++];
+                }
+                System.arraycopy(buffer, start, order, start, end - start);
+            }
         }
-        return (double) (value - min) / (max - min);
+        return order;
     }
 
-    private double calculateRecencyScore(LocalDateTime updatedAt) {
-        if (updatedAt == null) {
-            return 0.0;
+    static int[] selectTopK(double[] scores, int k) {
+        // Bounded min-heap of (score, index) in parallel arrays: O(n log k) with no boxing, and only k slots held
+        double[] heapScores = new double[k];
+        int[] heapIndices = new int[k];
+        int size = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (size < k) {
+                heapScores[size] = scores[i];
+                heapIndices[size] = i;
+                siftUp(heapScores, heapIndices, size++);
+            } else if (worse(heapScores[0], heapIndices[0], scores[i], i)) {
+                heapScores[0] = scores[i];
+                heapIndices[0] = i;
+                siftDown(heapScores, heapIndices, 0, size);
+            }
         }
 
-        long daysSinceUpdate = ChronoUnit.DAYS.between(updatedAt, LocalDateTime.now());
-        double halfLife = properties.getRecencyHalfLifeDays();
+        // Popping the worst each time fills the ranking from the bottom up
+        int[] order = new int[size];
+        for (int last = size - 1; last >= 0; last--) {
+            order[last] = heapIndices[0];
+            heapScores[0] = heapScores[last];
+            heapIndices[0] = heapIndices[last];
+            siftDown(heapScores, heapIndices, 0, last);
+        }
+        return order;
+    }
+
+    private static void siftUp(double[] scores, int[] indices, int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!worse(scores[position], indices[position], scores[parent], indices[parent])) {
+                return;
+            }
+            swap(scores, indices, position, parent);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(double[] scores, int[] indices, int position, int size) {
+        while (true) {
+            int child = (position << 1) + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && worse(scores[child + 1], indices[child + 1], scores[child], indices[child])) {
+                child++;
+            }
+            if (!worse(scores[child], indices[child], scores[position], indices[position])) {
+                return;
+            }
+            swap(scores, indices, position, child);
+            position = child;
+        }
+    }
+
+    private static boolean worse(double score, int index, double otherScore, int otherIndex) {
+        // Lower scores rank lower; among ties the later row does, matching the stable full sort
+        return score < otherScore || (score == otherScore && index > otherIndex);
+    }
 
-        return Math.exp(-daysSinceUpdate / halfLife);
+    private static void swap(double[] scores, int[] indices, int a, int b) {
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        int index = indices[a];
+        indices[a] = indices[b];
+        indices[b] = index;
     }
 
-    private double round(double value) {
+    private static double round(double value) {
         return Math.round(value * 100.0) / 100.0;
     }
 }
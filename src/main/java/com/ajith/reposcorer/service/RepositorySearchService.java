@@ -1,13 +1,22 @@
 package com.ajith.reposcorer.service;
 
-import com.ajith.reposcorer.client.GithubApiClient;
+import com.ajith.reposcorer.client.DateWindowHarvester;
+import com.ajith.reposcorer.client.SearchResultCache;
 import com.ajith.reposcorer.client.dto.GithubRepository;
 import com.ajith.reposcorer.client.dto.GithubSearchResponse;
 import com.ajith.reposcorer.dto.RepositoryScoringResponse;
 import com.ajith.reposcorer.dto.RepositorySearchRequest;
 import com.ajith.reposcorer.dto.ScoredRepository;
+import com.ajith.reposcorer.exception.CachedResultsNotFoundException;
+import com.ajith.reposcorer.exception.GithubUnavailableException;
 import com.ajith.reposcorer.mapper.RepositoryMapper;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.formula.FormulaCompiler;
+import com.ajith.reposcorer.service.formula.ScoringFormula;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,21 +26,116 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class RepositorySearchService
 {
-    private final GithubApiClient githubApiClient;
+    private final SearchResultCache searchResultCache;
+    private final DateWindowHarvester dateWindowHarvester;
     private final RepositoryScoringService repositoryScoringService;
     private final RepositoryMapper repositoryMapper;
+    private final StaleSearchFallback staleSearchFallback;
+    private final ScoredResultCache scoredResultCache;
+    private final FormulaCompiler formulaCompiler;
+    private final ScoringProperties scoringProperties;
 
 
     public RepositoryScoringResponse searchAndScoreRepositories(RepositorySearchRequest request)
+    {
+        return searchAndScoreRepositories(request, null);
+    }
+
+
+    public RepositoryScoringResponse searchAndScoreRepositories(
+        RepositorySearchRequest request,
+        Consumer<List<ScoredRepository>> onRanking)
     {
         log.debug("Searching repositories with criteria: {}", request);
 
-        GithubSearchResponse searchResponse = githubApiClient.searchRepositories(
-            request.getLanguage(),
-            request.getCreatedAfter(),
-            request.getMaxResults()
-        );
+        // Compiled before any GitHub call, so an invalid formula is rejected without spending quota
+        ScoringFormula formula = compileFormula(request);
+
+        RepositoryScoringResponse scored = scoredResultCache.find(request);
+        if (scored != null)
+        {
+            log.debug("Serving scored results for {} from cache", request);
+            if (!Boolean.TRUE.equals(request.getExhaustive()))
+            {
+                // Hits here never reach the search cache, which would otherwise let refresh-ahead drop the key
+                searchResultCache.recordAccess(request.getLanguage(), request.getCreatedAfter(), request.getMaxResults());
+            }
+            return scored;
+        }
+
+        String searchKey = searchKey(request);
+        GithubSearchResponse searchResponse;
+        try
+        {
+            searchResponse = onRanking != null && !Boolean.TRUE.equals(request.getExhaustive())
+                ? streamCandidates(request, formula, onRanking)
+                : fetchCandidates(request);
+            staleSearchFallback.remember(searchKey, searchResponse);
+        }
+        catch (GithubUnavailableException e)
+        {
+            GithubSearchResponse lastKnownGood = staleSearchFallback.recall(searchKey).orElseThrow(() -> e);
+            staleSearchFallback.refreshInBackground(searchKey, e.getRetryAfterMillis(), () -> fetchCandidates(request));
+
+            RepositoryScoringResponse response = scoreAndMap(request, lastKnownGood, formula);
+            response.setStale(true);
+            return response;
+        }
 
+        RepositoryScoringResponse response = scoreAndMap(request, searchResponse, formula);
+        scoredResultCache.store(request, response);
+        return response;
+    }
+
+
+    public RepositoryScoringResponse rescore(RepositorySearchRequest request)
+    {
+        log.debug("Rescoring cached candidates for: {}", request);
+
+        ScoringFormula formula = compileFormula(request);
+        GithubSearchResponse cached = findCachedCandidates(request).orElseThrow(() -> new CachedResultsNotFoundException(
+            "No cached search results for " + request.getLanguage() + " created after " + request.getCreatedAfter()
+                + "; run the search first"));
+        return scoreAndMap(request, cached, formula);
+    }
+
+
+    private Optional<GithubSearchResponse> findCachedCandidates(RepositorySearchRequest request)
+    {
+        // Only data already held in memory; a rescore never calls GitHub
+        if (Boolean.TRUE.equals(request.getExhaustive()))
+        {
+            return staleSearchFallback.recall(searchKey(request));
+        }
+        return searchResultCache.peek(request.getLanguage(), request.getCreatedAfter(), request.getMaxResults())
+            .or(() -> staleSearchFallback.recall(searchKey(request)));
+    }
+
+
+    private ScoringFormula compileFormula(RepositorySearchRequest request)
+    {
+        return formulaCompiler.compile(request.getFormula() != null ? request.getFormula() : scoringProperties.getFormula());
+    }
+
+
+    private ScoringProperties scoringWeights(RepositorySearchRequest request)
+    {
+        if (!request.overridesWeights())
+        {
+            return scoringProperties;
+        }
+
+        ScoringProperties weights = new ScoringProperties();
+        weights.setStarsWeight(Objects.requireNonNullElse(request.getStarsWeight(), scoringProperties.getStarsWeight()));
+        weights.setForksWeight(Objects.requireNonNullElse(request.getForksWeight(), scoringProperties.getForksWeight()));
+        weights.setRecencyWeight(Objects.requireNonNullElse(request.getRecencyWeight(), scoringProperties.getRecencyWeight()));
+        weights.setRecencyHalfLifeDays(scoringProperties.getRecencyHalfLifeDays());
+        return weights;
+    }
+
+
+    private RepositoryScoringResponse scoreAndMap(RepositorySearchRequest request, GithubSearchResponse searchResponse, ScoringFormula formula)
+    {
         List<GithubRepository> repositories = searchResponse.getItems();
         int totalCount = searchResponse.getTotalCount();
         boolean incompleteResults = searchResponse.getIncompleteResults();
@@ -41,10 +145,60 @@ public class RepositorySearchService
             return repositoryMapper.toRepositoryScoringResponse(request, List.of(), totalCount, incompleteResults);
         }
 
-        List<ScoredRepository> scoredRepositories = repositoryScoringService.scoreAndMapRepository(repositories);
-        log.debug("Scored and sorted {} repositories", scoredRepositories.size());
+        // Every requested candidate is scored, but only the rows returned are mapped; a cached superset is scored by prefix
+        int rows = Boolean.TRUE.equals(request.getExhaustive())
+            ? repositories.size()
+            : Math.min(repositories.size(), request.getMaxResults());
+        List<ScoredRepository> scoredRepositories = repositoryScoringService.scoreAndMapRepository(
+            repositories, rows, request.resultLimit(), formula, scoringWeights(request));
+        log.debug("Scored {} repositories and kept the top {}", rows, scoredRepositories.size());
 
         return repositoryMapper.toRepositoryScoringResponse(request, scoredRepositories, totalCount, incompleteResults);
     }
-}
 
+
+    private String searchKey(RepositorySearchRequest request)
+    {
+        // Same language normalization as the search cache, so "Java" and "java" share a stale fallback
+        String language = SearchResultCache.normalizeLanguage(request.getLanguage());
+        return Boolean.TRUE.equals(request.getExhaustive())
+            ? "harvest-" + language + '-' + request.getCreatedAfter()
+            : language + '-' + request.getCreatedAfter() + '-' + request.getMaxResults();
+    }
+
+
+    private GithubSearchResponse streamCandidates(
+        RepositorySearchRequest request,
+        ScoringFormula formula,
+        Consumer<List<ScoredRepository>> onRanking)
+    {
+        // Provisional rankings as pages arrive; only the rows a page adds are scored unless the bounds move
+        IncrementalScorer scorer = repositoryScoringService.incrementalScorer();
+        ScoringProperties weights = scoringWeights(request);
+        return searchResultCache.search(
+            request.getLanguage(),
+            request.getCreatedAfter(),
+            request.getMaxResults(),
+            page -> {
+                scorer.addPage(page);
+                onRanking.accept(scorer.ranking(request.resultLimit(), formula, weights));
+            });
+    }
+
+
+    private GithubSearchResponse fetchCandidates(RepositorySearchRequest request)
+    {
+        if (Boolean.TRUE.equals(request.getExhaustive()))
+        {
+            return dateWindowHarvester.harvestRepositories(
+                SearchResultCache.normalizeLanguage(request.getLanguage()),
+                request.getCreatedAfter());
+        }
+
+        return searchResultCache.search(
+            request.getLanguage(),
+            request.getCreatedAfter(),
+            request.getMaxResults()
+        );
+    }
+}
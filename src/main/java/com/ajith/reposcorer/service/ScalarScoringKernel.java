@@ -0,0 +1,48 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.properties.ScoringProperties;
+
+public class ScalarScoringKernel implements ScoringKernel
+{
+
+    @Override
+    public void score(ScoringBatch batch, ScoringProperties properties, double[] totals)
+    {
+        double starsWeight = properties.getStarsWeight();
+        double forksWeight = properties.getForksWeight();
+        double recencyWeight = properties.getRecencyWeight();
+        double halfLife = properties.getRecencyHalfLifeDays();
+
+        for (int i = 0; i < batch.count(); i++)
+        {
+            double starsScore = normalize(batch.stars()[i], batch.minStars(), batch.maxStars()) * 100;
+            double forksScore = normalize(batch.forks()[i], batch.minForks(), batch.maxForks()) * 100;
+            double recencyScore = recency(batch.updatedAt()[i], batch.nowEpochSecond(), halfLife) * 100;
+            totals[i] = starsScore * starsWeight + forksScore * forksWeight + recencyScore * recencyWeight;
+        }
+    }
+
+
+    public static double normalize(double value, int min, int max)
+    {
+        if (max == min)
+        {
+            return 1.0; // If all values are the same, consider them all "max"
+        }
+        return (value - min) / (max - min);
+    }
+
+
+    public static double recency(long updatedAtEpochSecond, long nowEpochSecond, double halfLife)
+    {
+        if (updatedAtEpochSecond == GithubRepository.NO_TIMESTAMP)
+        {
+            return 0.0;
+        }
+
+        // Whole days, truncated towards zero like ChronoUnit.DAYS.between
+        long daysSinceUpdate = (nowEpochSecond - updatedAtEpochSecond) / SECONDS_PER_DAY;
+        return Math.exp(-daysSinceUpdate / halfLife);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.client.SearchResultCache;
+import com.ajith.reposcorer.dto.RepositoryScoringResponse;
+import com.ajith.reposcorer.dto.RepositorySearchRequest;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class ScoredResultCache
+{
+    public static final String CACHE_NAME = "scoredResults";
+
+    private final CacheManager cacheManager;
+    private final ScoringProperties scoringProperties;
+    private final AtomicInteger currentFingerprint;
+
+
+    public ScoredResultCache(CacheManager cacheManager, ScoringProperties scoringProperties)
+    {
+        this.cacheManager = cacheManager;
+        this.scoringProperties = scoringProperties;
+        this.currentFingerprint = new AtomicInteger(fingerprint(scoringProperties));
+    }
+
+
+    public RepositoryScoringResponse find(RepositorySearchRequest request)
+    {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        return cache != null ? cache.get(key(request, cache), RepositoryScoringResponse.class) : null;
+    }
+
+
+    public void store(RepositorySearchRequest request, RepositoryScoringResponse response)
+    {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null && !Boolean.TRUE.equals(response.getStale()))
+        {
+            cache.put(key(request, cache), response);
+        }
+    }
+
+
+    private ScoredResultKey key(RepositorySearchRequest request, Cache cache)
+    {
+        int fingerprint = fingerprint(scoringProperties);
+        int previous = currentFingerprint.getAndSet(fingerprint);
+        if (previous != fingerprint)
+        {
+            log.info("Scoring configuration changed; discarding cached scored results");
+            cache.clear();
+        }
+
+        // Recency scores are whole days old, so a result is good until the date changes
+        return new ScoredResultKey(
+            SearchResultCache.normalizeLanguage(request.getLanguage()),
+            request.getCreatedAfter(),
+            request.getMaxResults(),
+            request.resultLimit(),
+            Boolean.TRUE.equals(request.getExhaustive()),
+            request.getFormula(),
+            request.getStarsWeight(),
+            request.getForksWeight(),
+            request.getRecencyWeight(),
+            fingerprint,
+            LocalDate.now().toEpochDay());
+    }
+
+
+    private static int fingerprint(ScoringProperties properties)
+    {
+        return Objects.hash(
+            properties.getStarsWeight(),
+            properties.getForksWeight(),
+            properties.getRecencyWeight(),
+            properties.getRecencyHalfLifeDays(),
+            properties.getFormula());
+    }
+
+
+    private record ScoredResultKey(
+        String language,
+        LocalDate createdAfter,
+        Integer maxResults,
+        int resultLimit,
+        boolean exhaustive,
+        String formula,
+        Double starsWeight,
+        Double forksWeight,
+        Double recencyWeight,
+        int scoringFingerprint,
+        long epochDay)
+    {
+    }
+}
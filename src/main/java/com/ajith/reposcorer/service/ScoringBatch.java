@@ -0,0 +1,45 @@
+package com.ajith.reposcorer.service;
+
+public record ScoringBatch(
+    int count,
+    double[] stars,
+    double[] forks,
+    long[] updatedAt,
+    int minStars,
+    int maxStars,
+    int minForks,
+    int maxForks,
+    long nowEpochSecond)
+{
+
+    public ScoringBatch prefix(int rows)
+    {
+        if (rows >= count)
+        {
+            return this;
+        }
+
+        // Bounds belong to the scored pool, so a shorter prefix rescans its columns; no per-repository objects are touched
+        int minStarsSeen = Integer.MAX_VALUE;
+        int maxStarsSeen = Integer.MIN_VALUE;
+        int minForksSeen = Integer.MAX_VALUE;
+        int maxForksSeen = Integer.MIN_VALUE;
+        for (int i = 0; i < rows; i++)
+        {
+            minStarsSeen = Math.min(minStarsSeen, (int) stars[i]);
+            maxStarsSeen = Math.max(maxStarsSeen, (int) stars[i]);
+            minForksSeen = Math.min(minForksSeen, (int) forks[i]);
+            maxForksSeen = Math.max(maxForksSeen, (int) forks[i]);
+        }
+        return new ScoringBatch(
+            rows, stars, forks, updatedAt,
+            minStarsSeen, Math.max(maxStarsSeen, 1), minForksSeen, Math.max(maxForksSeen, 1), nowEpochSecond);
+    }
+
+
+    public ScoringBatch at(long epochSecond)
+    {
+        // Columns and bounds are independent of the clock, so they can be reused across requests
+        return new ScoringBatch(count, stars, forks, updatedAt, minStars, maxStars, minForks, maxForks, epochSecond);
+    }
+}
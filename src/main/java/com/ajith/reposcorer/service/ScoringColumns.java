@@ -0,0 +1,72 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import java.util.Arrays;
+import java.util.List;
+
+final class ScoringColumns
+{
+    private double[] stars;
+    private double[] forks;
+    private long[] updatedAt;
+    private int count;
+
+    private int minStars = Integer.MAX_VALUE;
+    private int maxStars = Integer.MIN_VALUE;
+    private int minForks = Integer.MAX_VALUE;
+    private int maxForks = Integer.MIN_VALUE;
+
+
+    ScoringColumns(int capacity)
+    {
+        stars = new double[capacity];
+        forks = new double[capacity];
+        updatedAt = new long[capacity];
+    }
+
+
+    void append(List<GithubRepository> repositories)
+    {
+        // Columnar pass: primitives only, so scoring large candidate pools allocates a few arrays rather than per-repo objects
+        ensureCapacity(count + repositories.size());
+        for (GithubRepository repository : repositories)
+        {
+            int starCount = repository.getStargazersCount();
+            int forkCount = repository.getForksCount();
+            stars[count] = starCount;
+            forks[count] = forkCount;
+            updatedAt[count] = repository.getUpdatedAtEpochSecond();
+            minStars = Math.min(minStars, starCount);
+            maxStars = Math.max(maxStars, starCount);
+            minForks = Math.min(minForks, forkCount);
+            maxForks = Math.max(maxForks, forkCount);
+            count++;
+        }
+    }
+
+
+    int count()
+    {
+        return count;
+    }
+
+
+    ScoringBatch batch(long nowEpochSecond)
+    {
+        // The arrays are shared, not copied; rows past count belong to later appends
+        return new ScoringBatch(
+            count, stars, forks, updatedAt, minStars, Math.max(maxStars, 1), minForks, Math.max(maxForks, 1), nowEpochSecond);
+    }
+
+
+    private void ensureCapacity(int required)
+    {
+        if (required > stars.length)
+        {
+            int capacity = Math.max(required, stars.length << 1);
+            stars = Arrays.copyOf(stars, capacity);
+            forks = Arrays.copyOf(forks, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+        }
+    }
+}
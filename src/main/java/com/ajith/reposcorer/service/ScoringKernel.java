@@ -0,0 +1,11 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.properties.ScoringProperties;
+
+public interface ScoringKernel
+{
+    long SECONDS_PER_DAY = 86_400;
+
+    // Writes each row's unrounded weighted score into totals
+    void score(ScoringBatch batch, ScoringProperties properties, double[] totals);
+}
@@ -0,0 +1,74 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StaleSearchFallback
+{
+    public static final String CACHE_NAME = "githubSearchFallbacks";
+
+    private final CacheManager cacheManager;
+    private final Set<String> pendingRefreshes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+
+    public void remember(String key, GithubSearchResponse response)
+    {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null)
+        {
+            cache.put(key, response);
+        }
+    }
+
+
+    public Optional<GithubSearchResponse> recall(String key)
+    {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        return Optional.ofNullable(cache != null ? cache.get(key, GithubSearchResponse.class) : null);
+    }
+
+
+    public void refreshInBackground(String key, long delayMillis, Supplier<GithubSearchResponse> fetch)
+    {
+        if (!pendingRefreshes.add(key))
+        {
+            return;
+        }
+
+        log.info("Serving stale results for {}; refreshing in the background in {} ms", key, delayMillis);
+
+        CompletableFuture.runAsync(
+            () -> {
+                try
+                {
+                    remember(key, fetch.get());
+                    log.info("Background refresh of {} succeeded", key);
+                }
+                catch (RuntimeException e)
+                {
+                    log.warn("Background refresh of {} failed: {}", key, e.getMessage());
+                }
+                finally
+                {
+                    pendingRefreshes.remove(key);
+                }
+            },
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, executor));
+    }
+}
@@ -0,0 +1,183 @@
+package com.ajith.reposcorer.service.formula;
+
+import com.ajith.reposcorer.exception.InvalidFormulaException;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class FormulaCompiler
+{
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType EVALUATE = MethodType.methodType(double.class, double[].class);
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+    private static final MethodType BINARY = MethodType.methodType(double.class, double.class, double.class);
+    private static final MethodHandle VARIABLE = MethodHandles.arrayElementGetter(double[].class);
+    private static final MethodHandle ADD = operator("add", BINARY);
+    private static final MethodHandle SUBTRACT = operator("subtract", BINARY);
+    private static final MethodHandle MULTIPLY = operator("multiply", BINARY);
+    private static final MethodHandle DIVIDE = operator("divide", BINARY);
+    private static final MethodHandle NEGATE = operator("negate", UNARY);
+
+    private final LoadingCache<String, ScoringFormula> compiled;
+
+
+    public FormulaCompiler(ScoringProperties scoringProperties)
+    {
+        this.compiled = Caffeine.newBuilder()
+            .maximumSize(scoringProperties.getFormulaCacheSize())
+            .build(FormulaCompiler::compileFormula);
+    }
+
+
+    public ScoringFormula compile(String text)
+    {
+        // Parsed and compiled once per distinct text into a method handle chain
+        return text == null || text.isBlank() ? null : compiled.get(text.strip());
+    }
+
+
+    static ScoringFormula compileFormula(String text)
+    {
+        FormulaNode root = FormulaParser.parse(text);
+        Set<FormulaVariable> variables = EnumSet.noneOf(FormulaVariable.class);
+        collectVariables(root, variables);
+
+        try
+        {
+            FormulaEvaluator evaluator = new HandleEvaluator(handle(root));
+            log.info("Compiled scoring formula: {}", text);
+            return new ScoringFormula(text, Set.copyOf(variables), evaluator);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new InvalidFormulaException("Could not compile formula: " + text + " (" + e.getMessage() + ")");
+        }
+    }
+
+
+    private static MethodHandle handle(FormulaNode node) throws ReflectiveOperationException
+    {
+        // Every node becomes a (double[])double handle; the JIT inlines the whole chain like hand-written code
+        return switch (node)
+        {
+            case FormulaNode.Constant constant ->
+                MethodHandles.dropArguments(MethodHandles.constant(double.class, constant.value()), 0, double[].class);
+            case FormulaNode.Variable variable ->
+                MethodHandles.insertArguments(VARIABLE, 1, variable.variable().ordinal());
+            case FormulaNode.Negate negate -> MethodHandles.filterReturnValue(handle(negate.operand()), NEGATE);
+            case FormulaNode.Binary binary -> apply(switch (binary.operator())
+            {
+                case '+' -> ADD;
+                case '-' -> SUBTRACT;
+                case '*' -> MULTIPLY;
+                default -> DIVIDE;
+            }, List.of(binary.left(), binary.right()));
+            case FormulaNode.Call call -> apply(
+                LOOKUP.findStatic(Math.class, call.function(), call.arguments().size() == 1 ? UNARY : BINARY),
+                call.arguments());
+        };
+    }
+
+
+    private static MethodHandle apply(MethodHandle function, List<FormulaNode> arguments) throws ReflectiveOperationException
+    {
+        // (double, double)double over two (double[])double handles gives (double[], double[])double; both take the same array
+        MethodHandle[] operands = new MethodHandle[arguments.size()];
+        for (int i = 0; i < operands.length; i++)
+        {
+            operands[i] = handle(arguments.get(i));
+        }
+        MethodHandle filtered = MethodHandles.filterArguments(function, 0, operands);
+        return MethodHandles.permuteArguments(filtered, EVALUATE, new int[operands.length]);
+    }
+
+
+    private static double add(double left, double right)
+    {
+        return left + right;
+    }
+
+
+    private static double subtract(double left, double right)
+    {
+        return left - right;
+    }
+
+
+    private static double multiply(double left, double right)
+    {
+        return left * right;
+    }
+
+
+    private static double divide(double left, double right)
+    {
+        return left / right;
+    }
+
+
+    private static double negate(double operand)
+    {
+        return -operand;
+    }
+
+
+    private static MethodHandle operator(String name, MethodType type)
+    {
+        try
+        {
+            return LOOKUP.findStatic(FormulaCompiler.class, name, type);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private static void collectVariables(FormulaNode node, Set<FormulaVariable> variables)
+    {
+        switch (node)
+        {
+            case FormulaNode.Constant constant ->
+            {
+            }
+            case FormulaNode.Variable variable -> variables.add(variable.variable());
+            case FormulaNode.Negate negate -> collectVariables(negate.operand(), variables);
+            case FormulaNode.Binary binary ->
+            {
+                collectVariables(binary.left(), variables);
+                collectVariables(binary.right(), variables);
+            }
+            case FormulaNode.Call call -> call.arguments().forEach(argument -> collectVariables(argument, variables));
+        }
+    }
+
+
+    private record HandleEvaluator(MethodHandle handle) implements FormulaEvaluator
+    {
+        @Override
+        public double evaluate(double[] variables)
+        {
+            try
+            {
+                return (double) handle.invokeExact(variables);
+            }
+            catch (Throwable e)
+            {
+                // The chain only does arithmetic and Math calls, none of which throw
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
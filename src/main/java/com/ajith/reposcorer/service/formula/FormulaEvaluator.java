@@ -0,0 +1,7 @@
+package com.ajith.reposcorer.service.formula;
+
+public interface FormulaEvaluator
+{
+    // Variables are indexed by FormulaVariable.ordinal()
+    double evaluate(double[] variables);
+}
@@ -0,0 +1,31 @@
+package com.ajith.reposcorer.service.formula;
+
+import java.util.List;
+
+sealed interface FormulaNode
+{
+
+    record Constant(double value) implements FormulaNode
+    {
+    }
+
+
+    record Variable(FormulaVariable variable) implements FormulaNode
+    {
+    }
+
+
+    record Negate(FormulaNode operand) implements FormulaNode
+    {
+    }
+
+
+    record Binary(char operator, FormulaNode left, FormulaNode right) implements FormulaNode
+    {
+    }
+
+
+    record Call(String function, List<FormulaNode> arguments) implements FormulaNode
+    {
+    }
+}
@@ -0,0 +1,209 @@
+package com.ajith.reposcorer.service.formula;
+
+import com.ajith.reposcorer.exception.InvalidFormulaException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+final class FormulaParser
+{
+    // java.lang.Math functions callable from a formula, by arity
+    static final Map<String, Integer> FUNCTIONS = Map.of(
+        "log", 1,
+        "log10", 1,
+        "log1p", 1,
+        "sqrt", 1,
+        "exp", 1,
+        "abs", 1,
+        "min", 2,
+        "max", 2,
+        "pow", 2);
+
+    private final String text;
+    private int position;
+
+
+    private FormulaParser(String text)
+    {
+        this.text = text;
+    }
+
+
+    static FormulaNode parse(String text)
+    {
+        FormulaParser parser = new FormulaParser(text);
+        FormulaNode node = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < text.length())
+        {
+            throw parser.error("Unexpected '" + text.charAt(parser.position) + "'");
+        }
+        return node;
+    }
+
+
+    private FormulaNode expression()
+    {
+        FormulaNode node = term();
+        while (true)
+        {
+            if (accept('+'))
+            {
+                node = new FormulaNode.Binary('+', node, term());
+            }
+            else if (accept('-'))
+            {
+                node = new FormulaNode.Binary('-', node, term());
+            }
+            else
+            {
+                return node;
+            }
+        }
+    }
+
+
+    private FormulaNode term()
+    {
+        FormulaNode node = unary();
+        while (true)
+        {
+            if (accept('*'))
+            {
+                node = new FormulaNode.Binary('*', node, unary());
+            }
+            else if (accept('/'))
+            {
+                node = new FormulaNode.Binary('/', node, unary());
+            }
+            else
+            {
+                return node;
+            }
+        }
+    }
+
+
+    private FormulaNode unary()
+    {
+        return accept('-') ? new FormulaNode.Negate(unary()) : primary();
+    }
+
+
+    private FormulaNode primary()
+    {
+        skipWhitespace();
+        if (accept('('))
+        {
+            FormulaNode node = expression();
+            expect(')');
+            return node;
+        }
+        if (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.'))
+        {
+            return number();
+        }
+        if (position < text.length() && Character.isLetter(text.charAt(position)))
+        {
+            return identifier();
+        }
+        throw error(position < text.length() ? "Unexpected '" + text.charAt(position) + "'" : "Unexpected end of formula");
+    }
+
+
+    private FormulaNode number()
+    {
+        int start = position;
+        while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.'))
+        {
+            position++;
+        }
+        try
+        {
+            return new FormulaNode.Constant(Double.parseDouble(text.substring(start, position)));
+        }
+        catch (NumberFormatException e)
+        {
+            position = start;
+            throw error("Malformed number");
+        }
+    }
+
+
+    private FormulaNode identifier()
+    {
+        int start = position;
+        while (position < text.length() && Character.isLetterOrDigit(text.charAt(position)))
+        {
+            position++;
+        }
+        String name = text.substring(start, position);
+
+        if (!accept('('))
+        {
+            FormulaVariable variable = FormulaVariable.byName(name);
+            if (variable == null)
+            {
+                position = start;
+                throw error("Unknown variable '" + name + "'");
+            }
+            return new FormulaNode.Variable(variable);
+        }
+
+        Integer arity = FUNCTIONS.get(name);
+        if (arity == null)
+        {
+            position = start;
+            throw error("Unknown function '" + name + "'");
+        }
+        List<FormulaNode> arguments = new ArrayList<>(arity);
+        arguments.add(expression());
+        while (accept(','))
+        {
+            arguments.add(expression());
+        }
+        expect(')');
+        if (arguments.size() != arity)
+        {
+            position = start;
+            throw error("Function '" + name + "' takes " + arity + " argument(s)");
+        }
+        return new FormulaNode.Call(name, List.copyOf(arguments));
+    }
+
+
+    private boolean accept(char expected)
+    {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected)
+        {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+
+    private void expect(char expected)
+    {
+        if (!accept(expected))
+        {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+
+    private void skipWhitespace()
+    {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position)))
+        {
+            position++;
+        }
+    }
+
+
+    private InvalidFormulaException error(String message)
+    {
+        return new InvalidFormulaException(message + " at position " + position + " in formula: " + text);
+    }
+}
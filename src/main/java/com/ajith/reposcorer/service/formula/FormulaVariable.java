@@ -0,0 +1,42 @@
+package com.ajith.reposcorer.service.formula;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public enum FormulaVariable
+{
+    STARS("stars"),
+    FORKS("forks"),
+    WATCHERS("watchers"),
+    OPEN_ISSUES("openIssues"),
+    DAYS_SINCE_UPDATE("daysSinceUpdate"),
+    DAYS_SINCE_PUSH("daysSincePush"),
+    STARS_SCORE("starsScore"),
+    FORKS_SCORE("forksScore"),
+    RECENCY_SCORE("recencyScore");
+
+    private static final Map<String, FormulaVariable> BY_NAME =
+        Arrays.stream(values()).collect(Collectors.toUnmodifiableMap(FormulaVariable::getName, Function.identity()));
+
+    private final String name;
+
+
+    FormulaVariable(String name)
+    {
+        this.name = name;
+    }
+
+
+    public String getName()
+    {
+        return name;
+    }
+
+
+    static FormulaVariable byName(String name)
+    {
+        return BY_NAME.get(name);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ajith.reposcorer.service.formula;
+
+import java.util.Set;
+
+public record ScoringFormula(String text, Set<FormulaVariable> variables, FormulaEvaluator evaluator)
+{
+
+    public boolean uses(FormulaVariable variable)
+    {
+        return variables.contains(variable);
+    }
+
+
+    public double evaluate(double[] values)
+    {
+        return evaluator.evaluate(values);
+    }
+}
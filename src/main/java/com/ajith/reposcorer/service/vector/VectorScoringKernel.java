@@ -0,0 +1,75 @@
+package com.ajith.reposcorer.service.vector;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.ScalarScoringKernel;
+import com.ajith.reposcorer.service.ScoringBatch;
+import com.ajith.reposcorer.service.ScoringKernel;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Compiled only by the vector profile; needs --add-modules jdk.incubator.vector at build and run time
+public class VectorScoringKernel implements ScoringKernel
+{
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+
+
+    @Override
+    public void score(ScoringBatch batch, ScoringProperties properties, double[] totals)
+    {
+        double starsWeight = properties.getStarsWeight();
+        double forksWeight = properties.getForksWeight();
+        double recencyWeight = properties.getRecencyWeight();
+        double halfLife = properties.getRecencyHalfLifeDays();
+
+        int count = batch.count();
+        int upperBound = DOUBLES.loopBound(count);
+        int i = 0;
+        for (; i < upperBound; i += DOUBLES.length())
+        {
+            // Same operations in the same order as the scalar kernel, so only exp may differ, by an ulp at most
+            DoubleVector starsScore = normalize(DoubleVector.fromArray(DOUBLES, batch.stars(), i), batch.minStars(), batch.maxStars()).mul(100);
+            DoubleVector forksScore = normalize(DoubleVector.fromArray(DOUBLES, batch.forks(), i), batch.minForks(), batch.maxForks()).mul(100);
+            DoubleVector recencyScore = recency(LongVector.fromArray(LONGS, batch.updatedAt(), i), batch.nowEpochSecond(), halfLife).mul(100);
+
+            starsScore.mul(starsWeight)
+                .add(forksScore.mul(forksWeight))
+                .add(recencyScore.mul(recencyWeight))
+                .intoArray(totals, i);
+        }
+
+        for (; i < count; i++)
+        {
+            double starsScore = ScalarScoringKernel.normalize(batch.stars()[i], batch.minStars(), batch.maxStars()) * 100;
+            double forksScore = ScalarScoringKernel.normalize(batch.forks()[i], batch.minForks(), batch.maxForks()) * 100;
+            double recencyScore = ScalarScoringKernel.recency(batch.updatedAt()[i], batch.nowEpochSecond(), halfLife) * 100;
+            totals[i] = starsScore * starsWeight + forksScore * forksWeight + recencyScore * recencyWeight;
+        }
+    }
+
+
+    private static DoubleVector normalize(DoubleVector values, int min, int max)
+    {
+        if (max == min)
+        {
+            return DoubleVector.broadcast(DOUBLES, 1.0);
+        }
+        return values.sub(min).div(max - min);
+    }
+
+
+    private static DoubleVector recency(LongVector updatedAt, long nowEpochSecond, double halfLife)
+    {
+        VectorMask<Double> missing = updatedAt.compare(VectorOperators.EQ, GithubRepository.NO_TIMESTAMP).cast(DOUBLES);
+        DoubleVector days = (DoubleVector) updatedAt.neg()
+            .add(nowEpochSecond)
+            .lanewise(VectorOperators.DIV, SECONDS_PER_DAY)
+            .convert(VectorOperators.L2D, 0);
+
+        return days.neg().div(halfLife).lanewise(VectorOperators.EXP).blend(0.0, missing);
+    }
+}
@@ -1,12 +1,27 @@
 package com.ajith.reposcorer;
 
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class RepoScorerApplicationTests
 {
 
+    @TempDir
+    private static Path cacheDirectory;
+
+
+    @DynamicPropertySource
+    static void cacheProperties(DynamicPropertyRegistry registry)
+    {
+        registry.add("caching.disk-directory", cacheDirectory::toString);
+    }
+
+
     @Test
     void contextLoads()
     {
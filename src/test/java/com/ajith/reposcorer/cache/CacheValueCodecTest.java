@@ -0,0 +1,71 @@
+package com.ajith.reposcorer.cache;
+
+import com.ajith.reposcorer.client.ValidatedPage;
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValueCodecTest
+{
+
+    private final CacheValueCodec codec = new CacheValueCodec();
+
+
+    @Test
+    void decode_ofEncodedSearchResponse_restoresEveryField()
+    {
+        // Given
+        GithubRepository repository = GithubRepository.builder()
+            .id(42L)
+            .name("repo")
+            .fullName("owner/repo")
+            .htmlUrl("https://github.com/owner/repo")
+            .language("Java")
+            .stargazersCount(100)
+            .forksCount(20)
+            .watchersCount(100)
+            .openIssuesCount(3)
+            .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+            .updatedAt(LocalDateTime.of(2024, 6, 1, 8, 30))
+            .build();
+        GithubSearchResponse response = new GithubSearchResponse(1, false, List.of(repository));
+
+        // When
+        Object decoded = codec.decode(codec.encode(response));
+
+        // Then
+        assertThat(decoded).isEqualTo(response);
+        assertThat(((GithubSearchResponse) decoded).getItems().getFirst().getDescription()).isNull();
+        assertThat(((GithubSearchResponse) decoded).getItems().getFirst().getPushedAt()).isNull();
+    }
+
+
+    @Test
+    void decode_ofEncodedValidatedPage_restoresEtagAndFetchTime()
+    {
+        // Given
+        ValidatedPage page = new ValidatedPage(
+            "\"abc123\"",
+            new GithubSearchResponse(null, null, null),
+            Instant.ofEpochMilli(1_700_000_000_123L));
+
+        // When
+        Object decoded = codec.decode(codec.encode(page));
+
+        // Then
+        assertThat(decoded).isEqualTo(page);
+    }
+
+
+    @Test
+    void supports_onlySearchValues()
+    {
+        assertThat(codec.supports(new GithubSearchResponse())).isTrue();
+        assertThat(codec.supports("text")).isFalse();
+    }
+}
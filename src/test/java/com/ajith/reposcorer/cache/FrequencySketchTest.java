@@ -0,0 +1,76 @@
+package com.ajith.reposcorer.cache;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencySketchTest
+{
+
+    @Test
+    void frequency_countsIncrementsUpToTheCounterCeiling()
+    {
+        // Given
+        FrequencySketch sketch = new FrequencySketch(64);
+
+        // When
+        for (int i = 0; i < 3; i++)
+        {
+            sketch.increment("hot");
+        }
+        for (int i = 0; i < 40; i++)
+        {
+            sketch.increment("hottest");
+        }
+
+        // Then
+        assertThat(sketch.frequency("hot")).isEqualTo(3);
+        assertThat(sketch.frequency("hottest")).isEqualTo(15);
+        assertThat(sketch.frequency("cold")).isLessThan(3);
+    }
+
+
+    @Test
+    void increment_afterSampleSizeAdditions_halvesEveryCounter()
+    {
+        // Given
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 15; i++)
+        {
+            sketch.increment("hot");
+        }
+
+        // When
+        int additions = 0;
+        while (sketch.frequency("hot") == 15 && additions < 1000)
+        {
+            sketch.increment("key-" + additions++);
+        }
+
+        // Then
+        assertThat(additions).isLessThan(1000);
+        assertThat(sketch.frequency("hot")).isLessThanOrEqualTo(7);
+    }
+
+
+    @Test
+    void increment_fromConcurrentThreads_countsEveryIncrement()
+    {
+        // Given
+        FrequencySketch sketch = new FrequencySketch(1024);
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int thread = 0; thread < 12; thread++)
+            {
+                executor.submit(() -> sketch.increment("shared"));
+            }
+        }
+
+        // Then
+        assertThat(sketch.frequency("shared")).isEqualTo(12);
+    }
+}
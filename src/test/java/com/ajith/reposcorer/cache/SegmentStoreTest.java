@@ -0,0 +1,165 @@
+package com.ajith.reposcorer.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentStoreTest
+{
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    private Path directory;
+
+
+    @Test
+    void get_afterReopen_returnsPersistedValue()
+    {
+        // Given
+        SegmentStore store = new SegmentStore(directory, SEGMENT_SIZE, 4, 0);
+        store.put("java-2024-01-01-10", bytes("first"), 1000L);
+        store.put("java-2024-01-01-10", bytes("second"), 2000L);
+        store.put("go-2024-01-01-10", bytes("other"), 3000L);
+        store.close();
+
+        // When
+        SegmentStore reopened = new SegmentStore(directory, SEGMENT_SIZE, 4, 0);
+        SegmentStore.Entry entry = reopened.get("java-2024-01-01-10");
+
+        // Then
+        assertThat(new String(entry.value(), StandardCharsets.UTF_8)).isEqualTo("second");
+        assertThat(entry.writtenAt()).isEqualTo(2000L);
+        assertThat(reopened.size()).isEqualTo(2);
+    }
+
+
+    @Test
+    void remove_isDurableAcrossReopen()
+    {
+        // Given
+        SegmentStore store = new SegmentStore(directory, SEGMENT_SIZE, 4, 0);
+        store.put("key", bytes("value"), System.currentTimeMillis());
+        store.remove("key");
+        store.close();
+
+        // When
+        SegmentStore reopened = new SegmentStore(directory, SEGMENT_SIZE, 4, 0);
+
+        // Then
+        assertThat(reopened.get("key")).isNull();
+    }
+
+
+    @Test
+    void get_whenOlderThanMaximumAge_returnsNull()
+    {
+        // Given
+        SegmentStore store = new SegmentStore(directory, SEGMENT_SIZE, 4, 1000);
+
+        // When
+        store.put("key", bytes("value"), System.currentTimeMillis() - 5000);
+
+        // Then
+        assertThat(store.get("key")).isNull();
+    }
+
+
+    @Test
+    void compact_rewritesMostlyDeadSegmentsAndKeepsLiveValues()
+    {
+        // Given
+        SegmentStore store = new SegmentStore(directory, SEGMENT_SIZE, 16, 0);
+        long now = System.currentTimeMillis();
+        store.put("survivor", bytes("kept"), now);
+        for (int i = 0; i < 200; i++)
+        {
+            store.put("churn", bytes("value-" + i), now);
+        }
+        int segmentsBefore = store.segmentCount();
+
+        // When
+        store.compact();
+
+        // Then
+        assertThat(segmentsBefore).isGreaterThan(1);
+        assertThat(store.segmentCount()).isLessThan(segmentsBefore);
+        assertThat(new String(store.get("survivor").value(), StandardCharsets.UTF_8)).isEqualTo("kept");
+        assertThat(new String(store.get("churn").value(), StandardCharsets.UTF_8)).isEqualTo("value-199");
+    }
+
+
+    @Test
+    void compact_keepsTombstonesWhileAnOlderSegmentHoldsTheRemovedValue()
+    {
+        // Given: a mostly live first segment still holding the removed value
+        SegmentStore store = new SegmentStore(directory, SEGMENT_SIZE, 16, 0);
+        long now = System.currentTimeMillis();
+        store.put("evicted", bytes("stale"), now);
+        for (int i = 0; store.segmentCount() == 1; i++)
+        {
+            store.put("live-" + i, new byte[100], now);
+        }
+        store.remove("evicted");
+        for (int i = 0; i < 200; i++)
+        {
+            store.put("churn", bytes("value-" + i), now);
+        }
+
+        // When
+        store.compact();
+        store.close();
+        SegmentStore reopened = new SegmentStore(directory, SEGMENT_SIZE, 16, 0);
+
+        // Then
+        assertThat(reopened.get("evicted")).isNull();
+        assertThat(reopened.get("live-0")).isNotNull();
+    }
+
+
+    @Test
+    void open_whenAnotherStoreHoldsTheDirectory_disablesPersistence()
+    {
+        // Given
+        SegmentStore owner = new SegmentStore(directory, SEGMENT_SIZE, 4, 0);
+        owner.put("key", bytes("value"), System.currentTimeMillis());
+
+        // When
+        SegmentStore intruder = new SegmentStore(directory, SEGMENT_SIZE, 4, 0);
+        intruder.put("key", bytes("overwritten"), System.currentTimeMillis());
+
+        // Then
+        assertThat(intruder.get("key")).isNull();
+        assertThat(new String(owner.get("key").value(), StandardCharsets.UTF_8)).isEqualTo("value");
+        owner.close();
+        intruder.close();
+    }
+
+
+    @Test
+    void put_beyondMaximumSegments_dropsOldestEntries()
+    {
+        // Given
+        SegmentStore store = new SegmentStore(directory, SEGMENT_SIZE, 2, 0);
+
+        // When
+        for (int i = 0; i < 300; i++)
+        {
+            store.put("key-" + i, bytes("value-" + i), System.currentTimeMillis());
+        }
+
+        // Then
+        assertThat(store.segmentCount()).isEqualTo(2);
+        assertThat(store.get("key-0")).isNull();
+        assertThat(store.get("key-299")).isNotNull();
+    }
+
+
+    private static byte[] bytes(String value)
+    {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,217 @@
+package com.ajith.reposcorer.cache;
+
+import com.ajith.reposcorer.client.SearchKey;
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTest
+{
+
+    private static final String CACHE_NAME = "githubSearches";
+    private static final String KEY_PREFIX = "test:";
+    private static final SearchKey KEY = new SearchKey("java", LocalDate.of(2024, 1, 1), 100);
+
+    private EmbeddedRespServer server;
+    private Node first;
+    private Node second;
+
+
+    @BeforeEach
+    void setUp() throws IOException, InterruptedException
+    {
+        server = new EmbeddedRespServer(0);
+        first = new Node("first", server.port());
+        second = new Node("second", server.port());
+        eventually(() -> first.client.publish(RemoteCacheTier.invalidationChannel(KEY_PREFIX), "probe") == 2);
+    }
+
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        first.close();
+        second.close();
+        server.close();
+    }
+
+
+    @Test
+    void get_whenAnotherInstanceStoredTheEntry_servesItFromTheRemoteTier()
+    {
+        // Given
+        first.cache.put(KEY, response("repo-a"));
+
+        // When
+        GithubSearchResponse fetched = second.cache.get(KEY, GithubSearchResponse.class);
+
+        // Then
+        assertThat(fetched.getItems()).extracting(GithubRepository::getName).containsExactly("repo-a");
+    }
+
+
+    @Test
+    void put_publishesInvalidationThatEvictsOtherInstancesLocalCopies() throws InterruptedException
+    {
+        // Given
+        first.cache.put(KEY, response("repo-a"));
+        second.cache.get(KEY, GithubSearchResponse.class);
+
+        // When
+        first.cache.put(KEY, response("repo-b"));
+
+        // Then
+        eventually(() -> second.local.get(KEY) == null);
+        assertThat(second.cache.get(KEY, GithubSearchResponse.class).getItems())
+            .extracting(GithubRepository::getName)
+            .containsExactly("repo-b");
+    }
+
+
+    @Test
+    void client_whenCalledConcurrently_servesEveryCallerOverPooledConnections() throws Exception
+    {
+        // Given
+        List<String> keys = IntStream.range(0, 32).mapToObj(i -> KEY_PREFIX + "concurrent:" + i).toList();
+
+        // When
+        List<Boolean> matches;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            List<Future<Boolean>> calls = keys.stream()
+                .map(key -> executor.submit(() -> {
+                    first.client.set(key, key.getBytes(StandardCharsets.UTF_8), 0);
+                    return key.equals(new String(first.client.get(key), StandardCharsets.UTF_8));
+                }))
+                .toList();
+            matches = new ArrayList<>();
+            for (Future<Boolean> call : calls)
+            {
+                matches.add(call.get());
+            }
+        }
+
+        // Then
+        assertThat(matches).containsOnly(true);
+        assertThat(first.client.isAvailable()).isTrue();
+    }
+
+
+    @Test
+    void client_whenServerRepliesWithAnErrorOrGarbage_missesWithoutGoingUnavailable() throws Exception
+    {
+        // Given: a server that answers an error reply, then a value, then a malformed length
+        try (ServerSocket fake = new ServerSocket(0))
+        {
+            Thread.ofVirtual().start(() -> {
+                try (Socket socket = fake.accept())
+                {
+                    RespConnection connection = new RespConnection(socket);
+                    connection.read();
+                    connection.replyError("WRONGTYPE Operation against a key holding the wrong kind of value");
+                    connection.read();
+                    connection.reply("value");
+                    connection.read();
+                    socket.getOutputStream().write("$abc\r\n".getBytes(StandardCharsets.US_ASCII));
+                    socket.getOutputStream().flush();
+                    connection.read();
+                }
+                catch (IOException e)
+                {
+                    // The client hung up
+                }
+            });
+            RemoteCacheClient client = new RemoteCacheClient("localhost", fake.getLocalPort(), 1000, 60000, 1);
+
+            // When
+            byte[] afterError = client.get("key");
+            byte[] reusingTheConnection = client.get("key");
+            byte[] afterGarbage = client.get("key");
+
+            // Then
+            assertThat(afterError).isNull();
+            assertThat(reusingTheConnection).asString(StandardCharsets.UTF_8).isEqualTo("value");
+            assertThat(afterGarbage).isNull();
+            assertThat(client.isAvailable()).isTrue();
+            client.close();
+        }
+    }
+
+
+    @Test
+    void get_whenRemoteTierIsUnavailable_failsOpenToTheLocalTier() throws IOException
+    {
+        // Given
+        server.close();
+        TwoTierCache cache = first.cache;
+
+        // When
+        cache.put(KEY, response("repo-a"));
+
+        // Then
+        assertThat(cache.get(KEY, GithubSearchResponse.class).getItems()).hasSize(1);
+        assertThat(second.cache.get(KEY)).isNull();
+    }
+
+
+    private static GithubSearchResponse response(String name)
+    {
+        return new GithubSearchResponse(1, false, List.of(GithubRepository.builder().name(name).stargazersCount(1).build()));
+    }
+
+
+    private static void eventually(BooleanSupplier condition) throws InterruptedException
+    {
+        for (int attempt = 0; attempt < 100 && !condition.getAsBoolean(); attempt++)
+        {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+
+    private static final class Node
+    {
+        private final LocalKeyIndex localKeys = new LocalKeyIndex();
+        private final Cache local = new IndexedCache(new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().build()), localKeys);
+        private final RemoteCacheClient client;
+        private final TwoTierCache cache;
+        private final RemoteInvalidationSubscriber subscriber;
+
+
+        private Node(String instanceId, int port)
+        {
+            this.client = new RemoteCacheClient("localhost", port, 1000, 60000, 4);
+            this.cache = new TwoTierCache(local, new RemoteCacheTier(CACHE_NAME, client, new CacheValueCodec(), KEY_PREFIX, instanceId, 0), localKeys);
+            this.subscriber = new RemoteInvalidationSubscriber(
+                "localhost", port, 1000, 60000, RemoteCacheTier.invalidationChannel(KEY_PREFIX), instanceId, Map.of(CACHE_NAME, cache));
+        }
+
+
+        private void close()
+        {
+            subscriber.close();
+            client.close();
+        }
+    }
+}
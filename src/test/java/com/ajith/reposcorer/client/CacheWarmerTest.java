@@ -0,0 +1,139 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.properties.CachingProperties;
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest
+{
+
+    private static final LocalDate CREATED_AFTER = LocalDate.of(2020, 1, 1);
+
+    @Mock
+    private SearchResultCache searchResultCache;
+    @Mock
+    private RefreshAheadScheduler refreshAheadScheduler;
+
+    @TempDir
+    private Path directory;
+
+    private GithubTokenPool githubTokenPool;
+    private CachingProperties cachingProperties;
+    private CacheWarmer cacheWarmer;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setToken("token");
+        githubTokenPool = new GithubTokenPool(githubProperties);
+
+        cachingProperties = new CachingProperties();
+        cachingProperties.setDiskDirectory(directory.toString());
+        cacheWarmer = new CacheWarmer(searchResultCache, refreshAheadScheduler, githubTokenPool, cachingProperties);
+    }
+
+
+    @Test
+    void run_prefetchesConfiguredAndPreviousRunQueriesThenReportsUp() throws IOException
+    {
+        // Given
+        CachingProperties.WarmUpQuery configured = new CachingProperties.WarmUpQuery();
+        configured.setLanguage("Java");
+        configured.setCreatedAfter(CREATED_AFTER);
+        cachingProperties.getWarmUpQueries().add(configured);
+        Files.write(directory.resolve(CacheWarmer.PREVIOUS_RUN_KEYS_FILE), List.of("java,2020-01-01,100", "go,2021-06-01,200"));
+
+        assertThat(cacheWarmer.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        // When
+        cacheWarmer.run(null);
+
+        // Then
+        verify(searchResultCache).search("java", CREATED_AFTER, 100);
+        verify(searchResultCache).search("go", LocalDate.of(2021, 6, 1), 200);
+        assertThat(cacheWarmer.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(cacheWarmer.health().getDetails()).containsEntry("planned", 2).containsEntry("warmed", 2);
+    }
+
+
+    @Test
+    void warmUp_whenQuotaIsLow_defersQueriesOverTheBudget()
+    {
+        // Given
+        cachingProperties.setWarmUpQuotaReserve(10);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitState.REMAINING_HEADER, "12");
+        headers.set(RateLimitState.RESET_HEADER, String.valueOf(System.currentTimeMillis() / 1000 + 3600));
+        githubTokenPool.tokens().getFirst().state().update(200, headers, System.currentTimeMillis());
+
+        // When
+        cacheWarmer.warmUp(List.of(
+            new SearchKey("java", CREATED_AFTER, 100),
+            new SearchKey("go", CREATED_AFTER, 300),
+            new SearchKey("rust", CREATED_AFTER, 100)));
+
+        // Then
+        verify(searchResultCache).search("java", CREATED_AFTER, 100);
+        verify(searchResultCache).search("rust", CREATED_AFTER, 100);
+        verify(searchResultCache, never()).search("go", CREATED_AFTER, 300);
+        assertThat(cacheWarmer.health().getDetails()).containsEntry("deferred", 1);
+    }
+
+
+    @Test
+    void warmUp_beforeAnyQuotaIsReported_budgetsTheConfiguredDefault()
+    {
+        // Given
+        cachingProperties.setWarmUpQuotaReserve(10);
+        cachingProperties.setWarmUpUnreportedQuota(14);
+
+        // When
+        cacheWarmer.warmUp(List.of(
+            new SearchKey("java", CREATED_AFTER, 300),
+            new SearchKey("go", CREATED_AFTER, 200)));
+
+        // Then
+        verify(searchResultCache).search("java", CREATED_AFTER, 300);
+        verify(searchResultCache, never()).search("go", CREATED_AFTER, 200);
+        assertThat(cacheWarmer.health().getDetails()).containsEntry("deferred", 1);
+    }
+
+
+    @Test
+    void destroy_savesHottestKeysForTheNextRun()
+    {
+        // Given
+        cachingProperties.setWarmUpPreviousRunKeys(2);
+        when(refreshAheadScheduler.hottestKeys(anyInt())).thenReturn(List.of(
+            new SearchKey("java", CREATED_AFTER, 100),
+            new SearchKey("go", CREATED_AFTER, 300)));
+
+        // When
+        cacheWarmer.destroy();
+
+        // Then
+        assertThat(new CacheWarmer(searchResultCache, refreshAheadScheduler, githubTokenPool, cachingProperties).plannedQueries())
+            .containsExactly(new SearchKey("java", CREATED_AFTER, 100), new SearchKey("go", CREATED_AFTER, 300));
+    }
+}
@@ -0,0 +1,93 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.ajith.reposcorer.properties.GithubProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DateWindowHarvesterTest
+{
+
+    @Mock
+    private GithubSearchClient githubSearchClient;
+
+    private DateWindowHarvester dateWindowHarvester;
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+
+    @BeforeEach
+    void setUp()
+    {
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setMaxConcurrentWindows(2);
+        dateWindowHarvester = new DateWindowHarvester(
+            githubSearchClient, githubProperties, new SingleFlight(new SimpleMeterRegistry()));
+    }
+
+
+    @Test
+    void harvestRepositories_whenWindowFitsUnderCap_fetchesItWithoutSplitting()
+    {
+        // Given
+        LocalDate createdAfter = today.minusDays(10);
+        when(githubSearchClient.searchCreatedBetween("java", createdAfter.plusDays(1), today, 1, 1))
+            .thenReturn(new GithubSearchResponse(2, false, List.of(repository(1), repository(2))));
+
+        // When
+        GithubSearchResponse response = dateWindowHarvester.harvestRepositories("java", createdAfter);
+
+        // Then
+        assertThat(response.getTotalCount()).isEqualTo(2);
+        assertThat(response.getIncompleteResults()).isFalse();
+        assertThat(response.getItems()).extracting(GithubRepository::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(githubSearchClient, never()).searchCreatedBetween(any(), any(), any(), eq(2), anyInt());
+    }
+
+
+    @Test
+    void harvestRepositories_whenWindowHitsCap_bisectsAndDeduplicatesById()
+    {
+        // Given
+        LocalDate from = today.minusDays(9);
+        LocalDate mid = from.plusDays(4);
+        when(githubSearchClient.searchCreatedBetween("java", from, today, 1, 1))
+            .thenReturn(new GithubSearchResponse(1500, false, List.of(repository(1))));
+        when(githubSearchClient.searchCreatedBetween("java", from, mid, 1, 1))
+            .thenReturn(new GithubSearchResponse(150, false, List.of(repository(1), repository(2))));
+        when(githubSearchClient.searchCreatedBetween("java", from, mid, 2, 2))
+            .thenReturn(new GithubSearchResponse(150, false, List.of(repository(3))));
+        when(githubSearchClient.searchCreatedBetween("java", mid.plusDays(1), today, 1, 1))
+            .thenReturn(new GithubSearchResponse(2, false, List.of(repository(2), repository(4))));
+
+        // When
+        GithubSearchResponse response = dateWindowHarvester.harvestRepositories("java", from.minusDays(1));
+
+        // Then
+        assertThat(response.getTotalCount()).isEqualTo(1500);
+        assertThat(response.getItems()).extracting(GithubRepository::getId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+
+    private GithubRepository repository(long id)
+    {
+        return GithubRepository.builder().id(id).name("repo-" + id).build();
+    }
+}
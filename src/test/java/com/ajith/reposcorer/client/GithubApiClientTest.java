@@ -4,22 +4,33 @@ import com.ajith.reposcorer.client.dto.GithubRepository;
 import com.ajith.reposcorer.client.dto.GithubSearchResponse;
 import com.ajith.reposcorer.exception.GithubApiException;
 import com.ajith.reposcorer.properties.GithubProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +41,14 @@ class GithubApiClientTest
     private RestClient githubRestClient;
     @Mock
     private GithubProperties githubProperties;
+    @Mock
+    private SearchEtagCache searchEtagCache;
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+    @Spy
+    private GithubRetryExecutor githubRetryExecutor = new GithubRetryExecutor(fastRetryProperties());
+    @Spy
+    private GithubCircuitBreaker githubCircuitBreaker = new GithubCircuitBreaker(new GithubProperties(), new SimpleMeterRegistry());
 
     @Mock
     private RestClient.RequestHeadersUriSpec requestHeadersUriSpec;
@@ -46,6 +65,7 @@ class GithubApiClientTest
     void setUp()
     {
         lenient().when(githubProperties.getApiUrl()).thenReturn("https://api.github.com");
+        lenient().when(githubProperties.getMaxConcurrentPages()).thenReturn(4);
         lenient().when(githubRestClient.get()).thenReturn(requestHeadersUriSpec);
         lenient().when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
         lenient().when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
@@ -58,7 +78,7 @@ class GithubApiClientTest
         // Given
         GithubSearchResponse mockResponse = new GithubSearchResponse(
             1, false, List.of(GithubRepository.builder().name("test-repo").build()));
-        when(responseSpec.body(GithubSearchResponse.class)).thenReturn(mockResponse);
+        when(responseSpec.toEntity(GithubSearchResponse.class)).thenReturn(ResponseEntity.ok(mockResponse));
 
         // When
         GithubSearchResponse actualResponse = githubApiClient.searchRepositories("java", LocalDate.now(), 10);
@@ -71,13 +91,110 @@ class GithubApiClientTest
         assertThat(actualResponse.getItems().getFirst().getName()).isEqualTo("test-repo");
     }
 
+    @Test
+    void searchRepositories_whenMaxResultsExceedsPageSize_fetchesAndMergesPages()
+    {
+        // Given
+        List<GithubRepository> fullPage = IntStream.range(0, 100)
+            .mapToObj(i -> GithubRepository.builder().name("repo-" + i).build())
+            .toList();
+        when(responseSpec.toEntity(GithubSearchResponse.class))
+            .thenReturn(ResponseEntity.ok(new GithubSearchResponse(5000, false, fullPage)));
+
+        // When
+        GithubSearchResponse actualResponse = githubApiClient.searchRepositories("java", LocalDate.now(), 250);
+
+        // Then
+        assertThat(actualResponse.getTotalCount()).isEqualTo(5000);
+        assertThat(actualResponse.getItems()).hasSize(250);
+        verify(requestHeadersUriSpec, times(3)).uri(contains("per_page=100"));
+        verify(requestHeadersUriSpec).uri(contains("page=3"));
+    }
+
+
+    @Test
+    void searchRepositories_whenFewerRepositoriesMatchThanRequested_fetchesOnlyPagesHoldingResults()
+    {
+        // Given
+        List<GithubRepository> matches = IntStream.range(0, 40)
+            .mapToObj(i -> GithubRepository.builder().name("repo-" + i).build())
+            .toList();
+        when(responseSpec.toEntity(GithubSearchResponse.class))
+            .thenReturn(ResponseEntity.ok(new GithubSearchResponse(40, false, matches)));
+
+        // When
+        GithubSearchResponse actualResponse = githubApiClient.searchRepositories("java", LocalDate.now(), 1000);
+
+        // Then
+        assertThat(actualResponse.getItems()).hasSize(40);
+        verify(requestHeadersUriSpec, times(1)).uri(anyString());
+    }
+
+
+    @Test
+    void fetchRepositories_withPageCallback_handsOnEachPageInOrder()
+    {
+        // Given
+        List<GithubRepository> fullPage = IntStream.range(0, 100)
+            .mapToObj(i -> GithubRepository.builder().name("repo-" + i).build())
+            .toList();
+        when(responseSpec.toEntity(GithubSearchResponse.class))
+            .thenReturn(ResponseEntity.ok(new GithubSearchResponse(5000, false, fullPage)));
+        List<Integer> pageSizes = new ArrayList<>();
+
+        // When
+        GithubSearchResponse actualResponse = githubApiClient.fetchRepositories(
+            "java", LocalDate.now(), 250, page -> pageSizes.add(page.size()));
+
+        // Then
+        assertThat(pageSizes).containsExactly(100, 100, 50);
+        assertThat(actualResponse.getItems()).hasSize(250);
+    }
+
+    @Test
+    void searchRepositories_whenResponseCarriesEtag_storesItForRevalidation()
+    {
+        // Given
+        GithubSearchResponse mockResponse = new GithubSearchResponse(1, false, List.of());
+        when(responseSpec.toEntity(GithubSearchResponse.class))
+            .thenReturn(ResponseEntity.ok().eTag("\"abc\"").body(mockResponse));
+
+        // When
+        githubApiClient.searchRepositories("java", LocalDate.now(), 10);
+
+        // Then
+        verify(searchEtagCache).store(anyString(), eq("\"abc\""), eq(mockResponse));
+    }
+
+
+    @Test
+    void searchRepositories_whenGithubReturnsNotModified_reusesCachedPage()
+    {
+        // Given
+        GithubSearchResponse cachedResponse = new GithubSearchResponse(
+            1, false, List.of(GithubRepository.builder().name("cached-repo").build()));
+        ValidatedPage cachedPage = new ValidatedPage("\"abc\"", cachedResponse, Instant.now());
+        when(searchEtagCache.find(anyString())).thenReturn(cachedPage);
+        when(requestHeadersSpec.header(HttpHeaders.IF_NONE_MATCH, "\"abc\"")).thenReturn(requestHeadersSpec);
+        when(responseSpec.toEntity(GithubSearchResponse.class))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        when(searchEtagCache.revalidated(anyString(), eq(cachedPage))).thenReturn(cachedResponse);
+
+        // When
+        GithubSearchResponse actualResponse = githubApiClient.searchRepositories("java", LocalDate.now(), 10);
+
+        // Then
+        assertThat(actualResponse).isSameAs(cachedResponse);
+    }
+
+
     @Test
     void searchRepositories_whenApiReturnsNullItems_returnsSanitisedResponse()
     {
         // Given
         GithubSearchResponse mockResponse = new GithubSearchResponse(
             null, null, null);
-        when(responseSpec.body(GithubSearchResponse.class)).thenReturn(mockResponse);
+        when(responseSpec.toEntity(GithubSearchResponse.class)).thenReturn(ResponseEntity.ok(mockResponse));
 
         // When
         GithubSearchResponse actualResponse = githubApiClient.searchRepositories("java", LocalDate.now(), 10);
@@ -94,7 +211,7 @@ class GithubApiClientTest
     void searchRepositories_whenApiReturnsNullBody_returnsEmptyIncompleteResponse()
     {
         // Given
-        when(responseSpec.body(GithubSearchResponse.class)).thenReturn(null);
+        when(responseSpec.toEntity(GithubSearchResponse.class)).thenReturn(ResponseEntity.ok(null));
 
         // When
         GithubSearchResponse actualResponse = githubApiClient.searchRepositories("java", LocalDate.now(), 10);
@@ -112,7 +229,7 @@ class GithubApiClientTest
     {
         // Given
         RestClientResponseException ex = new RestClientResponseException("Rate limit exceeded", HttpStatus.FORBIDDEN.value(), "Forbidden", null, null, null);
-        when(responseSpec.body(GithubSearchResponse.class)).thenThrow(ex);
+        when(responseSpec.toEntity(GithubSearchResponse.class)).thenThrow(ex);
 
         // When & Then
         GithubApiException thrown = assertThrows(
@@ -129,7 +246,7 @@ class GithubApiClientTest
     {
         // Given
         RuntimeException ex = new RuntimeException("Network error");
-        when(responseSpec.body(GithubSearchResponse.class)).thenThrow(ex);
+        when(responseSpec.toEntity(GithubSearchResponse.class)).thenThrow(ex);
 
         // When & Then
         GithubApiException thrown = assertThrows(
@@ -138,4 +255,32 @@ class GithubApiClientTest
 
         assertThat(thrown.getMessage()).contains("Failed to search repositories: Network error");
     }
+
+
+    @Test
+    void searchRepositories_whenRateLimiterRejectsLocally_keepsStatusAndRetryAfter()
+    {
+        // Given
+        GithubApiException rejected = new GithubApiException("GitHub API rate limit exhausted.", 429, 45000L);
+        when(responseSpec.toEntity(GithubSearchResponse.class)).thenThrow(rejected);
+
+        // When
+        GithubApiException thrown = assertThrows(
+            GithubApiException.class,
+            () -> githubApiClient.searchRepositories("java", LocalDate.now(), 10));
+
+        // Then
+        assertThat(thrown.getStatusCode()).isEqualTo(429);
+        assertThat(thrown.getRetryAfterMillis()).isEqualTo(45000L);
+        verify(responseSpec, times(1)).toEntity(GithubSearchResponse.class);
+    }
+
+
+    private static GithubProperties fastRetryProperties()
+    {
+        GithubProperties properties = new GithubProperties();
+        properties.setRetryBaseDelay(1);
+        properties.setRetryMaxDelay(5);
+        return properties;
+    }
 }
@@ -0,0 +1,115 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.exception.GithubUnavailableException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GithubCircuitBreakerTest
+{
+
+    private GithubCircuitBreaker circuitBreaker;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+
+    @BeforeEach
+    void setUp()
+    {
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setCircuitFailureThreshold(3);
+        githubProperties.setCircuitOpenDuration(100);
+        circuitBreaker = new GithubCircuitBreaker(githubProperties, new SimpleMeterRegistry());
+    }
+
+
+    @Test
+    void execute_afterConsecutiveOutages_opensAndFailsFastWithoutCalling()
+    {
+        // Given
+        tripCircuit();
+
+        // When
+        GithubUnavailableException thrown = assertThrows(GithubUnavailableException.class, () -> circuitBreaker.execute(this::succeed));
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(GithubCircuitBreaker.State.OPEN);
+        assertThat(thrown.getStatusCode()).isEqualTo(503);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+
+    @Test
+    void execute_withClientErrors_keepsCircuitClosed()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            assertThrows(GithubApiException.class, () -> circuitBreaker.execute(() -> {
+                throw new GithubApiException("Invalid search query", 422);
+            }));
+        }
+
+        assertThat(circuitBreaker.state()).isEqualTo(GithubCircuitBreaker.State.CLOSED);
+    }
+
+
+    @Test
+    void execute_afterOpenDuration_closesOnSuccessfulTrialCall() throws InterruptedException
+    {
+        // Given
+        tripCircuit();
+        Thread.sleep(150);
+
+        // When
+        String result = circuitBreaker.execute(this::succeed);
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(circuitBreaker.state()).isEqualTo(GithubCircuitBreaker.State.CLOSED);
+    }
+
+
+    @Test
+    void execute_whenTrialCallFails_reopens() throws InterruptedException
+    {
+        // Given
+        tripCircuit();
+        Thread.sleep(150);
+
+        // When
+        assertThrows(GithubApiException.class, () -> circuitBreaker.execute(this::fail));
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(GithubCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.remainingOpenMillis()).isPositive();
+    }
+
+
+    private void tripCircuit()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            assertThrows(GithubApiException.class, () -> circuitBreaker.execute(this::fail));
+        }
+    }
+
+
+    private String succeed()
+    {
+        calls.incrementAndGet();
+        return "ok";
+    }
+
+
+    private String fail()
+    {
+        calls.incrementAndGet();
+        throw new GithubApiException("GitHub API server error (502)", 502);
+    }
+}
@@ -0,0 +1,139 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.ajith.reposcorer.client.dto.GraphQlSearchResponse;
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GithubGraphQlClientTest
+{
+
+    @Mock
+    private RestClient githubRestClient;
+    @Mock
+    private GithubProperties githubProperties;
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+    @Spy
+    private GithubRetryExecutor githubRetryExecutor = new GithubRetryExecutor(new GithubProperties());
+    @Spy
+    private GithubCircuitBreaker githubCircuitBreaker = new GithubCircuitBreaker(new GithubProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private RestClient.RequestBodyUriSpec requestBodyUriSpec;
+    @Mock
+    private RestClient.RequestBodySpec requestBodySpec;
+    @Mock
+    private RestClient.ResponseSpec responseSpec;
+
+    @InjectMocks
+    private GithubGraphQlClient githubGraphQlClient;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        lenient().when(githubProperties.getApiUrl()).thenReturn("https://api.github.com");
+        lenient().when(githubRestClient.post()).thenReturn(requestBodyUriSpec);
+        lenient().when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        lenient().when(requestBodySpec.contentType(any(MediaType.class))).thenReturn(requestBodySpec);
+        lenient().when(requestBodySpec.body(any(Object.class))).thenReturn(requestBodySpec);
+        lenient().when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+    }
+
+
+    @Test
+    void searchRepositories_whenApiSucceeds_mapsNodesToRepositories()
+    {
+        // Given
+        GraphQlSearchResponse.Node node = new GraphQlSearchResponse.Node(
+            42L, "repo", "owner/repo", "desc", "https://github.com/owner/repo", 120, 7,
+            new GraphQlSearchResponse.Count(4), new GraphQlSearchResponse.Count(2),
+            "2024-01-01T00:00:00Z", "2024-02-01T00:00:00Z", null);
+        when(responseSpec.body(GraphQlSearchResponse.class)).thenReturn(searchResponse(1, false, null, List.of(node)));
+
+        // When
+        GithubSearchResponse actualResponse = githubGraphQlClient.searchRepositories("java", LocalDate.now(), 10);
+
+        // Then
+        assertThat(actualResponse.getTotalCount()).isEqualTo(1);
+        assertThat(actualResponse.getItems()).singleElement().satisfies(repository -> {
+            assertThat(repository.getId()).isEqualTo(42L);
+            assertThat(repository.getFullName()).isEqualTo("owner/repo");
+            assertThat(repository.getStargazersCount()).isEqualTo(120);
+            assertThat(repository.getWatchersCount()).isEqualTo(120);
+            assertThat(repository.getOpenIssuesCount()).isEqualTo(6);
+            assertThat(repository.getCreatedAt()).isEqualTo("2024-01-01T00:00:00");
+            assertThat(repository.getPushedAt()).isNull();
+        });
+        verify(requestBodyUriSpec).uri("https://api.github.com/graphql");
+    }
+
+    @Test
+    void searchRepositories_whenMoreThanOnePage_followsCursor()
+    {
+        // Given
+        List<GraphQlSearchResponse.Node> fullPage = IntStream.range(0, 100)
+            .mapToObj(i -> new GraphQlSearchResponse.Node((long) i, "repo-" + i, null, null, null, 0, 0, null, null, null, null, null))
+            .toList();
+        when(responseSpec.body(GraphQlSearchResponse.class))
+            .thenReturn(searchResponse(5000, true, "cursor-1", fullPage))
+            .thenReturn(searchResponse(5000, true, "cursor-2", fullPage));
+
+        // When
+        GithubSearchResponse actualResponse = githubGraphQlClient.searchRepositories("java", LocalDate.now(), 150);
+
+        // Then
+        assertThat(actualResponse.getItems()).hasSize(150);
+        verify(requestBodySpec, times(2)).retrieve();
+    }
+
+    @Test
+    void searchRepositories_whenRateLimited_throwsForbidden()
+    {
+        // Given
+        when(responseSpec.body(GraphQlSearchResponse.class)).thenReturn(new GraphQlSearchResponse(
+            null, List.of(new GraphQlSearchResponse.Error("RATE_LIMITED", "API rate limit exceeded"))));
+
+        // When
+        GithubApiException exception = assertThrows(
+            GithubApiException.class,
+            () -> githubGraphQlClient.searchRepositories("java", LocalDate.now(), 10));
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(403);
+    }
+
+
+    private static GraphQlSearchResponse searchResponse(
+        int total, boolean hasNextPage, String cursor, List<GraphQlSearchResponse.Node> nodes)
+    {
+        return new GraphQlSearchResponse(
+            new GraphQlSearchResponse.Data(new GraphQlSearchResponse.Search(
+                total, new GraphQlSearchResponse.PageInfo(hasNextPage, cursor), nodes)),
+            null);
+    }
+}
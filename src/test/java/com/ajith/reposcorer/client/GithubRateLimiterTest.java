@@ -0,0 +1,113 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GithubRateLimiterTest
+{
+
+    private GithubRateLimiter rateLimiter;
+
+    private RateLimitState state;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setRateLimitMaxWait(1000);
+        rateLimiter = new GithubRateLimiter(githubProperties);
+        state = new RateLimitState();
+    }
+
+
+    @Test
+    void acquire_beforeAnyHeadersAreSeen_doesNotWait()
+    {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 10; i++)
+        {
+            rateLimiter.acquire(state);
+        }
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(100);
+    }
+
+
+    @Test
+    void acquire_withRemainingQuota_pacesCallersAcrossTheResetWindow()
+    {
+        // Given: 3 calls left, window resets in ~2s -> roughly one slot every 500ms
+        state.update(200, rateLimitHeaders(3, System.currentTimeMillis() / 1000 + 2), System.currentTimeMillis());
+
+        // When
+        long start = System.nanoTime();
+        rateLimiter.acquire(state);
+        rateLimiter.acquire(state);
+
+        // Then
+        assertThat((System.nanoTime() - start) / 1_000_000).isGreaterThanOrEqualTo(200);
+    }
+
+
+    @Test
+    void acquire_whenQuotaCoversTheBurst_sendsEveryCallAtOnce()
+    {
+        // Given: the search API's 30 calls a minute, and a ten-page fetch in flight
+        state.update(200, rateLimitHeaders(30, System.currentTimeMillis() / 1000 + 60), System.currentTimeMillis());
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++)
+        {
+            state.reserve();
+            rateLimiter.acquire(state);
+        }
+
+        // Then
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(100);
+        assertThat(state.remaining(System.currentTimeMillis())).isEqualTo(20);
+    }
+
+
+    @Test
+    void acquire_whenQuotaIsExhaustedBeyondMaxWait_failsFast()
+    {
+        // Given
+        state.update(403, rateLimitHeaders(0, System.currentTimeMillis() / 1000 + 60), System.currentTimeMillis());
+
+        // When & Then
+        GithubApiException thrown = assertThrows(GithubApiException.class, () -> rateLimiter.acquire(state));
+        assertThat(thrown.getStatusCode()).isEqualTo(429);
+        assertThat(thrown.getMessage()).contains("rate limit exhausted");
+    }
+
+
+    @Test
+    void acquire_whenRetryAfterIsSent_blocksUntilItElapses()
+    {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+        state.update(429, headers, System.currentTimeMillis());
+
+        // When & Then
+        assertThrows(GithubApiException.class, () -> rateLimiter.acquire(state));
+    }
+
+
+    private HttpHeaders rateLimitHeaders(int remaining, long resetEpochSeconds)
+    {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitState.REMAINING_HEADER, String.valueOf(remaining));
+        headers.set(RateLimitState.RESET_HEADER, String.valueOf(resetEpochSeconds));
+        return headers;
+    }
+}
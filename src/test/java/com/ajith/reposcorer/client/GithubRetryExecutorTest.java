@@ -0,0 +1,155 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GithubRetryExecutorTest
+{
+
+    private GithubRetryExecutor retryExecutor;
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+
+    @BeforeEach
+    void setUp()
+    {
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setRetryBaseDelay(5);
+        githubProperties.setRetryMaxDelay(20);
+        githubProperties.setRetryBudget(1000);
+        retryExecutor = new GithubRetryExecutor(githubProperties);
+    }
+
+
+    @Test
+    void execute_whenServerErrorIsTransient_retriesUntilSuccess()
+    {
+        String result = retryExecutor.execute("search", () -> {
+            if (attempts.incrementAndGet() < 3)
+            {
+                throw new GithubApiException("unavailable", 503);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+
+    @Test
+    void execute_whenServerErrorPersists_givesUpAfterMaxAttempts()
+    {
+        GithubApiException thrown = assertThrows(GithubApiException.class, () -> retryExecutor.execute("search", () -> {
+            attempts.incrementAndGet();
+            throw new GithubApiException("bad gateway", 502);
+        }));
+
+        assertThat(thrown.getStatusCode()).isEqualTo(502);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+
+    @Test
+    void execute_withPermanentClientErrors_doesNotRetry()
+    {
+        for (int statusCode : new int[] {401, 404, 422})
+        {
+            attempts.set(0);
+
+            assertThrows(GithubApiException.class, () -> retryExecutor.execute("search", () -> {
+                attempts.incrementAndGet();
+                throw new GithubApiException("client error", statusCode);
+            }));
+
+            assertThat(attempts.get()).as("attempts for %d", statusCode).isEqualTo(1);
+        }
+    }
+
+
+    @Test
+    void execute_whenForbiddenWithoutRateLimitHeaders_doesNotRetry()
+    {
+        assertThrows(GithubApiException.class, () -> retryExecutor.execute("search", () -> {
+            attempts.incrementAndGet();
+            throw new GithubApiException("forbidden", 403);
+        }));
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+
+    @Test
+    void execute_whenRetryAfterExceedsBudget_failsWithoutWaiting()
+    {
+        long start = System.currentTimeMillis();
+
+        assertThrows(GithubApiException.class, () -> retryExecutor.execute("search", () -> {
+            attempts.incrementAndGet();
+            throw new GithubApiException("rate limited", 429, 60_000L);
+        }));
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(System.currentTimeMillis() - start).isLessThan(500);
+    }
+
+
+    @Test
+    void execute_whenRetryAfterFitsBudget_waitsAtLeastThatLong()
+    {
+        long start = System.currentTimeMillis();
+
+        String result = retryExecutor.execute("search", () -> {
+            if (attempts.incrementAndGet() == 1)
+            {
+                throw new GithubApiException("rate limited", 429, 100L);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(100);
+    }
+
+
+    @Test
+    void execute_whenCallerIsInterruptedDuringBackoff_stopsRetrying() throws InterruptedException
+    {
+        // Given: a backoff long enough that only an interrupt can end it early
+        AtomicReference<Throwable> outcome = new AtomicReference<>();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try
+            {
+                retryExecutor.execute("search", () -> {
+                    attempts.incrementAndGet();
+                    throw new GithubApiException("rate limited", 429, 900L);
+                });
+            }
+            catch (GithubApiException e)
+            {
+                outcome.set(e);
+            }
+        });
+        while (attempts.get() == 0)
+        {
+            Thread.sleep(5);
+        }
+
+        // When
+        caller.interrupt();
+        caller.join(500);
+
+        // Then
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(outcome.get()).hasMessageContaining("Interrupted");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GithubSearchResponseReaderTest
+{
+
+    private final GithubSearchResponseReader reader = new GithubSearchResponseReader(new JsonFactory());
+
+
+    @Test
+    void read_extractsScoredFieldsAndSkipsTheRest() throws IOException
+    {
+        // Given
+        String json = """
+            {
+              "total_count": 4242,
+              "incomplete_results": false,
+              "items": [
+                {
+                  "id": 507775,
+                  "node_id": "MDEwOlJlcG9zaXRvcnk1MDc3NzU=",
+                  "name": "spring-boot",
+                  "full_name": "spring-projects/spring-boot",
+                  "owner": { "login": "spring-projects", "id": 317776, "site_admin": false },
+                  "html_url": "https://github.com/spring-projects/spring-boot",
+                  "description": null,
+                  "created_at": "2012-10-19T15:02:57Z",
+                  "updated_at": "2024-10-22T10:00:00Z",
+                  "pushed_at": "2024-10-21T23:59:59+02:00",
+                  "stargazers_count": 68000,
+                  "watchers_count": 68000,
+                  "language": "Java",
+                  "forks_count": 38000,
+                  "open_issues_count": 500,
+                  "license": { "key": "apache-2.0", "name": "Apache License 2.0" },
+                  "topics": ["java", "spring", "framework"],
+                  "score": 1.0
+                }
+              ]
+            }
+            """;
+
+        // When
+        GithubSearchResponse response = read(json);
+
+        // Then
+        assertThat(response.getTotalCount()).isEqualTo(4242);
+        assertThat(response.getIncompleteResults()).isFalse();
+        assertThat(response.getItems()).hasSize(1);
+
+        GithubRepository repository = response.getItems().getFirst();
+        assertThat(repository.getId()).isEqualTo(507775L);
+        assertThat(repository.getName()).isEqualTo("spring-boot");
+        assertThat(repository.getFullName()).isEqualTo("spring-projects/spring-boot");
+        assertThat(repository.getDescription()).isNull();
+        assertThat(repository.getHtmlUrl()).isEqualTo("https://github.com/spring-projects/spring-boot");
+        assertThat(repository.getLanguage()).isEqualTo("Java");
+        assertThat(repository.getStargazersCount()).isEqualTo(68000);
+        assertThat(repository.getForksCount()).isEqualTo(38000);
+        assertThat(repository.getWatchersCount()).isEqualTo(68000);
+        assertThat(repository.getOpenIssuesCount()).isEqualTo(500);
+        assertThat(repository.getCreatedAtEpochSecond()).isEqualTo(Instant.parse("2012-10-19T15:02:57Z").getEpochSecond());
+        assertThat(repository.getUpdatedAt()).isEqualTo(LocalDateTime.of(2024, 10, 22, 10, 0, 0));
+        assertThat(repository.getPushedAtEpochSecond()).isEqualTo(Instant.parse("2024-10-21T21:59:59Z").getEpochSecond());
+    }
+
+
+    @Test
+    void read_withMissingTimestamps_leavesThemUnset() throws IOException
+    {
+        // When
+        GithubSearchResponse response = read("""
+            {"items": [{"name": "bare", "updated_at": null}], "total_count": 1}
+            """);
+
+        // Then
+        GithubRepository repository = response.getItems().getFirst();
+        assertThat(repository.getUpdatedAtEpochSecond()).isEqualTo(GithubRepository.NO_TIMESTAMP);
+        assertThat(repository.getUpdatedAt()).isNull();
+        assertThat(response.getIncompleteResults()).isFalse();
+    }
+
+
+    private GithubSearchResponse read(String json) throws IOException
+    {
+        return reader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
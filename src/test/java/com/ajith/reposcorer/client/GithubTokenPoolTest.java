@@ -0,0 +1,95 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.properties.GithubProperties;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GithubTokenPoolTest
+{
+
+    @Test
+    void select_withoutConfiguredTokens_returnsAnonymousToken()
+    {
+        GithubTokenPool tokenPool = new GithubTokenPool(new GithubProperties());
+
+        assertThat(tokenPool.select().isAnonymous()).isTrue();
+    }
+
+
+    @Test
+    void select_prefersTokenWithMostRemainingQuota()
+    {
+        // Given
+        GithubTokenPool tokenPool = poolOf("token-a", "token-b", "token-c");
+        long resetAt = System.currentTimeMillis() / 1000 + 60;
+        report(tokenPool.tokens().get(0), 5, resetAt);
+        report(tokenPool.tokens().get(1), 25, resetAt);
+        report(tokenPool.tokens().get(2), 10, resetAt);
+
+        // When & Then
+        assertThat(tokenPool.select().value()).isEqualTo("token-b");
+    }
+
+
+    @Test
+    void select_skipsExhaustedTokens()
+    {
+        // Given
+        GithubTokenPool tokenPool = poolOf("token-a", "token-b");
+        long resetAt = System.currentTimeMillis() / 1000 + 60;
+        report(tokenPool.tokens().get(0), 1, resetAt);
+        HttpHeaders exhausted = headers(0, resetAt);
+        tokenPool.tokens().get(1).state().update(403, exhausted, System.currentTimeMillis());
+
+        // When & Then
+        assertThat(tokenPool.select().value()).isEqualTo("token-a");
+        assertThat(tokenPool.select().value()).isEqualTo("token-a");
+    }
+
+
+    @Test
+    void select_reservesQuotaSoConcurrentCallersRotateAcrossTokens()
+    {
+        // Given
+        GithubTokenPool tokenPool = poolOf("token-a", "token-b");
+        long resetAt = System.currentTimeMillis() / 1000 + 60;
+        report(tokenPool.tokens().get(0), 3, resetAt);
+        report(tokenPool.tokens().get(1), 2, resetAt);
+
+        // When
+        List<String> selected = List.of(
+            tokenPool.select().value(),
+            tokenPool.select().value(),
+            tokenPool.select().value());
+
+        // Then
+        assertThat(selected.getFirst()).isEqualTo("token-a");
+        assertThat(selected).contains("token-b");
+    }
+
+
+    private GithubTokenPool poolOf(String... tokens)
+    {
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setTokens(List.of(tokens));
+        return new GithubTokenPool(githubProperties);
+    }
+
+
+    private void report(GithubToken token, int remaining, long resetAt)
+    {
+        token.state().update(200, headers(remaining, resetAt), System.currentTimeMillis());
+    }
+
+
+    private HttpHeaders headers(int remaining, long resetAt)
+    {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitState.REMAINING_HEADER, String.valueOf(remaining));
+        headers.set(RateLimitState.RESET_HEADER, String.valueOf(resetAt));
+        return headers;
+    }
+}
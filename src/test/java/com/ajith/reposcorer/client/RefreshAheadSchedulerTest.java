@@ -0,0 +1,120 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.ajith.reposcorer.properties.CachingProperties;
+import com.ajith.reposcorer.properties.GithubProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshAheadSchedulerTest
+{
+
+    private static final LocalDate CREATED_AFTER = LocalDate.of(2020, 1, 1);
+    private static final SearchKey HOT = new SearchKey("java", CREATED_AFTER, 100);
+    private static final SearchKey WARM = new SearchKey("go", CREATED_AFTER, 100);
+    private static final SearchKey COLD = new SearchKey("rust", CREATED_AFTER, 100);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Object> loaded = new ArrayList<>();
+    private final CachingProperties cachingProperties = new CachingProperties();
+    private GithubTokenPool githubTokenPool;
+    private RefreshAheadScheduler refreshAheadScheduler;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        LoadingCache<Object, Object> cache = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .ticker(nanos::get)
+            .executor(Runnable::run)
+            .build(key -> {
+                loaded.add(key);
+                return new GithubSearchResponse(0, false, List.of());
+            });
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(SearchResultCache.CACHE_NAME, cache);
+
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setToken("token");
+        githubTokenPool = new GithubTokenPool(githubProperties);
+
+        cachingProperties.setRefreshAheadEnabled(false);
+        cachingProperties.setRefreshAheadWindow(60000);
+        refreshAheadScheduler = new RefreshAheadScheduler(cacheManager, githubTokenPool, cachingProperties, new SimpleMeterRegistry());
+
+        cache.getAll(List.of(HOT, WARM, COLD));
+        loaded.clear();
+        access(HOT, 5);
+        access(WARM, 3);
+        access(COLD, 1);
+    }
+
+
+    @Test
+    void refreshExpiringEntries_refreshesOnlyFrequentKeysNearExpiry()
+    {
+        // Given
+        nanos.set(TimeUnit.SECONDS.toNanos(570));
+
+        // When
+        refreshAheadScheduler.refreshExpiringEntries();
+
+        // Then
+        assertThat(loaded).containsExactly(HOT, WARM);
+    }
+
+
+    @Test
+    void refreshExpiringEntries_whenEntriesAreFresh_refreshesNothing()
+    {
+        // Given
+        nanos.set(TimeUnit.SECONDS.toNanos(60));
+
+        // When
+        refreshAheadScheduler.refreshExpiringEntries();
+
+        // Then
+        assertThat(loaded).isEmpty();
+    }
+
+
+    @Test
+    void refreshExpiringEntries_whenQuotaIsLow_refreshesHottestWithinBudget()
+    {
+        // Given
+        nanos.set(TimeUnit.SECONDS.toNanos(570));
+        cachingProperties.setRefreshAheadQuotaReserve(10);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitState.REMAINING_HEADER, "11");
+        headers.set(RateLimitState.RESET_HEADER, String.valueOf(System.currentTimeMillis() / 1000 + 3600));
+        githubTokenPool.tokens().getFirst().state().update(200, headers, System.currentTimeMillis());
+
+        // When
+        refreshAheadScheduler.refreshExpiringEntries();
+
+        // Then
+        assertThat(loaded).containsExactly(HOT);
+    }
+
+
+    private void access(SearchKey key, int times)
+    {
+        for (int i = 0; i < times; i++)
+        {
+            refreshAheadScheduler.recordAccess(key);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.cache.IndexedCache;
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchResultCacheTest
+{
+
+    private static final LocalDate CREATED_AFTER = LocalDate.of(2020, 1, 1);
+
+    @Mock
+    private GithubSearchClient githubSearchClient;
+    @Mock
+    private RefreshAheadScheduler refreshAheadScheduler;
+
+    private CaffeineCacheManager cacheManager;
+    private SearchKeyIndex searchKeyIndex;
+    private SearchResultCache searchResultCache;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        searchKeyIndex = new SearchKeyIndex();
+        cacheManager = new CaffeineCacheManager(SearchResultCache.CACHE_NAME)
+        {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache)
+            {
+                return new IndexedCache(super.adaptCaffeineCache(name, cache), searchKeyIndex);
+            }
+        };
+        searchResultCache = new SearchResultCache(
+            githubSearchClient, cacheManager, refreshAheadScheduler, searchKeyIndex, new SimpleMeterRegistry());
+    }
+
+
+    @Test
+    void search_whenLargerResultIsCached_slicesItsPrefixWithoutCallingGithub()
+    {
+        // Given
+        cache(new SearchKey("java", CREATED_AFTER, 100), response(5000, 100));
+
+        // When
+        GithubSearchResponse actualResponse = searchResultCache.search("Java", CREATED_AFTER, 30);
+
+        // Then
+        assertThat(actualResponse.getItems()).hasSize(30);
+        assertThat(actualResponse.getItems().getFirst().getName()).isEqualTo("repo-0");
+        assertThat(actualResponse.getTotalCount()).isEqualTo(5000);
+        verifyNoInteractions(githubSearchClient);
+    }
+
+
+    @Test
+    void search_whenCachedResultHoldsEveryMatch_servesLargerRequests()
+    {
+        // Given
+        cache(new SearchKey("java", CREATED_AFTER, 100), response(40, 40));
+
+        // When
+        GithubSearchResponse actualResponse = searchResultCache.search("java", CREATED_AFTER, 500);
+
+        // Then
+        assertThat(actualResponse.getItems()).hasSize(40);
+        verifyNoInteractions(githubSearchClient);
+    }
+
+
+    @Test
+    void search_onMiss_fetchesWholePagesForTheNormalizedLanguage()
+    {
+        // Given
+        when(githubSearchClient.searchRepositories("java", CREATED_AFTER, 200)).thenReturn(response(5000, 200));
+
+        // When
+        GithubSearchResponse actualResponse = searchResultCache.search(" JAVA ", CREATED_AFTER, 150);
+
+        // Then
+        assertThat(actualResponse.getItems()).hasSize(150);
+        verify(githubSearchClient).searchRepositories("java", CREATED_AFTER, 200);
+    }
+
+
+    @Test
+    void search_whenOnlySmallerPartialResultIsCached_goesToGithub()
+    {
+        // Given
+        cache(new SearchKey("java", CREATED_AFTER, 100), response(5000, 100));
+        when(githubSearchClient.searchRepositories("java", CREATED_AFTER, 300)).thenReturn(response(5000, 300));
+
+        // When
+        GithubSearchResponse actualResponse = searchResultCache.search("java", CREATED_AFTER, 300);
+
+        // Then
+        assertThat(actualResponse.getItems()).hasSize(300);
+    }
+
+
+    @Test
+    void peek_servesCachedResultsAndNeverCallsGithub()
+    {
+        // Given
+        GithubSearchResponse cached = response(5000, 100);
+        cache(new SearchKey("java", CREATED_AFTER, 100), cached);
+
+        // When & Then
+        assertThat(searchResultCache.peek("Java", CREATED_AFTER, 100)).containsSame(cached);
+        assertThat(searchResultCache.peek("Java", CREATED_AFTER, 30)).containsSame(cached);
+        assertThat(searchResultCache.peek("go", CREATED_AFTER, 30)).isEmpty();
+        verifyNoInteractions(githubSearchClient);
+    }
+
+
+    @Test
+    void recordAccess_tracksTheCachedSupersetOrThePageRoundedFetch()
+    {
+        // Given
+        cache(new SearchKey("java", CREATED_AFTER, 100), response(5000, 100));
+
+        // When
+        searchResultCache.recordAccess("Java", CREATED_AFTER, 30);
+        searchResultCache.recordAccess("go", CREATED_AFTER, 30);
+
+        // Then
+        verify(refreshAheadScheduler).recordAccess(new SearchKey("java", CREATED_AFTER, 100));
+        verify(refreshAheadScheduler).recordAccess(new SearchKey("go", CREATED_AFTER, 100));
+        verifyNoInteractions(githubSearchClient);
+    }
+
+
+    @Test
+    void search_withPageCallback_handsOnPagesUpToTheLimitAndCachesTheWholeFetch()
+    {
+        // Given
+        GithubSearchResponse fetched = response(5000, 200);
+        when(githubSearchClient.fetchRepositories(eq("java"), eq(CREATED_AFTER), eq(200), any())).thenAnswer(invocation -> {
+            Consumer<List<GithubRepository>> onPage = invocation.getArgument(3);
+            onPage.accept(fetched.getItems().subList(0, 100));
+            onPage.accept(fetched.getItems().subList(100, 200));
+            return fetched;
+        });
+        List<Integer> pageSizes = new ArrayList<>();
+
+        // When
+        GithubSearchResponse actualResponse = searchResultCache.search("Java", CREATED_AFTER, 150, page -> pageSizes.add(page.size()));
+
+        // Then
+        assertThat(pageSizes).containsExactly(100, 50);
+        assertThat(actualResponse.getItems()).hasSize(150);
+        assertThat(searchResultCache.peek("java", CREATED_AFTER, 200)).containsSame(fetched);
+    }
+
+
+    private void cache(SearchKey key, GithubSearchResponse response)
+    {
+        cacheManager.getCache(SearchResultCache.CACHE_NAME).put(key, response);
+    }
+
+
+    private static GithubSearchResponse response(int totalCount, int size)
+    {
+        List<GithubRepository> items = IntStream.range(0, size)
+            .mapToObj(i -> GithubRepository.builder().id(i).name("repo-" + i).build())
+            .toList();
+        return new GithubSearchResponse(totalCount, false, items);
+    }
+}
@@ -0,0 +1,141 @@
+package com.ajith.reposcorer.client;
+
+import com.ajith.reposcorer.exception.GithubApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest
+{
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SingleFlight singleFlight;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+    }
+
+
+    @Test
+    void execute_withConcurrentCallsForSameKey_runsLoaderOnce() throws Exception
+    {
+        // Given
+        int callers = 50;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = 0; i < callers; i++)
+            {
+                results.add(executor.submit(() -> singleFlight.execute("java-2020-01-01-30", () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "result";
+                })));
+            }
+
+            while (coalescedCount() + loads.get() < callers)
+            {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results)
+            {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+        }
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(coalescedCount()).isEqualTo(callers - 1);
+    }
+
+
+    @Test
+    void execute_whenLoaderFails_propagatesFailureAndForgetsKey()
+    {
+        // Given
+        GithubApiException failure = new GithubApiException("boom", 502);
+
+        // When & Then
+        GithubApiException thrown = assertThrows(
+            GithubApiException.class,
+            () -> singleFlight.execute("key", () -> {
+                throw failure;
+            }));
+        assertThat(thrown).isSameAs(failure);
+        assertThat(singleFlight.<String>execute("key", () -> "retried")).isEqualTo("retried");
+    }
+
+
+    @Test
+    void execute_whenLoaderThrowsError_releasesJoinedCallers() throws Exception
+    {
+        // Given
+        StackOverflowError failure = new StackOverflowError("deep");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loading.countDown();
+                awaitQuietly(release);
+                throw failure;
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> follower = executor.submit(() -> singleFlight.<String>execute("key", () -> "unexpected"));
+
+            while (coalescedCount() < 1)
+            {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            assertThat(assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS))).hasCause(failure);
+            assertThat(assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS))).hasCause(failure);
+        }
+    }
+
+
+    private double coalescedCount()
+    {
+        return meterRegistry.get("github.search.singleflight").tag("outcome", "coalesced").counter().count();
+    }
+
+
+    private static void awaitQuietly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ajith.reposcorer.config;
+
+import com.ajith.reposcorer.client.GithubSearchClient;
+import com.ajith.reposcorer.client.SearchKey;
+import com.ajith.reposcorer.client.SearchKeyIndex;
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.client.dto.GithubSearchResponse;
+import com.ajith.reposcorer.properties.CachingProperties;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheConfigTest
+{
+
+    private static final LocalDate CREATED_AFTER = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private ObjectProvider<GithubSearchClient> githubSearchClientProvider;
+    @Mock
+    private GithubSearchClient githubSearchClient;
+
+    private CachingProperties cachingProperties;
+    private SearchKeyIndex searchKeyIndex;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        lenient().when(githubSearchClientProvider.getObject()).thenReturn(githubSearchClient);
+        cachingProperties = new CachingProperties();
+        cachingProperties.getDefaults().setMaximumSize(2L);
+        searchKeyIndex = new SearchKeyIndex();
+    }
+
+
+    @Test
+    void cacheManager_withMaximumWeight_evictsByRepositoriesHeld()
+    {
+        // Given
+        CachingProperties.CacheSpec spec = new CachingProperties.CacheSpec();
+        spec.setMaximumWeight(150L);
+        cachingProperties.getCaches().put("githubSearchFallbacks", spec);
+        Cache cache = new CacheConfig(cachingProperties).cacheManager(githubSearchClientProvider, searchKeyIndex).getCache("githubSearchFallbacks");
+
+        // When
+        cache.put("first", response(100));
+        cache.put("second", response(100));
+        cleanUp(cache);
+
+        // Then
+        long retained = List.of("first", "second").stream().filter(key -> cache.get(key) != null).count();
+        assertThat(retained).isEqualTo(1);
+    }
+
+
+    @Test
+    void cacheManager_forUnconfiguredCache_appliesDefaults()
+    {
+        // Given
+        CacheManager cacheManager = new CacheConfig(cachingProperties).cacheManager(githubSearchClientProvider, searchKeyIndex);
+        Cache cache = cacheManager.getCache("adHoc");
+
+        // When
+        for (int i = 0; i < 10; i++)
+        {
+            cache.put(i, i);
+        }
+        cleanUp(cache);
+
+        // Then
+        assertThat(((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()).estimatedSize()).isEqualTo(2);
+    }
+
+
+    @Test
+    void cacheManager_githubSearchesOnMiss_loadsThroughTheClient()
+    {
+        // Given
+        cachingProperties.getCaches().put("githubSearches", new CachingProperties.CacheSpec());
+        GithubSearchResponse response = response(3);
+        when(githubSearchClient.fetchRepositories("java", CREATED_AFTER, 30)).thenReturn(response);
+        Cache cache = new CacheConfig(cachingProperties).cacheManager(githubSearchClientProvider, searchKeyIndex).getCache("githubSearches");
+
+        // When
+        Cache.ValueWrapper loaded = cache.get(new SearchKey("java", CREATED_AFTER, 30));
+
+        // Then
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.get()).isSameAs(response);
+        assertThat(searchKeyIndex.sizes("java", CREATED_AFTER)).containsExactly(30);
+    }
+
+
+    @Test
+    void cacheManager_githubSearchesOnEviction_unindexesTheKey()
+    {
+        // Given
+        CachingProperties.CacheSpec spec = new CachingProperties.CacheSpec();
+        spec.setMaximumSize(1L);
+        cachingProperties.getCaches().put("githubSearches", spec);
+        Cache cache = new CacheConfig(cachingProperties).cacheManager(githubSearchClientProvider, searchKeyIndex).getCache("githubSearches");
+
+        // When
+        cache.put(new SearchKey("java", CREATED_AFTER, 30), response(3));
+        cache.put(new SearchKey("java", CREATED_AFTER, 100), response(3));
+        cleanUp(cache);
+
+        // Then
+        List<Integer> retained = List.of(30, 100).stream()
+            .filter(maxResults -> cache.get(new SearchKey("java", CREATED_AFTER, maxResults)) != null)
+            .toList();
+        assertThat(searchKeyIndex.sizes("java", CREATED_AFTER)).containsExactlyElementsOf(retained).hasSize(1);
+    }
+
+
+    private static void cleanUp(Cache cache)
+    {
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()).cleanUp();
+    }
+
+
+    private static GithubSearchResponse response(int repositories)
+    {
+        return new GithubSearchResponse(
+            repositories,
+            false,
+            Collections.nCopies(repositories, GithubRepository.builder().name("repo").build()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ajith.reposcorer.config;
+
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.ScalarScoringKernel;
+import com.ajith.reposcorer.service.ScoringKernel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringConfigTest
+{
+
+    @Test
+    void loadKernel_whenVectorKernelIsMissing_fallsBackToScalar()
+    {
+        // When
+        ScoringKernel kernel = ScoringConfig.loadKernel("com.ajith.reposcorer.service.vector.MissingKernel");
+
+        // Then
+        assertThat(kernel).isInstanceOf(ScalarScoringKernel.class);
+    }
+
+
+    @Test
+    void scoringKernel_whenVectorizationIsDisabled_usesScalar()
+    {
+        // Given
+        ScoringProperties properties = new ScoringProperties();
+        properties.setVectorized(false);
+
+        // When
+        ScoringKernel kernel = new ScoringConfig().scoringKernel(properties);
+
+        // Then
+        assertThat(kernel).isInstanceOf(ScalarScoringKernel.class);
+    }
+}
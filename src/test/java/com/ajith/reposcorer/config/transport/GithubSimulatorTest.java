@@ -0,0 +1,156 @@
+package com.ajith.reposcorer.config.transport;
+
+import com.ajith.reposcorer.properties.GithubProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GithubSimulatorTest
+{
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GithubProperties githubProperties;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        githubProperties = new GithubProperties();
+        githubProperties.setSimulatorCorpusSize(5000);
+        githubProperties.setSimulatorLatencyMedian(0);
+    }
+
+
+    @Test
+    void search_returnsStarSortedPageWithRateLimitHeaders() throws IOException
+    {
+        // Given
+        GithubSimulator simulator = new GithubSimulator(githubProperties, objectMapper.getFactory());
+
+        // When
+        ClientHttpResponse response = execute(simulator, search("language:java created:>2000-01-01", 50, 2), null);
+
+        // Then
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(body.get("total_count").asInt()).isEqualTo(5000);
+        assertThat(body.get("items")).hasSize(50);
+        assertThat(body.get("items").get(0).get("id").asLong()).isEqualTo(51);
+        assertThat(body.get("items").get(0).get("stargazers_count").asInt())
+            .isGreaterThanOrEqualTo(body.get("items").get(1).get("stargazers_count").asInt());
+        assertThat(response.getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("4999");
+    }
+
+
+    @Test
+    void search_withDateWindows_partitionsTheCorpus() throws IOException
+    {
+        // Given
+        GithubSimulator simulator = new GithubSimulator(githubProperties, objectMapper.getFactory());
+
+        // When
+        int all = totalCount(simulator, "language:java created:2000-01-01..2100-01-01");
+        int early = totalCount(simulator, "language:java created:2000-01-01..2023-06-30");
+        int late = totalCount(simulator, "language:java created:2023-07-01..2100-01-01");
+
+        // Then
+        assertThat(early + late).isEqualTo(all);
+    }
+
+
+    @Test
+    void search_whenQuotaExhausted_returnsForbiddenUntilReset() throws IOException
+    {
+        // Given
+        githubProperties.setSimulatorRateLimit(1);
+        GithubSimulator simulator = new GithubSimulator(githubProperties, objectMapper.getFactory());
+        execute(simulator, search("language:java", 10, 1), null);
+
+        // When
+        ClientHttpResponse response = execute(simulator, search("language:java", 10, 2), null);
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(403);
+        assertThat(response.getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(response.getHeaders().getFirst("X-RateLimit-Reset")).isNotNull();
+    }
+
+
+    @Test
+    void search_withMatchingEtag_returnsNotModifiedWithoutSpendingQuota() throws IOException
+    {
+        // Given
+        githubProperties.setSimulatorRateLimit(1);
+        GithubSimulator simulator = new GithubSimulator(githubProperties, objectMapper.getFactory());
+        String etag = execute(simulator, search("language:java", 10, 1), null).getHeaders().getETag();
+
+        // When
+        ClientHttpResponse response = execute(simulator, search("language:java", 10, 1), etag);
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(304);
+    }
+
+
+    @Test
+    void search_pastTheSearchLimit_isRejected() throws IOException
+    {
+        // Given
+        GithubSimulator simulator = new GithubSimulator(githubProperties, objectMapper.getFactory());
+
+        // When
+        ClientHttpResponse response = execute(simulator, search("language:java", 100, 11), null);
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(422);
+    }
+
+
+    @Test
+    void search_withFullErrorRate_returnsServiceUnavailable() throws IOException
+    {
+        // Given
+        githubProperties.setSimulatorErrorRate(1.0);
+        GithubSimulator simulator = new GithubSimulator(githubProperties, objectMapper.getFactory());
+
+        // When
+        ClientHttpResponse response = execute(simulator, search("language:java", 10, 1), null);
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+    }
+
+
+    private int totalCount(GithubSimulator simulator, String query) throws IOException
+    {
+        return objectMapper.readTree(execute(simulator, search(query, 1, 1), null).getBody()).get("total_count").asInt();
+    }
+
+
+    private static ClientHttpResponse execute(GithubSimulator simulator, URI uri, String etag) throws IOException
+    {
+        ClientHttpRequest request = simulator.createRequest(uri, HttpMethod.GET);
+        if (etag != null)
+        {
+            request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        return request.execute();
+    }
+
+
+    private static URI search(String query, int perPage, int page)
+    {
+        return URI.create("https://api.github.com/search/repositories?q=" + query.replace(" ", "%20").replace(">", "%3E")
+            + "&sort=stars&order=desc&per_page=" + perPage + "&page=" + page);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ajith.reposcorer.config.transport;
+
+import com.ajith.reposcorer.properties.GithubProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingRequestFactoryTest
+{
+
+    private static final URI SEARCH_URI =
+        URI.create("https://api.github.com/search/repositories?q=language:java&per_page=5&page=1");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path recordingsDirectory;
+
+
+    @Test
+    void replay_afterRecording_returnsTheRecordedResponse() throws IOException
+    {
+        // Given
+        ExchangeRecordings recordings = new ExchangeRecordings(recordingsDirectory, objectMapper);
+        RecordingRequestFactory recorder = new RecordingRequestFactory(
+            new GithubSimulator(simulatorProperties(), objectMapper.getFactory()), recordings);
+        ClientHttpResponse recorded = recorder.createRequest(SEARCH_URI, HttpMethod.GET).execute();
+        byte[] recordedBody = recorded.getBody().readAllBytes();
+
+        // When
+        ClientHttpResponse replayed = new ReplayRequestFactory(recordings).createRequest(SEARCH_URI, HttpMethod.GET).execute();
+
+        // Then
+        assertThat(replayed.getStatusCode().value()).isEqualTo(200);
+        assertThat(replayed.getHeaders().getFirst("X-RateLimit-Remaining"))
+            .isEqualTo(recorded.getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertThat(replayed.getBody().readAllBytes()).isEqualTo(recordedBody);
+    }
+
+
+    @Test
+    void replay_afterRecordingAConditionalRepeat_stillReturnsTheFullResponse() throws IOException
+    {
+        // Given
+        ExchangeRecordings recordings = new ExchangeRecordings(recordingsDirectory, objectMapper);
+        RecordingRequestFactory recorder = new RecordingRequestFactory(new GithubSimulator(simulatorProperties(), objectMapper.getFactory()), recordings);
+        ClientHttpResponse first = recorder.createRequest(SEARCH_URI, HttpMethod.GET).execute();
+        byte[] firstBody = first.getBody().readAllBytes();
+
+        ClientHttpRequest repeat = recorder.createRequest(SEARCH_URI, HttpMethod.GET);
+        repeat.getHeaders().set(HttpHeaders.IF_NONE_MATCH, first.getHeaders().getETag());
+        assertThat(repeat.execute().getStatusCode().value()).isEqualTo(200);
+
+        // When
+        ClientHttpResponse replayed = new ReplayRequestFactory(recordings).createRequest(SEARCH_URI, HttpMethod.GET).execute();
+
+        // Then
+        assertThat(replayed.getStatusCode().value()).isEqualTo(200);
+        assertThat(replayed.getBody().readAllBytes()).isEqualTo(firstBody);
+    }
+
+
+    @Test
+    void replay_withoutRecording_returnsNotFound() throws IOException
+    {
+        // Given
+        ReplayRequestFactory replay = new ReplayRequestFactory(new ExchangeRecordings(recordingsDirectory, objectMapper));
+
+        // When
+        ClientHttpResponse response = replay.createRequest(SEARCH_URI, HttpMethod.GET).execute();
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+    }
+
+
+    private static GithubProperties simulatorProperties()
+    {
+        GithubProperties githubProperties = new GithubProperties();
+        githubProperties.setSimulatorCorpusSize(100);
+        githubProperties.setSimulatorLatencyMedian(0);
+        return githubProperties;
+    }
+}
@@ -3,22 +3,38 @@ package com.ajith.reposcorer.controller;
 import com.ajith.reposcorer.dto.RepositoryScoringResponse;
 import com.ajith.reposcorer.dto.RepositorySearchRequest;
 import com.ajith.reposcorer.dto.ScoredRepository;
+import com.ajith.reposcorer.exception.CachedResultsNotFoundException;
 import com.ajith.reposcorer.service.RepositorySearchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +42,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 class RepositoryScoringControllerTest {
 
+    @TempDir
+    private static Path cacheDirectory;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -35,6 +54,11 @@ class RepositoryScoringControllerTest {
     @MockBean
     private RepositorySearchService repositorySearchService;
 
+    @DynamicPropertySource
+    static void cacheProperties(DynamicPropertyRegistry registry) {
+        registry.add("caching.disk-directory", cacheDirectory::toString);
+    }
+
     @Test
     void searchRepositories_withValidRequest_returns200Ok() throws Exception {
         // Given
@@ -62,6 +86,97 @@ class RepositoryScoringControllerTest {
             .andExpect(jsonPath("$.repositories[0].name").value("Test Repo"));
     }
 
+    @Test
+    void streamRepositories_sendsEachProvisionalRankingThenTheResult() throws Exception {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.now().minusYears(1))
+            .build();
+        List<ScoredRepository> provisional = List.of(ScoredRepository.builder().name("Early Leader").build());
+        RepositoryScoringResponse finalResponse = RepositoryScoringResponse.builder()
+            .totalCount(1)
+            .repositories(List.of(ScoredRepository.builder().name("Final Leader").build()))
+            .build();
+
+        when(repositorySearchService.searchAndScoreRepositories(any(RepositorySearchRequest.class), any())).thenAnswer(invocation -> {
+            Consumer<List<ScoredRepository>> onRanking = invocation.getArgument(1);
+            onRanking.accept(provisional);
+            return finalResponse;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/repositories/search/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(content().string(containsString("event:ranking\ndata:[{\"name\":\"Early Leader\"")))
+            .andExpect(content().string(containsString("event:result\ndata:{\"searchMetadata\":null,\"repositories\":[{\"name\":\"Final Leader\"")));
+    }
+
+    @Test
+    void streamRepositories_whenTheStreamTimesOut_interruptsTheSearch() throws Exception {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.now().minusYears(1))
+            .build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        when(repositorySearchService.searchAndScoreRepositories(any(RepositorySearchRequest.class), any())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return RepositoryScoringResponse.builder().build();
+        });
+
+        MvcResult result = mockMvc.perform(post("/api/v1/repositories/search/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        // Then
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rescoreRepositories_whenNothingIsCached_returns404NotFound() throws Exception {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.now().minusYears(1))
+            .starsWeight(0.8)
+            .build();
+
+        when(repositorySearchService.rescore(any(RepositorySearchRequest.class)))
+            .thenThrow(new CachedResultsNotFoundException("No cached search results"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/repositories/rescore")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value("No cached search results"));
+    }
+
     @Test
     void searchRepositories_withInvalidRequest_returns400BadRequest() throws Exception {
         // Given
@@ -78,4 +193,24 @@ class RepositoryScoringControllerTest {
             .andExpect(jsonPath("$.validationErrors.language").value("Language is required"))
             .andExpect(jsonPath("$.validationErrors.createdAfter").value("Created after date is required"));
     }
+
+    @Test
+    void rescoreRepositories_withWeightsAndFormula_returns400BadRequest() throws Exception {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.now().minusYears(1))
+            .formula("log1p(stars)")
+            .starsWeight(0.8)
+            .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/repositories/rescore")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.validationErrors.weightsCompatibleWithFormula")
+                .value("Weights cannot be combined with a formula; put the weights in the formula instead"));
+        verifyNoInteractions(repositorySearchService);
+    }
 }
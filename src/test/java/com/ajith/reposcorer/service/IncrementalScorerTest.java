@@ -0,0 +1,163 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.dto.ScoreResult;
+import com.ajith.reposcorer.dto.ScoredRepository;
+import com.ajith.reposcorer.mapper.RepositoryMapper;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.formula.FormulaCompiler;
+import com.ajith.reposcorer.service.formula.ScoringFormula;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IncrementalScorerTest
+{
+
+    @Mock
+    private RepositoryMapper repositoryMapper;
+
+    @Spy
+    private ScoringKernel scoringKernel = new ScalarScoringKernel();
+
+    private ScoringProperties scoringProperties;
+    private RepositoryScoringService repositoryScoringService;
+
+
+    @BeforeEach
+    void setUp()
+    {
+        scoringProperties = new ScoringProperties();
+        repositoryScoringService = new RepositoryScoringService(scoringProperties, repositoryMapper, scoringKernel);
+        when(repositoryMapper.toScoredRepository(any(GithubRepository.class), any(ScoreResult.class)))
+            .thenAnswer(invocation -> ScoredRepository.builder()
+                .name(invocation.<GithubRepository>getArgument(0).getName())
+                .score(invocation.<ScoreResult>getArgument(1).getTotalScore())
+                .build());
+    }
+
+
+    @Test
+    void ranking_afterEveryPage_matchesBatchScoringOfThePagesSoFar()
+    {
+        // Given
+        List<GithubRepository> repositories = repositories(250, new Random(7));
+        IncrementalScorer scorer = repositoryScoringService.incrementalScorer();
+
+        for (int from = 0; from < repositories.size(); from += 100)
+        {
+            // When
+            scorer.addPage(repositories.subList(from, Math.min(from + 100, repositories.size())));
+            List<ScoredRepository> provisional = scorer.ranking(20, null, scoringProperties);
+
+            // Then
+            List<ScoredRepository> expected = repositoryScoringService.scoreAndMapRepository(repositories.subList(0, scorer.size()), 20);
+            assertThat(provisional).extracting(ScoredRepository::getName)
+                .containsExactlyElementsOf(expected.stream().map(ScoredRepository::getName).toList());
+            assertThat(provisional).extracting(ScoredRepository::getScore)
+                .containsExactlyElementsOf(expected.stream().map(ScoredRepository::getScore).toList());
+        }
+    }
+
+
+    @Test
+    void ranking_whenBoundsAreUnchanged_scoresOnlyTheNewRows()
+    {
+        // Given
+        IncrementalScorer scorer = repositoryScoringService.incrementalScorer();
+        scorer.addPage(List.of(repository("min", 0, 0), repository("max", 1000, 100)));
+        scorer.ranking(10, null, scoringProperties);
+
+        // When
+        scorer.addPage(List.of(repository("middle", 500, 50), repository("low", 10, 1)));
+        List<ScoredRepository> ranking = scorer.ranking(10, null, scoringProperties);
+
+        // Then
+        ArgumentCaptor<ScoringBatch> batches = ArgumentCaptor.forClass(ScoringBatch.class);
+        verify(scoringKernel, times(2)).score(batches.capture(), any(), any());
+        assertThat(batches.getAllValues()).extracting(ScoringBatch::count).containsExactly(2, 2);
+        assertThat(ranking).extracting(ScoredRepository::getName).containsExactly("max", "middle", "low", "min");
+    }
+
+
+    @Test
+    void ranking_whenBoundsMove_rescoresEveryRow()
+    {
+        // Given
+        IncrementalScorer scorer = repositoryScoringService.incrementalScorer();
+        scorer.addPage(List.of(repository("a", 10, 1), repository("b", 100, 10)));
+        assertThat(scorer.ranking(1, null, scoringProperties)).extracting(ScoredRepository::getName).containsExactly("b");
+
+        // When
+        scorer.addPage(List.of(repository("c", 1000, 100)));
+        List<ScoredRepository> ranking = scorer.ranking(3, null, scoringProperties);
+
+        // Then
+        ArgumentCaptor<ScoringBatch> batches = ArgumentCaptor.forClass(ScoringBatch.class);
+        verify(scoringKernel, times(2)).score(batches.capture(), any(), any());
+        assertThat(batches.getAllValues()).extracting(ScoringBatch::count).containsExactly(2, 3);
+        assertThat(ranking).extracting(ScoredRepository::getName).containsExactly("c", "b", "a");
+    }
+
+
+    @Test
+    void ranking_withFormulaOrWeights_matchesBatchScoringAndRescoresWhenTheyChange()
+    {
+        // Given
+        List<GithubRepository> repositories = repositories(150, new Random(11));
+        ScoringFormula formula = new FormulaCompiler(scoringProperties).compile("log1p(stars) - 0.5 * log1p(forks)");
+        ScoringProperties forksFirst = new ScoringProperties();
+        forksFirst.setStarsWeight(0.1);
+        forksFirst.setForksWeight(0.9);
+        IncrementalScorer scorer = repositoryScoringService.incrementalScorer();
+        scorer.addPage(repositories.subList(0, 100));
+        scorer.ranking(10, null, scoringProperties);
+
+        // When
+        scorer.addPage(repositories.subList(100, 150));
+        List<ScoredRepository> byFormula = scorer.ranking(10, formula, scoringProperties);
+        List<ScoredRepository> byWeights = scorer.ranking(10, null, forksFirst);
+
+        // Then
+        assertThat(byFormula).extracting(ScoredRepository::getName).containsExactlyElementsOf(
+            repositoryScoringService.scoreAndMapRepository(repositories, 10, formula, scoringProperties).stream()
+                .map(ScoredRepository::getName).toList());
+        assertThat(byWeights).extracting(ScoredRepository::getName).containsExactlyElementsOf(
+            repositoryScoringService.scoreAndMapRepository(repositories, 10, null, forksFirst).stream()
+                .map(ScoredRepository::getName).toList());
+    }
+
+
+    private static List<GithubRepository> repositories(int count, Random random)
+    {
+        return IntStream.range(0, count)
+            .mapToObj(i -> GithubRepository.builder()
+                .name("repo-" + i)
+                .stargazersCount(random.nextInt(10_000))
+                .forksCount(random.nextInt(1_000))
+                .updatedAt(LocalDateTime.now().minusDays(random.nextInt(1_000)))
+                .build())
+            .toList();
+    }
+
+
+    private static GithubRepository repository(String name, int stars, int forks)
+    {
+        return GithubRepository.builder().name(name).stargazersCount(stars).forksCount(forks).build();
+    }
+}
@@ -5,17 +5,24 @@ import com.ajith.reposcorer.dto.ScoreResult;
 import com.ajith.reposcorer.dto.ScoredRepository;
 import com.ajith.reposcorer.mapper.RepositoryMapper;
 import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.formula.FormulaCompiler;
+import com.ajith.reposcorer.service.formula.ScoringFormula;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +35,9 @@ class RepositoryScoringServiceTest
     @Mock
     private RepositoryMapper repositoryMapper;
 
+    @Spy
+    private ScoringKernel scoringKernel = new ScalarScoringKernel();
+
     @InjectMocks
     private RepositoryScoringService repositoryScoringService;
 
@@ -96,4 +106,152 @@ class RepositoryScoringServiceTest
 
         assertThat(result).isSortedAccordingTo((r1, r2) -> Double.compare(r2.getScore(), r1.getScore()));
     }
+
+
+    @Test
+    void scoreAndMapRepository_withLimit_mapsOnlyTheTopRows()
+    {
+        // Given
+        List<GithubRepository> repositories = IntStream.range(0, 10_000)
+            .mapToObj(i -> GithubRepository.builder()
+                .name("repo-" + i)
+                .stargazersCount((i * 7919) % 10_000)
+                .forksCount(i % 100)
+                .updatedAt(LocalDateTime.now().minusDays(i % 365))
+                .build())
+            .toList();
+        when(repositoryMapper.toScoredRepository(any(GithubRepository.class), any(ScoreResult.class)))
+            .thenAnswer(invocation -> ScoredRepository.builder()
+                .name(invocation.<GithubRepository>getArgument(0).getName())
+                .score(invocation.<ScoreResult>getArgument(1).getTotalScore())
+                .build());
+
+        // When
+        List<ScoredRepository> top = repositoryScoringService.scoreAndMapRepository(repositories, 5);
+
+        // Then
+        assertThat(top).hasSize(5).isSortedAccordingTo((r1, r2) -> Double.compare(r2.getScore(), r1.getScore()));
+        verify(repositoryMapper, times(5)).toScoredRepository(any(GithubRepository.class), any(ScoreResult.class));
+        List<ScoredRepository> all = repositoryScoringService.scoreAndMapRepository(repositories);
+        assertThat(all.subList(0, 5)).extracting(ScoredRepository::getName)
+            .containsExactlyElementsOf(top.stream().map(ScoredRepository::getName).toList());
+    }
+
+
+    @Test
+    void scoreAndMapRepository_withEqualDuplicates_scoresEachRow()
+    {
+        // Given
+        GithubRepository repo = GithubRepository.builder().name("Repo").stargazersCount(10).build();
+        when(repositoryMapper.toScoredRepository(any(GithubRepository.class), any(ScoreResult.class)))
+            .thenReturn(ScoredRepository.builder().name("Repo").build());
+
+        // When
+        List<ScoredRepository> result = repositoryScoringService.scoreAndMapRepository(List.of(repo, repo));
+
+        // Then
+        assertThat(result).hasSize(2);
+    }
+
+
+    @Test
+    void scoreAndMapRepository_withTiedScoresAndLimit_keepsInputOrder()
+    {
+        // Given
+        List<GithubRepository> repositories = IntStream.range(0, 6)
+            .mapToObj(i -> GithubRepository.builder().name("repo-" + i).stargazersCount(i < 4 ? 10 : 0).build())
+            .toList();
+        when(repositoryMapper.toScoredRepository(any(GithubRepository.class), any(ScoreResult.class)))
+            .thenAnswer(invocation -> ScoredRepository.builder()
+                .name(invocation.<GithubRepository>getArgument(0).getName())
+                .build());
+
+        // When
+        List<ScoredRepository> top = repositoryScoringService.scoreAndMapRepository(repositories, 3);
+
+        // Then
+        assertThat(top).extracting(ScoredRepository::getName).containsExactly("repo-0", "repo-1", "repo-2");
+    }
+
+
+    @Test
+    void scoreAndMapRepository_withFormula_ranksByFormulaValue()
+    {
+        // Given
+        ScoringFormula formula = new FormulaCompiler(new ScoringProperties()).compile("log1p(watchers) - 0.5 * openIssues");
+        List<GithubRepository> repositories = List.of(
+            GithubRepository.builder().name("noisy").watchersCount(1000).openIssuesCount(20).build(),
+            GithubRepository.builder().name("quiet").watchersCount(100).openIssuesCount(0).build());
+        when(repositoryMapper.toScoredRepository(any(GithubRepository.class), any(ScoreResult.class)))
+            .thenAnswer(invocation -> ScoredRepository.builder()
+                .name(invocation.<GithubRepository>getArgument(0).getName())
+                .score(invocation.<ScoreResult>getArgument(1).getTotalScore())
+                .build());
+
+        // When
+        List<ScoredRepository> result = repositoryScoringService.scoreAndMapRepository(repositories, 2, formula);
+
+        // Then
+        assertThat(result).extracting(ScoredRepository::getName).containsExactly("quiet", "noisy");
+        assertThat(result.get(0).getScore()).isEqualTo(4.62);
+        assertThat(result.get(1).getScore()).isEqualTo(-3.09);
+    }
+
+
+    @Test
+    void scoreAndMapRepository_withWeightOverride_reranksTheSameCandidates()
+    {
+        // Given
+        List<GithubRepository> repositories = List.of(
+            GithubRepository.builder().name("starred").stargazersCount(1000).forksCount(10).build(),
+            GithubRepository.builder().name("forked").stargazersCount(10).forksCount(1000).build());
+        when(repositoryMapper.toScoredRepository(any(GithubRepository.class), any(ScoreResult.class)))
+            .thenAnswer(invocation -> ScoredRepository.builder()
+                .name(invocation.<GithubRepository>getArgument(0).getName())
+                .build());
+        ScoringProperties forksFirst = new ScoringProperties();
+        forksFirst.setStarsWeight(0.1);
+        forksFirst.setForksWeight(0.9);
+
+        // When
+        List<ScoredRepository> configured = repositoryScoringService.scoreAndMapRepository(repositories, 2);
+        List<ScoredRepository> overridden = repositoryScoringService.scoreAndMapRepository(repositories, 2, null, forksFirst);
+
+        // Then
+        assertThat(configured).extracting(ScoredRepository::getName).containsExactly("starred", "forked");
+        assertThat(overridden).extracting(ScoredRepository::getName).containsExactly("forked", "starred");
+    }
+
+
+    @Test
+    void scoreAndMapRepository_withPrefixOfCachedSuperset_reusesTheGatheredColumns()
+    {
+        // Given
+        List<GithubRepository> superset = IntStream.range(0, 100)
+            .mapToObj(i -> GithubRepository.builder()
+                .name("repo-" + i)
+                .stargazersCount((i * 37) % 100)
+                .forksCount((i * 11) % 50)
+                .updatedAt(LocalDateTime.now().minusDays(i))
+                .build())
+            .toList();
+        when(repositoryMapper.toScoredRepository(any(GithubRepository.class), any(ScoreResult.class)))
+            .thenAnswer(invocation -> ScoredRepository.builder()
+                .name(invocation.<GithubRepository>getArgument(0).getName())
+                .build());
+
+        // When
+        List<ScoredRepository> first = repositoryScoringService.scoreAndMapRepository(superset, 30, 30, null, scoringProperties);
+        List<ScoredRepository> second = repositoryScoringService.scoreAndMapRepository(superset, 30, 30, null, scoringProperties);
+        List<ScoredRepository> copied = repositoryScoringService.scoreAndMapRepository(List.copyOf(superset.subList(0, 30)), 30);
+
+        // Then
+        ArgumentCaptor<ScoringBatch> batches = ArgumentCaptor.forClass(ScoringBatch.class);
+        verify(scoringKernel, times(3)).score(batches.capture(), any(ScoringProperties.class), any(double[].class));
+        assertThat(batches.getAllValues().get(0).count()).isEqualTo(30);
+        assertThat(batches.getAllValues().get(1).stars()).isSameAs(batches.getAllValues().get(0).stars());
+        assertThat(first).extracting(ScoredRepository::getName)
+            .containsExactlyElementsOf(second.stream().map(ScoredRepository::getName).toList())
+            .containsExactlyElementsOf(copied.stream().map(ScoredRepository::getName).toList());
+    }
 }
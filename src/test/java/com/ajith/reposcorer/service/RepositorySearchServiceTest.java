@@ -1,31 +1,45 @@
 package com.ajith.reposcorer.service;
 
-import com.ajith.reposcorer.client.GithubApiClient;
+import com.ajith.reposcorer.client.DateWindowHarvester;
+import com.ajith.reposcorer.client.SearchResultCache;
 import com.ajith.reposcorer.client.dto.GithubRepository;
 import com.ajith.reposcorer.client.dto.GithubSearchResponse;
 import com.ajith.reposcorer.dto.RepositoryScoringResponse;
 import com.ajith.reposcorer.dto.RepositorySearchRequest;
 import com.ajith.reposcorer.dto.ScoredRepository;
+import com.ajith.reposcorer.exception.CachedResultsNotFoundException;
+import com.ajith.reposcorer.exception.GithubUnavailableException;
+import com.ajith.reposcorer.exception.InvalidFormulaException;
 import com.ajith.reposcorer.mapper.RepositoryMapper;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.formula.FormulaCompiler;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RepositorySearchServiceTest {
 
     @Mock
-    private GithubApiClient githubApiClient;
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private DateWindowHarvester dateWindowHarvester;
 
     @Mock
     private RepositoryScoringService repositoryScoringService;
@@ -33,6 +47,18 @@ class RepositorySearchServiceTest {
     @Mock
     private RepositoryMapper repositoryMapper;
 
+    @Mock
+    private StaleSearchFallback staleSearchFallback;
+
+    @Mock
+    private ScoredResultCache scoredResultCache;
+
+    @Mock
+    private FormulaCompiler formulaCompiler;
+
+    @Mock
+    private ScoringProperties scoringProperties;
+
     @InjectMocks
     private RepositorySearchService repositorySearchService;
 
@@ -55,10 +81,10 @@ class RepositorySearchServiceTest {
             ScoredRepository.builder().name("RepoA").score(46.93).build()
         );
 
-        when(githubApiClient.searchRepositories(request.getLanguage(), request.getCreatedAfter(), request.getMaxResults()))
+        when(searchResultCache.search(request.getLanguage(), request.getCreatedAfter(), request.getMaxResults()))
             .thenReturn(githubSearchResponse);
 
-        when(repositoryScoringService.scoreAndMapRepository(githubRepositories))
+        when(repositoryScoringService.scoreAndMapRepository(githubRepositories, 2, 10, null, scoringProperties))
             .thenReturn(scoredRepositories);
 
         RepositoryScoringResponse expectedResponse = RepositoryScoringResponse.builder().totalCount(100).build();
@@ -72,9 +98,31 @@ class RepositorySearchServiceTest {
         assertThat(actualResponse).isNotNull();
         assertThat(actualResponse.getTotalCount()).isEqualTo(100);
 
-        verify(githubApiClient, times(1)).searchRepositories(request.getLanguage(), request.getCreatedAfter(), request.getMaxResults());
-        verify(repositoryScoringService, times(1)).scoreAndMapRepository(githubRepositories);
+        verify(searchResultCache, times(1)).search(request.getLanguage(), request.getCreatedAfter(), request.getMaxResults());
+        verify(repositoryScoringService, times(1)).scoreAndMapRepository(githubRepositories, 2, 10, null, scoringProperties);
         verify(repositoryMapper, times(1)).toRepositoryScoringResponse(request, scoredRepositories, 100, false);
+        verify(scoredResultCache).store(request, expectedResponse);
+    }
+
+    @Test
+    void searchAndScoreRepositories_whenScoredResultIsCached_skipsSearchAndScoring() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.now().minusYears(1))
+            .build();
+
+        RepositoryScoringResponse cachedResponse = RepositoryScoringResponse.builder().totalCount(100).build();
+        when(scoredResultCache.find(request)).thenReturn(cachedResponse);
+
+        // When
+        RepositoryScoringResponse actualResponse = repositorySearchService.searchAndScoreRepositories(request);
+
+        // Then
+        assertThat(actualResponse).isSameAs(cachedResponse);
+        verify(searchResultCache).recordAccess("java", request.getCreatedAfter(), 30);
+        verifyNoMoreInteractions(searchResultCache);
+        verifyNoInteractions(repositoryScoringService, repositoryMapper);
     }
 
     @Test
@@ -89,7 +137,7 @@ class RepositorySearchServiceTest {
         List<ScoredRepository> emptyScoredList = List.of();
 
         // Mock the dependencies
-        when(githubApiClient.searchRepositories(anyString(), any(LocalDate.class), anyInt()))
+        when(searchResultCache.search(anyString(), any(LocalDate.class), anyInt()))
             .thenReturn(emptyGithubResponse);
 
         RepositoryScoringResponse expectedResponse = RepositoryScoringResponse.builder()
@@ -111,8 +159,198 @@ class RepositorySearchServiceTest {
         assertThat(actualResponse.getRepositories()).isEmpty();
 
         // Verify interactions
-        verify(githubApiClient, times(1)).searchRepositories(anyString(), any(LocalDate.class), anyInt());
+        verify(searchResultCache, times(1)).search(anyString(), any(LocalDate.class), anyInt());
         verifyNoInteractions(repositoryScoringService);
         verify(repositoryMapper, times(1)).toRepositoryScoringResponse(request, emptyScoredList, 0, false);
     }
+
+    @Test
+    void searchAndScoreRepositories_withExhaustiveRequest_harvestsAndTrimsToMaxResults() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.now().minusYears(1))
+            .maxResults(1)
+            .exhaustive(true)
+            .build();
+
+        List<GithubRepository> harvested = List.of(
+            GithubRepository.builder().id(1L).name("RepoA").build(),
+            GithubRepository.builder().id(2L).name("RepoB").build());
+        when(dateWindowHarvester.harvestRepositories(request.getLanguage(), request.getCreatedAfter()))
+            .thenReturn(new GithubSearchResponse(2, false, harvested));
+
+        List<ScoredRepository> scoredRepositories = List.of(ScoredRepository.builder().name("RepoB").score(50.35).build());
+        when(repositoryScoringService.scoreAndMapRepository(harvested, 2, 1, null, scoringProperties)).thenReturn(scoredRepositories);
+
+        // When
+        repositorySearchService.searchAndScoreRepositories(request);
+
+        // Then
+        verifyNoInteractions(searchResultCache);
+        verify(repositoryMapper).toRepositoryScoringResponse(request, scoredRepositories, 2, false);
+    }
+
+    @Test
+    void searchAndScoreRepositories_whenCircuitIsOpen_servesLastKnownGoodAsStale() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language(" Java ")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .maxResults(30)
+            .build();
+
+        GithubUnavailableException unavailable = new GithubUnavailableException("GitHub down", 5000);
+        when(searchResultCache.search(" Java ", request.getCreatedAfter(), 30)).thenThrow(unavailable);
+
+        List<GithubRepository> lastKnownRepositories = List.of(GithubRepository.builder().name("RepoA").build());
+        when(staleSearchFallback.recall("java-2020-01-01-30"))
+            .thenReturn(Optional.of(new GithubSearchResponse(1, false, lastKnownRepositories)));
+
+        List<ScoredRepository> scoredRepositories = List.of(ScoredRepository.builder().name("RepoA").build());
+        when(repositoryScoringService.scoreAndMapRepository(lastKnownRepositories, 1, 30, null, scoringProperties)).thenReturn(scoredRepositories);
+        when(repositoryMapper.toRepositoryScoringResponse(request, scoredRepositories, 1, false))
+            .thenReturn(RepositoryScoringResponse.builder().totalCount(1).build());
+
+        // When
+        RepositoryScoringResponse response = repositorySearchService.searchAndScoreRepositories(request);
+
+        // Then
+        assertThat(response.getStale()).isTrue();
+        verify(staleSearchFallback).refreshInBackground(eq("java-2020-01-01-30"), eq(5000L), any());
+    }
+
+    @Test
+    void searchAndScoreRepositories_whenCircuitIsOpenAndNothingCached_propagatesFailure() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .build();
+
+        GithubUnavailableException unavailable = new GithubUnavailableException("GitHub down", 5000);
+        when(searchResultCache.search(anyString(), any(LocalDate.class), anyInt())).thenThrow(unavailable);
+        when(staleSearchFallback.recall(anyString())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(assertThrows(GithubUnavailableException.class,
+            () -> repositorySearchService.searchAndScoreRepositories(request))).isSameAs(unavailable);
+    }
+
+    @Test
+    void searchAndScoreRepositories_withTopK_scoresTheWholePoolButReturnsOnlyTopK() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .maxResults(500)
+            .topK(10)
+            .build();
+
+        List<GithubRepository> candidates = List.of(GithubRepository.builder().name("RepoA").build());
+        when(searchResultCache.search("java", request.getCreatedAfter(), 500))
+            .thenReturn(new GithubSearchResponse(1, false, candidates));
+
+        // When
+        repositorySearchService.searchAndScoreRepositories(request);
+
+        // Then
+        verify(repositoryScoringService).scoreAndMapRepository(candidates, 1, 10, null, scoringProperties);
+    }
+
+    @Test
+    void searchAndScoreRepositories_withInvalidFormula_failsBeforeCallingGithub() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .formula("stars +")
+            .build();
+        when(formulaCompiler.compile("stars +")).thenThrow(new InvalidFormulaException("Unexpected end of formula"));
+
+        // When & Then
+        assertThrows(InvalidFormulaException.class, () -> repositorySearchService.searchAndScoreRepositories(request));
+        verifyNoInteractions(searchResultCache, repositoryScoringService);
+    }
+
+    @Test
+    void searchAndScoreRepositories_withRankingCallback_ranksEachPageAsItArrives() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .maxResults(200)
+            .topK(5)
+            .build();
+        List<GithubRepository> firstPage = List.of(GithubRepository.builder().name("RepoA").build());
+        List<GithubRepository> secondPage = List.of(GithubRepository.builder().name("RepoB").build());
+        when(searchResultCache.search(eq("java"), eq(request.getCreatedAfter()), eq(200), any())).thenAnswer(invocation -> {
+            Consumer<List<GithubRepository>> onPage = invocation.getArgument(3);
+            onPage.accept(firstPage);
+            onPage.accept(secondPage);
+            return new GithubSearchResponse(2, false, List.of(firstPage.getFirst(), secondPage.getFirst()));
+        });
+        IncrementalScorer scorer = mock(IncrementalScorer.class);
+        when(repositoryScoringService.incrementalScorer()).thenReturn(scorer);
+        List<ScoredRepository> provisional = List.of(ScoredRepository.builder().name("RepoB").build());
+        when(scorer.ranking(5, null, scoringProperties)).thenReturn(provisional);
+        List<List<ScoredRepository>> rankings = new ArrayList<>();
+
+        // When
+        repositorySearchService.searchAndScoreRepositories(request, rankings::add);
+
+        // Then
+        verify(scorer).addPage(firstPage);
+        verify(scorer).addPage(secondPage);
+        assertThat(rankings).containsExactly(provisional, provisional);
+        verify(searchResultCache, never()).search(anyString(), any(LocalDate.class), anyInt());
+    }
+
+    @Test
+    void rescore_reranksCachedCandidatesWithRequestWeightsWithoutCallingGithub() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .maxResults(2)
+            .starsWeight(1.0)
+            .build();
+        List<GithubRepository> candidates = List.of(
+            GithubRepository.builder().name("RepoA").build(),
+            GithubRepository.builder().name("RepoB").build(),
+            GithubRepository.builder().name("RepoC").build());
+        when(searchResultCache.peek("java", request.getCreatedAfter(), 2))
+            .thenReturn(Optional.of(new GithubSearchResponse(3, false, candidates)));
+        when(scoringProperties.getForksWeight()).thenReturn(0.2);
+        when(scoringProperties.getRecencyWeight()).thenReturn(0.3);
+        when(scoringProperties.getRecencyHalfLifeDays()).thenReturn(180.0);
+
+        // When
+        repositorySearchService.rescore(request);
+
+        // Then
+        ArgumentCaptor<ScoringProperties> weights = ArgumentCaptor.forClass(ScoringProperties.class);
+        // The cached superset itself is passed, scored by prefix, so its gathered columns are reused
+        verify(repositoryScoringService).scoreAndMapRepository(eq(candidates), eq(2), eq(2), isNull(), weights.capture());
+        assertThat(weights.getValue().getStarsWeight()).isEqualTo(1.0);
+        assertThat(weights.getValue().getForksWeight()).isEqualTo(0.2);
+        assertThat(weights.getValue().getRecencyWeight()).isEqualTo(0.3);
+        verify(searchResultCache, never()).search(anyString(), any(LocalDate.class), anyInt());
+        verifyNoInteractions(scoredResultCache);
+    }
+
+    @Test
+    void rescore_whenNothingIsCached_throwsNotFound() {
+        // Given
+        RepositorySearchRequest request = RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .exhaustive(true)
+            .build();
+        when(staleSearchFallback.recall("harvest-java-2020-01-01")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(CachedResultsNotFoundException.class, () -> repositorySearchService.rescore(request));
+        verifyNoInteractions(searchResultCache, dateWindowHarvester, repositoryScoringService);
+    }
 }
@@ -0,0 +1,81 @@
+package com.ajith.reposcorer.service;
+
+import com.ajith.reposcorer.dto.RepositoryScoringResponse;
+import com.ajith.reposcorer.dto.RepositorySearchRequest;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoredResultCacheTest {
+
+    private ScoringProperties scoringProperties;
+    private ScoredResultCache scoredResultCache;
+
+    @BeforeEach
+    void setUp() {
+        scoringProperties = new ScoringProperties();
+        scoredResultCache = new ScoredResultCache(new ConcurrentMapCacheManager(ScoredResultCache.CACHE_NAME), scoringProperties);
+    }
+
+    @Test
+    void find_afterStore_returnsResponseForSameRequest() {
+        // Given
+        RepositoryScoringResponse response = RepositoryScoringResponse.builder().totalCount(10).build();
+        scoredResultCache.store(request(30), response);
+
+        // When & Then
+        assertThat(scoredResultCache.find(request(30))).isSameAs(response);
+        assertThat(scoredResultCache.find(request(50))).isNull();
+    }
+
+    @Test
+    void find_withDifferentlyCasedLanguage_hitsTheSameEntry() {
+        // Given
+        RepositoryScoringResponse response = RepositoryScoringResponse.builder().totalCount(10).build();
+        scoredResultCache.store(request(30), response);
+        RepositorySearchRequest upperCase = request(30);
+        upperCase.setLanguage(" Java ");
+
+        // When & Then
+        assertThat(scoredResultCache.find(upperCase)).isSameAs(response);
+    }
+
+    @Test
+    void find_whenWeightsChange_missesAndDiscardsOldEntries() {
+        // Given
+        scoredResultCache.store(request(30), RepositoryScoringResponse.builder().build());
+
+        // When
+        scoringProperties.setStarsWeight(0.9);
+
+        // Then
+        assertThat(scoredResultCache.find(request(30))).isNull();
+        scoringProperties.setStarsWeight(0.5);
+        assertThat(scoredResultCache.find(request(30))).isNull();
+    }
+
+    @Test
+    void store_whenResponseIsStale_doesNotCacheIt() {
+        // Given
+        RepositoryScoringResponse staleResponse = RepositoryScoringResponse.builder().stale(true).build();
+
+        // When
+        scoredResultCache.store(request(30), staleResponse);
+
+        // Then
+        assertThat(scoredResultCache.find(request(30))).isNull();
+    }
+
+    private static RepositorySearchRequest request(int maxResults) {
+        return RepositorySearchRequest.builder()
+            .language("java")
+            .createdAfter(LocalDate.of(2020, 1, 1))
+            .maxResults(maxResults)
+            .build();
+    }
+}
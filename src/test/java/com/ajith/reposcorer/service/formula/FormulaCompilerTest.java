@@ -0,0 +1,81 @@
+package com.ajith.reposcorer.service.formula;
+
+import com.ajith.reposcorer.exception.InvalidFormulaException;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class FormulaCompilerTest
+{
+
+    private final FormulaCompiler formulaCompiler = new FormulaCompiler(new ScoringProperties());
+
+
+    @Test
+    void compile_evaluatesOperatorsWithUsualPrecedence()
+    {
+        // Given
+        double[] variables = variables(120, 30);
+
+        // When
+        ScoringFormula formula = formulaCompiler.compile("2 + stars * 0.5 / (forks - 10) - -1");
+
+        // Then
+        assertThat(formula.evaluate(variables)).isEqualTo(2 + 120 * 0.5 / (30 - 10) + 1);
+        assertThat(formula.variables()).containsExactlyInAnyOrder(FormulaVariable.STARS, FormulaVariable.FORKS);
+    }
+
+
+    @Test
+    void compile_callsMathFunctions()
+    {
+        // Given
+        double[] variables = variables(99, 4);
+
+        // When
+        ScoringFormula formula = formulaCompiler.compile("log10(stars + 1) + max(sqrt(forks), pow(forks, 0.25)) + log1p(0)");
+
+        // Then
+        assertThat(formula.evaluate(variables)).isCloseTo(4.0, within(1e-12));
+    }
+
+
+    @Test
+    void compile_withSameText_reusesTheCompiledFormula()
+    {
+        // When
+        ScoringFormula first = formulaCompiler.compile("stars * 2");
+        ScoringFormula second = formulaCompiler.compile("  stars * 2 ");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(formulaCompiler.compile(" ")).isNull();
+    }
+
+
+    @Test
+    void compile_withInvalidFormula_throwsWithPosition()
+    {
+        assertThatThrownBy(() -> formulaCompiler.compile("stars + bogus"))
+            .isInstanceOf(InvalidFormulaException.class)
+            .hasMessageContaining("Unknown variable 'bogus' at position 8");
+        assertThatThrownBy(() -> formulaCompiler.compile("min(stars)"))
+            .isInstanceOf(InvalidFormulaException.class)
+            .hasMessageContaining("takes 2 argument(s)");
+        assertThatThrownBy(() -> formulaCompiler.compile("(stars"))
+            .isInstanceOf(InvalidFormulaException.class)
+            .hasMessageContaining("Expected ')'");
+    }
+
+
+    private static double[] variables(double stars, double forks)
+    {
+        double[] variables = new double[FormulaVariable.values().length];
+        variables[FormulaVariable.STARS.ordinal()] = stars;
+        variables[FormulaVariable.FORKS.ordinal()] = forks;
+        return variables;
+    }
+}
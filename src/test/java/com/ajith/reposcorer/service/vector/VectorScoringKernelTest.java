@@ -0,0 +1,88 @@
+package com.ajith.reposcorer.service.vector;
+
+import com.ajith.reposcorer.client.dto.GithubRepository;
+import com.ajith.reposcorer.properties.ScoringProperties;
+import com.ajith.reposcorer.service.ScalarScoringKernel;
+import com.ajith.reposcorer.service.ScoringBatch;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorScoringKernelTest
+{
+
+    private static final long NOW = 1_760_000_000L;
+
+
+    @Test
+    void score_matchesScalarKernelWithinRounding()
+    {
+        // Given
+        ScoringBatch batch = randomBatch(1_003, new Random(42));
+        ScoringProperties properties = new ScoringProperties();
+        double[] scalar = new double[batch.count()];
+        double[] vector = new double[batch.count()];
+
+        // When
+        new ScalarScoringKernel().score(batch, properties, scalar);
+        new VectorScoringKernel().score(batch, properties, vector);
+
+        // Then
+        for (int i = 0; i < batch.count(); i++)
+        {
+            assertThat(round(vector[i])).as("row %d", i).isCloseTo(round(scalar[i]), within(0.01));
+        }
+    }
+
+
+    @Test
+    void score_whenAllValuesAreEqual_treatsThemAsMaximum()
+    {
+        // Given
+        double[] stars = {7, 7, 7, 7, 7, 7, 7, 7, 7};
+        long[] updatedAt = new long[stars.length];
+        Arrays.fill(updatedAt, GithubRepository.NO_TIMESTAMP);
+        ScoringBatch batch = new ScoringBatch(stars.length, stars, stars, updatedAt, 7, 7, 7, 7, NOW);
+        double[] totals = new double[stars.length];
+
+        // When
+        new VectorScoringKernel().score(batch, new ScoringProperties(), totals);
+
+        // Then
+        assertThat(totals).containsOnly(70.0);
+    }
+
+
+    private static ScoringBatch randomBatch(int count, Random random)
+    {
+        double[] stars = new double[count];
+        double[] forks = new double[count];
+        long[] updatedAt = new long[count];
+        int minStars = Integer.MAX_VALUE;
+        int maxStars = Integer.MIN_VALUE;
+        int minForks = Integer.MAX_VALUE;
+        int maxForks = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++)
+        {
+            int starCount = random.nextInt(200_000);
+            int forkCount = random.nextInt(20_000);
+            stars[i] = starCount;
+            forks[i] = forkCount;
+            updatedAt[i] = i % 17 == 0 ? GithubRepository.NO_TIMESTAMP : NOW - random.nextLong(3_000L * 86_400);
+            minStars = Math.min(minStars, starCount);
+            maxStars = Math.max(maxStars, starCount);
+            minForks = Math.min(minForks, forkCount);
+            maxForks = Math.max(maxForks, forkCount);
+        }
+        return new ScoringBatch(count, stars, forks, updatedAt, minStars, maxStars, minForks, maxForks, NOW);
+    }
+
+
+    private static double round(double value)
+    {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}